@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# 벤치마크 실행 후 결과를 커밋별 JSON 으로 저장 (benchmarks/results/<커밋>.json)
+#
+# 사용법: benchmarks/run.sh [JMH 옵션...]
+#   benchmarks/run.sh                                      전체 실행
+#   benchmarks/run.sh StatisticsAggregationBenchmark -prof gc
+# 비교:   java -cp benchmarks/target/benchmarks.jar com.moa.benchmark.BenchmarkComparison \
+#             benchmarks/results/<이전>.json benchmarks/results/<이후>.json
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+revision="$(git rev-parse --short HEAD)"
+if ! git diff --quiet HEAD -- src benchmarks/src; then
+    revision="${revision}-dirty"
+fi
+
+mvn -B -q -f benchmarks/pom.xml package
+mkdir -p benchmarks/results
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "benchmarks/results/${revision}.json" "$@"
+echo "결과 저장: benchmarks/results/${revision}.json"
@@ -0,0 +1,74 @@
+package com.moa.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 두 JMH JSON 결과(-rf json) 비교
+ * 벤치마크 + 파라미터 조합별로 점수와 1회당 할당량(-prof gc 로 측정한 경우)의 변화율을 출력한다.
+ *
+ * java -cp benchmarks/target/benchmarks.jar com.moa.benchmark.BenchmarkComparison before.json after.json
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("사용법: BenchmarkComparison <이전 결과.json> <이후 결과.json>");
+            System.exit(1);
+        }
+        Map<String, JsonNode> before = load(Path.of(args[0]));
+        Map<String, JsonNode> after = load(Path.of(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s %12s %12s%n", "benchmark", "before", "after", "change", "B/op before", "B/op after");
+        before.forEach((key, previous) -> {
+            JsonNode current = after.get(key);
+            if (current == null) {
+                return;
+            }
+            double beforeScore = previous.path("primaryMetric").path("score").asDouble();
+            double afterScore = current.path("primaryMetric").path("score").asDouble();
+            String unit = current.path("primaryMetric").path("scoreUnit").asText();
+            System.out.printf("%-70s %14s %14s %9s %12s %12s%n", key,
+                    format(beforeScore) + " " + unit, format(afterScore), change(beforeScore, afterScore),
+                    allocation(previous), allocation(current));
+        });
+
+        after.keySet().stream()
+                .filter(key -> !before.containsKey(key))
+                .forEach(key -> System.out.printf("%-70s (신규)%n", key));
+    }
+
+    private static Map<String, JsonNode> load(Path path) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(path.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText().replace("com.moa.benchmark.", ""));
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+        return metric.isMissingNode() ? "-" : format(metric.path("score").asDouble());
+    }
+
+    private static String change(double before, double after) {
+        return before == 0 ? "-" : String.format("%+.1f%%", (after - before) / before * 100);
+    }
+
+    private static String format(double value) {
+        return value >= 100 ? String.format("%.0f", value) : String.format("%.3f", value);
+    }
+}
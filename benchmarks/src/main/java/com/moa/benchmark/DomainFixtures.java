@@ -0,0 +1,124 @@
+package com.moa.benchmark;
+
+import com.moa.dto.TransactionGroupInfo;
+import com.moa.dto.TransactionInfo;
+import com.moa.entity.Category;
+import com.moa.entity.CategoryType;
+import com.moa.entity.PaymentMethod;
+import com.moa.entity.Transaction;
+import com.moa.entity.TransactionEmotion;
+import com.moa.entity.TransactionGroup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 가계부/AI 응답 데이터
+ * 운영 데이터 분포(거래 그룹당 품목 1~5개, 카테고리 10여 개, 감정 6종)를 고정 시드로 흉내 낸다.
+ */
+final class DomainFixtures {
+
+    static final String[] CATEGORY_NAMES = {"식비", "카페", "배달", "술", "교통", "구독", "쇼핑", "생활", "의료", "문화", "기타"};
+
+    private static final String[] PLACES = {"스타벅스 강남역점", "GS25 역삼점", "쿠팡", "배달의민족", "서울교통공사", "올리브영 신논현점", null};
+    private static final String[] ITEM_NAMES = {"아메리카노", "김치찌개", "치킨", "택시", "넷플릭스", "샴푸", "생맥주", "영화 티켓", "약", "삼각김밥"};
+    private static final String[] PAYMENTS = {"CARD", "CASH", "TRANSFER", "SIMPLE_PAY", null};
+
+    private DomainFixtures() {
+    }
+
+    static List<Category> categories() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORY_NAMES.length; i++) {
+            categories.add(Category.builder()
+                    .id((long) i + 1)
+                    .name(CATEGORY_NAMES[i])
+                    .type(CategoryType.EXPENSE)
+                    .build());
+        }
+        return categories;
+    }
+
+    /**
+     * 한 달치 거래 그룹 (조회 직후 영속성 컨텍스트에 올라온 엔티티 그래프와 같은 형태)
+     */
+    static List<TransactionGroup> monthlyGroups(int groupCount, long seed) {
+        Random random = new Random(seed);
+        List<Category> categories = categories();
+        YearMonth month = YearMonth.of(2025, 1);
+        TransactionEmotion[] emotions = TransactionEmotion.values();
+
+        List<TransactionGroup> groups = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            TransactionGroup group = TransactionGroup.builder()
+                    .id((long) i + 1)
+                    .transactionDate(month.atDay(1 + random.nextInt(month.lengthOfMonth())))
+                    .place(PLACES[random.nextInt(PLACES.length)])
+                    .payment(PaymentMethod.values()[random.nextInt(PaymentMethod.values().length)])
+                    // 감정이 비어 있는 과거 데이터 약 10%
+                    .emotion(random.nextInt(10) == 0 ? null : emotions[random.nextInt(emotions.length)])
+                    .build();
+
+            int itemCount = 1 + random.nextInt(5);
+            for (int j = 0; j < itemCount; j++) {
+                group.addTransaction(Transaction.builder()
+                        .id((long) i * 10 + j)
+                        .name(ITEM_NAMES[random.nextInt(ITEM_NAMES.length)])
+                        .amount(100L * (10 + random.nextInt(500)))
+                        .category(categories.get(random.nextInt(categories.size())))
+                        .transactionGroup(group)
+                        .build());
+            }
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    static TransactionGroupInfo groupInfo(int itemCount, long seed) {
+        Random random = new Random(seed);
+        List<TransactionInfo> items = new ArrayList<>(itemCount);
+        long total = 0;
+        for (int i = 0; i < itemCount; i++) {
+            long amount = 100L * (10 + random.nextInt(500));
+            total += amount;
+            items.add(new TransactionInfo(null, ITEM_NAMES[random.nextInt(ITEM_NAMES.length)], amount, null,
+                    random.nextInt(5) == 0 ? null : CATEGORY_NAMES[random.nextInt(CATEGORY_NAMES.length)], "EXPENSE"));
+        }
+        return new TransactionGroupInfo(null, LocalDate.of(2025, 1, 3), total,
+                PLACES[random.nextInt(PLACES.length)], PAYMENTS[random.nextInt(PAYMENTS.length)], null,
+                TransactionEmotion.values()[random.nextInt(TransactionEmotion.values().length)].name(), items);
+    }
+
+    /**
+     * LLM 영수증 응답 본문 (코드 펜스/설명 문장 포함 여부를 섞는다)
+     */
+    static String llmContent(int itemCount, boolean fenced, long seed) {
+        Random random = new Random(seed);
+        StringBuilder json = new StringBuilder("{\n  \"items\": [\n");
+        for (int i = 0; i < itemCount; i++) {
+            if (i > 0) json.append(",\n");
+            json.append("    {\"category\": \"").append(CATEGORY_NAMES[random.nextInt(CATEGORY_NAMES.length)])
+                    .append("\", \"name\": \"").append(ITEM_NAMES[random.nextInt(ITEM_NAMES.length)])
+                    .append("\", \"amount\": ").append(100 * (10 + random.nextInt(500))).append('}');
+        }
+        json.append("\n  ],\n  \"emotion\": \"REWARD\",\n  \"payment\": \"CARD\",\n")
+                .append("  \"comment\": \"오늘 하루도 고생했어! 작은 보상은 괜찮아.\",\n")
+                .append("  \"place\": \"스타벅스 강남역점\",\n  \"transactionDate\": \"2025-01-03\"\n}");
+        if (!fenced) {
+            return json.toString();
+        }
+        return "영수증을 분석한 결과입니다.\n```json\n" + json + "\n```\n추가로 궁금한 점이 있으면 말씀해 주세요.";
+    }
+
+    static float[] embedding(int dimension, long seed) {
+        Random random = new Random(seed);
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) (random.nextGaussian() * 0.03);
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,48 @@
+package com.moa.benchmark;
+
+import com.moa.util.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LLM 영수증 응답에서 JSON 본문 추출 (코드 펜스/설명 문장 제거)
+ *
+ * java -jar benchmarks/target/benchmarks.jar JsonParserBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParserBenchmark {
+
+    @Param({"3", "30"})
+    public int itemCount;
+
+    @Param({"true", "false"})
+    public boolean fenced;
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        content = DomainFixtures.llmContent(itemCount, fenced, 42L);
+    }
+
+    @Benchmark
+    public String cleanUpJson() {
+        return JsonParser.cleanUpJson(content);
+    }
+}
@@ -0,0 +1,29 @@
+package com.moa.benchmark;
+
+import java.util.List;
+
+/**
+ * PgVector 도입 이전 ChatService.convertEmbeddingToString 구현 (비교 기준)
+ * 임베딩을 List&lt;Double&gt; 로 받아 문자열로 만든 뒤 CAST(:embeddingVector AS vector) 로 전달했다.
+ */
+final class LegacyEmbeddingFormat {
+
+    private LegacyEmbeddingFormat() {
+    }
+
+    static String convertEmbeddingToString(List<Double> embedding) {
+        if (embedding == null || embedding.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < embedding.size(); i++) {
+            sb.append(embedding.get(i));
+            if (i < embedding.size() - 1) {
+                sb.append(",");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
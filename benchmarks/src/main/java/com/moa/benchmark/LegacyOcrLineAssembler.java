@@ -0,0 +1,138 @@
+package com.moa.benchmark;
+
+import com.moa.dto.ClovaOcrResponse;
+import com.moa.dto.UpstageOcrResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 비교 기준: OcrLineAssembler 도입 이전 OcrService 의 줄 재구성 로직 (동작 그대로 복사)
+ */
+final class LegacyOcrLineAssembler {
+
+    private LegacyOcrLineAssembler() {
+    }
+
+    static String sortAndProcessUpstage(List<UpstageOcrResponse.Word> words) {
+        if (words == null || words.isEmpty()) return "";
+
+        List<UpstageOcrResponse.Word> valid = words.stream()
+                .filter(w -> w.confidence() > 0.6)
+                .collect(Collectors.toList());
+
+        valid.sort(Comparator.comparingDouble(w -> getCenterYUp(w.boundingBox())));
+
+        StringBuilder result = new StringBuilder();
+        List<UpstageOcrResponse.Word> current = new ArrayList<>();
+
+        double lastCY = -1, lastH = 0;
+
+        for (UpstageOcrResponse.Word w : valid) {
+            double cy = getCenterYUp(w.boundingBox());
+            double h = getHeightUp(w.boundingBox());
+
+            if (current.isEmpty() || Math.abs(cy - lastCY) < lastH * 0.6) {
+                current.add(w);
+            } else {
+                processUpstageLine(result, current);
+                current.clear();
+                current.add(w);
+            }
+            lastCY = cy; lastH = h;
+        }
+
+        processUpstageLine(result, current);
+        return result.toString().trim();
+    }
+
+    private static void processUpstageLine(StringBuilder result, List<UpstageOcrResponse.Word> line) {
+        line.sort(Comparator.comparingDouble(w -> getMinXUp(w.boundingBox())));
+        String lineText = line.stream().map(UpstageOcrResponse.Word::text).collect(Collectors.joining(" "));
+        result.append(lineText).append("\n");
+    }
+
+    private static double getCenterYUp(UpstageOcrResponse.BoundingBox box) {
+        double minY = box.vertices().stream().mapToDouble(v -> v.y()).min().orElse(0);
+        double maxY = box.vertices().stream().mapToDouble(v -> v.y()).max().orElse(0);
+        return (minY + maxY) / 2.0;
+    }
+
+    private static double getHeightUp(UpstageOcrResponse.BoundingBox box) {
+        double minY = box.vertices().stream().mapToDouble(v -> v.y()).min().orElse(0);
+        double maxY = box.vertices().stream().mapToDouble(v -> v.y()).max().orElse(0);
+        return maxY - minY;
+    }
+
+    private static double getMinXUp(UpstageOcrResponse.BoundingBox box) {
+        return box.vertices().stream().mapToDouble(v -> v.x()).min().orElse(0);
+    }
+
+    static String sortAndProcessFields(List<ClovaOcrResponse.Field> fields) {
+        if (fields == null || fields.isEmpty()) return "";
+
+        List<ClovaOcrResponse.Field> validFields = fields.stream()
+                .filter(f -> f.inferConfidence() > 0.6)
+                .collect(Collectors.toList());
+
+        validFields.sort(Comparator.comparingDouble(f -> getCenterY(f.boundingPoly())));
+
+        StringBuilder result = new StringBuilder();
+        List<ClovaOcrResponse.Field> currentLine = new ArrayList<>();
+
+        double lastCenterY = -1;
+        double lastHeight = 0;
+
+        for (ClovaOcrResponse.Field field : validFields) {
+            double currentCenterY = getCenterY(field.boundingPoly());
+            double currentHeight = getHeight(field.boundingPoly());
+
+            if (currentLine.isEmpty()) {
+                currentLine.add(field);
+                lastCenterY = currentCenterY;
+                lastHeight = currentHeight;
+            } else if (Math.abs(currentCenterY - lastCenterY) < lastHeight * 0.6) {
+                currentLine.add(field);
+            } else {
+                processLine(result, currentLine);
+                currentLine.clear();
+                currentLine.add(field);
+                lastCenterY = currentCenterY;
+                lastHeight = currentHeight;
+            }
+        }
+        processLine(result, currentLine);
+
+        return result.toString().trim();
+    }
+
+    private static void processLine(StringBuilder result, List<ClovaOcrResponse.Field> line) {
+        if (line.isEmpty()) return;
+
+        line.sort(Comparator.comparingDouble(f -> getMinX(f.boundingPoly())));
+
+        String lineText = line.stream()
+                .map(ClovaOcrResponse.Field::inferText)
+                .collect(Collectors.joining(" "));
+
+        result.append(lineText).append("\n");
+    }
+
+    private static double getCenterY(ClovaOcrResponse.BoundingPoly poly) {
+        double minY = poly.vertices().stream().mapToDouble(v -> v.y()).min().orElse(0);
+        double maxY = poly.vertices().stream().mapToDouble(v -> v.y()).max().orElse(0);
+        return (minY + maxY) / 2.0;
+    }
+
+    private static double getHeight(ClovaOcrResponse.BoundingPoly poly) {
+        double minY = poly.vertices().stream().mapToDouble(v -> v.y()).min().orElse(0);
+        double maxY = poly.vertices().stream().mapToDouble(v -> v.y()).max().orElse(0);
+        return maxY - minY;
+    }
+
+    private static double getMinX(ClovaOcrResponse.BoundingPoly poly) {
+        return poly.vertices().stream().mapToDouble(v -> v.x()).min().orElse(0);
+    }
+}
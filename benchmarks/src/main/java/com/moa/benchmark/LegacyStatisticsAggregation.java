@@ -0,0 +1,91 @@
+package com.moa.benchmark;
+
+import com.moa.dto.response.MonthlyCategoryExpenseResponse;
+import com.moa.dto.response.MonthlyEmotionPercentageResponse;
+import com.moa.dto.response.MonthlyEmotionStatisticsResponse;
+import com.moa.entity.Transaction;
+import com.moa.entity.TransactionEmotion;
+import com.moa.entity.TransactionGroup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * SQL 집계 도입 이전 StatisticsService 구현 (비교 기준)
+ * 한 달치 거래 그룹을 JOIN FETCH 로 모두 불러온 뒤 Stream 으로 합계/그룹핑했다.
+ */
+final class LegacyStatisticsAggregation {
+
+    private LegacyStatisticsAggregation() {
+    }
+
+    static long totalExpense(List<TransactionGroup> transactionGroups) {
+        return transactionGroups.stream()
+                .flatMap(tg -> tg.getTransactions().stream())
+                .mapToLong(Transaction::getAmount)
+                .sum();
+    }
+
+    static List<MonthlyCategoryExpenseResponse> categoryExpenses(List<TransactionGroup> transactionGroups) {
+        Map<Long, Long> categoryExpenseMap = transactionGroups.stream()
+                .flatMap(tg -> tg.getTransactions().stream())
+                .collect(Collectors.groupingBy(
+                        t -> t.getCategory().getId(),
+                        Collectors.summingLong(Transaction::getAmount)
+                ));
+
+        return transactionGroups.stream()
+                .flatMap(tg -> tg.getTransactions().stream())
+                .map(Transaction::getCategory)
+                .distinct()
+                .filter(category -> categoryExpenseMap.containsKey(category.getId()))
+                .map(category -> MonthlyCategoryExpenseResponse.of(category, categoryExpenseMap.get(category.getId())))
+                .collect(Collectors.toList());
+    }
+
+    static List<MonthlyEmotionStatisticsResponse> emotionStatistics(List<TransactionGroup> transactionGroups) {
+        Map<TransactionEmotion, List<TransactionGroup>> emotionGroups = transactionGroups.stream()
+                .filter(tg -> tg.getEmotion() != null)
+                .collect(Collectors.groupingBy(TransactionGroup::getEmotion));
+
+        return emotionGroups.entrySet().stream()
+                .map(entry -> new MonthlyEmotionStatisticsResponse(
+                        entry.getKey(),
+                        (long) entry.getValue().size(),
+                        entry.getValue().stream()
+                                .flatMap(tg -> tg.getTransactions().stream())
+                                .mapToLong(Transaction::getAmount)
+                                .sum()
+                ))
+                .collect(Collectors.toList());
+    }
+
+    static List<MonthlyEmotionPercentageResponse> emotionPercentages(List<TransactionGroup> transactionGroups) {
+        List<TransactionGroup> transactionGroupsWithEmotion = transactionGroups.stream()
+                .filter(tg -> tg.getEmotion() != null)
+                .collect(Collectors.toList());
+
+        long totalCount = transactionGroupsWithEmotion.size();
+        if (totalCount == 0) {
+            return List.of();
+        }
+
+        Map<TransactionEmotion, Long> emotionCounts = transactionGroupsWithEmotion.stream()
+                .collect(Collectors.groupingBy(
+                        TransactionGroup::getEmotion,
+                        Collectors.counting()
+                ));
+
+        return emotionCounts.entrySet().stream()
+                .map(entry -> {
+                    double percentage = Math.round((entry.getValue() * 100.0 / totalCount) * 100.0) / 100.0;
+                    return new MonthlyEmotionPercentageResponse(
+                            entry.getKey(),
+                            entry.getValue(),
+                            percentage
+                    );
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,79 @@
+package com.moa.benchmark;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.service.UpstageLLMResponse;
+import com.moa.util.JsonFieldReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upstage Chat Completions 응답 -> UpstageLLMResponse 변환 (영수증 요청마다 1회)
+ * - legacy: 응답마다 ObjectMapper 생성 + findAndRegisterModules, JsonNode 트리 생성 후 content 문자열을 다시 파싱
+ * - streaming: 공용 매퍼의 JsonFieldReader 로 content 위치까지 토큰만 따라가 내부 JSON 을 바로 변환
+ *
+ * java -jar benchmarks/target/benchmarks.jar LlmResponseParsingBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LlmResponseParsingBenchmark {
+
+    private static final JsonPointer CONTENT = JsonPointer.compile("/choices/0/message/content");
+
+    @Param({"3", "30"})
+    public int itemCount;
+
+    private byte[] body;
+    private JsonFieldReader jsonFieldReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        // 애플리케이션 공용 매퍼와 같은 설정
+        ObjectMapper sharedMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        jsonFieldReader = new JsonFieldReader(sharedMapper);
+
+        body = sharedMapper.writeValueAsBytes(Map.of(
+                "id", "chatcmpl-benchmark",
+                "object", "chat.completion",
+                "model", "solar-pro2",
+                "choices", new Object[]{Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", DomainFixtures.llmContent(itemCount, false, 42L)),
+                        "finish_reason", "stop")},
+                "usage", Map.of("prompt_tokens", 1850, "completion_tokens", 160, "total_tokens", 2010)));
+    }
+
+    @Benchmark
+    public UpstageLLMResponse legacy() throws IOException {
+        JsonNode root = new ObjectMapper().readTree(body);
+        String content = root.at("/choices/0/message/content").asText();
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.findAndRegisterModules();
+        return mapper.readValue(content, UpstageLLMResponse.class);
+    }
+
+    @Benchmark
+    public UpstageLLMResponse streaming() {
+        return jsonFieldReader.readEmbeddedJson(body, CONTENT, UpstageLLMResponse.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.moa.benchmark;
+
+import com.moa.dto.TransactionGroupInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 영수증 거래내역 -> 임베딩용 자연어 문장 변환 (영수증 요청마다 1회)
+ *
+ * java -jar benchmarks/target/benchmarks.jar NaturalTextBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NaturalTextBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int itemCount;
+
+    private TransactionGroupInfo group;
+
+    @Setup
+    public void setUp() {
+        group = DomainFixtures.groupInfo(itemCount, 42L);
+    }
+
+    @Benchmark
+    public String toNaturalText() {
+        return group.toNaturalText();
+    }
+}
@@ -0,0 +1,128 @@
+package com.moa.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.dto.ClovaOcrResponse;
+import com.moa.dto.UpstageOcrResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 OCR 응답
+ * - 녹화본: Upstage/Clova OCR API 응답 JSON 파일을 그대로 읽는다. (응답 형태는 images 필드 유무로 구분)
+ * - 합성본: 긴 은행 거래내역 스크린샷과 비슷한 표 형태의 단어 배치를 고정 시드로 생성한다.
+ * 어느 쪽이든 같은 좌표의 Upstage 단어 목록과 Clova 필드 목록을 모두 제공한다.
+ */
+final class OcrFixtures {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final String[][] COLUMNS = {
+            {"2025.01.03", "2025.01.04", "2025.01.07", "2025.01.12", "2025.01.15"},
+            {"09:12", "12:40", "18:03", "21:55", "07:31"},
+            {"체크카드", "계좌이체", "자동이체", "간편결제"},
+            {"스타벅스", "GS25", "쿠팡", "배달의민족", "서울교통공사", "CU", "올리브영"},
+            {"강남점", "역삼점", "(주)", "온라인", "본점"},
+            {"-5,600", "-12,800", "-1,450", "-32,000", "+2,500,000", "-8,900"},
+            {"1,234,000", "987,650", "2,004,310", "450,120", "3,120,000"}
+    };
+
+    private static final float LINE_HEIGHT = 24f;
+    private static final float LINE_SPACING = 38f;
+    private static final float CHAR_WIDTH = 13f;
+    private static final float COLUMN_GAP = 18f;
+
+    private final List<UpstageOcrResponse.Word> upstageWords;
+    private final List<ClovaOcrResponse.Field> clovaFields;
+
+    private OcrFixtures(List<UpstageOcrResponse.Word> upstageWords, List<ClovaOcrResponse.Field> clovaFields) {
+        this.upstageWords = upstageWords;
+        this.clovaFields = clovaFields;
+    }
+
+    List<UpstageOcrResponse.Word> upstageWords() {
+        return upstageWords;
+    }
+
+    List<ClovaOcrResponse.Field> clovaFields() {
+        return clovaFields;
+    }
+
+    static OcrFixtures load(Path recording) throws IOException {
+        JsonNode root = OBJECT_MAPPER.readTree(Files.readAllBytes(recording));
+        if (root.has("images")) {
+            ClovaOcrResponse response = OBJECT_MAPPER.treeToValue(root, ClovaOcrResponse.class);
+            List<ClovaOcrResponse.Field> fields = response.images().get(0).fields();
+            return new OcrFixtures(fields.stream().map(OcrFixtures::toUpstage).toList(), fields);
+        }
+        UpstageOcrResponse response = OBJECT_MAPPER.treeToValue(root, UpstageOcrResponse.class);
+        List<UpstageOcrResponse.Word> words = response.pages().get(0).words();
+        return new OcrFixtures(words, words.stream().map(OcrFixtures::toClova).toList());
+    }
+
+    /**
+     * @param wordCount    생성할 단어 수 (한 줄 7단어)
+     * @param skewDegrees  촬영 기울기 (도)
+     */
+    static OcrFixtures synthetic(int wordCount, double skewDegrees, long seed) {
+        Random random = new Random(seed);
+        double tan = Math.tan(Math.toRadians(skewDegrees));
+        List<UpstageOcrResponse.Word> words = new ArrayList<>(wordCount);
+
+        for (int row = 0; words.size() < wordCount; row++) {
+            float x = 40f;
+            float baseY = 120f + row * LINE_SPACING;
+            for (String[] column : COLUMNS) {
+                if (words.size() == wordCount) break;
+                String text = column[random.nextInt(column.length)];
+                float width = text.length() * CHAR_WIDTH;
+                float top = baseY + (float) random.nextGaussian();
+                // 대부분 높은 신뢰도, 일부는 필터링 대상
+                double confidence = random.nextInt(20) == 0 ? 0.4 : 0.9 + random.nextDouble() * 0.1;
+                words.add(word(words.size(), text, confidence, x, top, width, tan));
+                x += width + COLUMN_GAP + random.nextInt(6);
+            }
+        }
+        // OCR 응답의 단어 순서는 읽기 순서와 일치하지 않을 수 있음
+        Collections.shuffle(words, random);
+        return new OcrFixtures(words, words.stream().map(OcrFixtures::toClova).toList());
+    }
+
+    private static UpstageOcrResponse.Word word(int id, String text, double confidence,
+                                                float left, float top, float width, double tan) {
+        List<UpstageOcrResponse.Vertex> vertices = List.of(
+                vertex(left, top, tan),
+                vertex(left + width, top, tan),
+                vertex(left + width, top + LINE_HEIGHT, tan),
+                vertex(left, top + LINE_HEIGHT, tan));
+        return new UpstageOcrResponse.Word(new UpstageOcrResponse.BoundingBox(vertices), confidence, id, text);
+    }
+
+    private static UpstageOcrResponse.Vertex vertex(float x, float y, double tan) {
+        return new UpstageOcrResponse.Vertex((double) x, y + x * tan);
+    }
+
+    private static ClovaOcrResponse.Field toClova(UpstageOcrResponse.Word word) {
+        List<ClovaOcrResponse.Vertex> vertices = word.boundingBox().vertices().stream()
+                .map(v -> new ClovaOcrResponse.Vertex(v.x(), v.y()))
+                .toList();
+        return new ClovaOcrResponse.Field("ALL", word.text(), word.confidence(), "NORMAL", false,
+                new ClovaOcrResponse.BoundingPoly(vertices));
+    }
+
+    private static UpstageOcrResponse.Word toUpstage(ClovaOcrResponse.Field field) {
+        List<UpstageOcrResponse.Vertex> vertices = field.boundingPoly().vertices().stream()
+                .map(v -> new UpstageOcrResponse.Vertex(v.x(), v.y()))
+                .toList();
+        return new UpstageOcrResponse.Word(new UpstageOcrResponse.BoundingBox(vertices),
+                field.inferConfidence(), null, field.inferText());
+    }
+}
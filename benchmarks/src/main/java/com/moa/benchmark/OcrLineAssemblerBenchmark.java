@@ -0,0 +1,74 @@
+package com.moa.benchmark;
+
+import com.moa.service.ocr.OcrLineAssembler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OCR 줄 재구성 벤치마크 (기존 Stream/Comparator 구현 대비)
+ *
+ * 합성 데이터: java -jar benchmarks/target/benchmarks.jar OcrLineAssemblerBenchmark -prof gc
+ * 녹화 데이터: java -jar benchmarks/target/benchmarks.jar OcrLineAssemblerBenchmark -p recording=/path/to/ocr-response.json
+ * (녹화 데이터를 지정하면 wordCount, skewDegrees 는 무시된다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OcrLineAssemblerBenchmark {
+
+    private static final String SYNTHETIC = "synthetic";
+
+    @Param({SYNTHETIC})
+    public String recording;
+
+    @Param({"300", "2000", "8000"})
+    public int wordCount;
+
+    @Param({"0", "3"})
+    public double skewDegrees;
+
+    private OcrFixtures fixtures;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixtures = SYNTHETIC.equals(recording)
+                ? OcrFixtures.synthetic(wordCount, skewDegrees, 42L)
+                : OcrFixtures.load(Path.of(recording));
+    }
+
+    @Benchmark
+    public String legacyUpstage() {
+        return LegacyOcrLineAssembler.sortAndProcessUpstage(fixtures.upstageWords());
+    }
+
+    @Benchmark
+    public String assemblerUpstage() {
+        return new OcrLineAssembler().assembleUpstage(fixtures.upstageWords());
+    }
+
+    @Benchmark
+    public String legacyClova() {
+        return LegacyOcrLineAssembler.sortAndProcessFields(fixtures.clovaFields());
+    }
+
+    @Benchmark
+    public String assemblerClova() {
+        return new OcrLineAssembler().assembleClova(fixtures.clovaFields());
+    }
+}
@@ -0,0 +1,66 @@
+package com.moa.benchmark;
+
+import com.moa.config.chat.PgVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임베딩 벡터 텍스트 변환 (채팅 로그 저장, RAG 검색 파라미터, 조회 결과 매핑)
+ * 기존 List&lt;Double&gt; 문자열 변환 대비 PgVector 의 float[] 포맷/파싱 비용
+ *
+ * java -jar benchmarks/target/benchmarks.jar PgVectorBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PgVectorBenchmark {
+
+    // Clova 임베딩 차원
+    @Param({"1024"})
+    public int dimension;
+
+    private float[] vector;
+    private List<Double> boxedVector;
+    private String formatted;
+
+    @Setup
+    public void setUp() {
+        vector = DomainFixtures.embedding(dimension, 42L);
+        boxedVector = new ArrayList<>(dimension);
+        for (float value : vector) {
+            boxedVector.add((double) value);
+        }
+        formatted = PgVector.format(vector);
+    }
+
+    @Benchmark
+    public String legacyConvertEmbeddingToString() {
+        return LegacyEmbeddingFormat.convertEmbeddingToString(boxedVector);
+    }
+
+    @Benchmark
+    public String format() {
+        return PgVector.format(vector);
+    }
+
+    @Benchmark
+    public float[] parse() {
+        return PgVector.parse(formatted);
+    }
+}
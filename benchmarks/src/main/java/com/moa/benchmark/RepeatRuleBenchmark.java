@@ -0,0 +1,61 @@
+package com.moa.benchmark;
+
+import com.moa.entity.RepeatRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 고정 지출 다음 결제일 계산 (고정 지출 목록 조회 시 항목마다 호출)
+ * 1년치 기준일에 대해 주간/월간 규칙을 번갈아 계산한 1건당 평균 시간
+ *
+ * java -jar benchmarks/target/benchmarks.jar RepeatRuleBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepeatRuleBenchmark {
+
+    private static final int DAYS = 365;
+
+    private final LocalDate initDate = LocalDate.of(2025, 1, 1);
+    private LocalDate[] todays;
+    private RepeatRule[] rules;
+
+    @Setup
+    public void setUp() {
+        todays = new LocalDate[DAYS];
+        rules = new RepeatRule[DAYS];
+        for (int i = 0; i < DAYS; i++) {
+            todays[i] = initDate.plusDays(i);
+            // 말일(31일) 규칙은 짧은 달에서 다음 달로 넘어가는 경계를 포함
+            rules[i] = i % 2 == 0
+                    ? RepeatRule.weekly(DayOfWeek.of(1 + i % 7))
+                    : RepeatRule.monthly(1 + i % 28);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public void calculateNextDate(Blackhole blackhole) {
+        for (int i = 0; i < DAYS; i++) {
+            blackhole.consume(rules[i].calculateNextDate(initDate, todays[i]));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.moa.benchmark;
+
+import com.moa.dto.response.MonthlyEmotionStatisticsResponse;
+import com.moa.entity.TransactionGroup;
+import com.moa.service.StatisticsAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 월간 통계 집계 (통계 화면 진입 시 API 마다 1회)
+ * - legacy*: 이전 구현의 엔티티 목록 -> 응답 DTO 변환 비용 (DB 에서 한 달치 엔티티 그래프를 읽어오는 시간은 제외)
+ * - emotionPercentages: 현재 구현의 애플리케이션 측 비용 (DB 집계 쿼리가 돌려준 감정별 행 -> 비율)
+ * SQL 집계 자체는 DB 가 필요하므로 loadtest 모듈의 statistics 시나리오로 측정한다.
+ *
+ * java -jar benchmarks/target/benchmarks.jar StatisticsAggregationBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsAggregationBenchmark {
+
+    // 한 달 거래 그룹 수 (일반 사용자 ~ 기록이 많은 사용자)
+    @Param({"30", "300", "3000"})
+    public int groupCount;
+
+    private List<TransactionGroup> groups;
+    private List<MonthlyEmotionStatisticsResponse> emotionRows;
+
+    @Setup
+    public void setUp() {
+        groups = DomainFixtures.monthlyGroups(groupCount, 42L);
+        emotionRows = LegacyStatisticsAggregation.emotionStatistics(groups);
+    }
+
+    @Benchmark
+    public long legacyTotalExpense() {
+        return LegacyStatisticsAggregation.totalExpense(groups);
+    }
+
+    @Benchmark
+    public Object legacyCategoryExpenses() {
+        return LegacyStatisticsAggregation.categoryExpenses(groups);
+    }
+
+    @Benchmark
+    public Object legacyEmotionStatistics() {
+        return LegacyStatisticsAggregation.emotionStatistics(groups);
+    }
+
+    @Benchmark
+    public Object legacyEmotionPercentages() {
+        return LegacyStatisticsAggregation.emotionPercentages(groups);
+    }
+
+    @Benchmark
+    public Object emotionPercentages() {
+        return StatisticsAggregator.emotionPercentages(emotionRows);
+    }
+}
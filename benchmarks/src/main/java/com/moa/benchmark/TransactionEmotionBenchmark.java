@@ -0,0 +1,38 @@
+package com.moa.benchmark;
+
+import com.moa.entity.TransactionEmotion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 감정 문자열 파싱 (LLM 출력, 거래 수정, 자연어 변환마다 호출)
+ * enum 이름(대소문자 무시), 키워드 매칭되는 자유 서술, 어디에도 해당하지 않는 서술(전체 키워드 검사 후 NEUTRAL)
+ *
+ * java -jar benchmarks/target/benchmarks.jar TransactionEmotionBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionEmotionBenchmark {
+
+    @Param({"REWARD", "satisfaction", "기분전환 겸 선물", "조금 후회되는 지출", "평범한 하루"})
+    public String input;
+
+    @Benchmark
+    public TransactionEmotion parseEmotion() {
+        return TransactionEmotion.parseEmotion(input);
+    }
+}
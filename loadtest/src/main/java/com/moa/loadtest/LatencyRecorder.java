@@ -0,0 +1,60 @@
+package com.moa.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 시나리오별 응답 시간 기록
+ * 측정 구간의 요청 수가 수십만 건 수준이므로 정렬 가능한 long 배열에 그대로 쌓고, 리포트 시점에 한 번 정렬하여 백분위를 계산한다.
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private long errors;
+    private final Map<Integer, Long> statusCounts = new LinkedHashMap<>();
+
+    synchronized void record(long elapsedNanos, int status, boolean success) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, nanos.length * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        if (!success) {
+            errors++;
+        }
+        statusCounts.merge(status, 1L, Long::sum);
+    }
+
+    synchronized Map<String, Object> summary(double durationSeconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", count);
+        result.put("errors", errors);
+        result.put("errorRate", count == 0 ? 0.0 : round((double) errors / count));
+        result.put("rps", durationSeconds <= 0 ? 0.0 : round(count / durationSeconds));
+        result.put("p50Ms", percentileMs(sorted, 0.50));
+        result.put("p90Ms", percentileMs(sorted, 0.90));
+        result.put("p95Ms", percentileMs(sorted, 0.95));
+        result.put("p99Ms", percentileMs(sorted, 0.99));
+        result.put("maxMs", count == 0 ? 0.0 : round(sorted[count - 1] / 1_000_000.0));
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        statusCounts.forEach((status, value) -> statuses.put(status == 0 ? "io-error" : String.valueOf(status), value));
+        result.put("statuses", statuses);
+        return result;
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(sorted.length * percentile) - 1;
+        return round(sorted[Math.max(index, 0)] / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
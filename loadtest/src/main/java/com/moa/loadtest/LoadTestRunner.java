@@ -0,0 +1,367 @@
+package com.moa.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 애플리케이션 부하 테스트 (closed-loop: 동시 사용자 수만큼 스레드가 요청 -> 응답 -> think time 을 반복)
+ * - 채팅, 가계부 조회/등록, 월간 통계 시나리오를 가중치(--mix)에 따라 섞어 실행한다.
+ * - 워밍업 구간은 기록하지 않고, 측정 구간의 시나리오별 처리량/오류율/p50~p99 를 표와 JSON 으로 남긴다.
+ * - 인증은 애플리케이션과 같은 jwt.secret 으로 ACCESS 토큰을 직접 발급하여 로그인 흐름을 건너뛴다.
+ *
+ * 외부 공급자는 MockProviderServer 로 대체한다.
+ *   java -cp loadtest.jar com.moa.loadtest.MockProviderServer --port 9090
+ *   SPRING_PROFILES_ACTIVE=loadtest MOCK_PROVIDER_URL=http://localhost:9090 java -jar target/moa-app-1.0.0.jar
+ *
+ * 실행:
+ *   java -cp loadtest.jar com.moa.loadtest.LoadTestRunner --base-url http://localhost:8080 --jwt-secret $JWT_SECRET
+ *        --users 1,2,3 --concurrency 50 --duration 60s --warmup 15s --label platform --out results/platform.json
+ * 비교 (예: spring.threads.virtual.enabled=false / true 로 각각 실행한 결과):
+ *   java -cp loadtest.jar com.moa.loadtest.LoadTestRunner --compare results/platform.json results/virtual.json
+ */
+public class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String DEFAULT_MIX = "chat-send=2,transactions-list=3,transactions-create=1,statistics=4";
+    private static final String[] STATISTICS_PATHS = {"total", "transactions", "emotion", "emotion/percentage"};
+    private static final String[] CHAT_MESSAGES = {
+            "오늘 점심 김치찌개 9000원 먹었어",
+            "이번 달 카페에 너무 많이 쓴 것 같아",
+            "택시비 15000원 나왔어. 늦잠 자서 어쩔 수 없었어",
+            "요즘 지출 패턴 어때?",
+            "친구 생일 선물로 35000원 썼어"
+    };
+
+    private final String baseUrl;
+    private final SecretKey jwtKey;
+    private final List<Long> userIds;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+    private final long thinkMs;
+    private final YearMonth yearMonth;
+    private final byte[] receiptImage;
+    private final Map<String, Integer> mix;
+    private final HttpClient httpClient;
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    LoadTestRunner(Map<String, String> options) throws IOException {
+        this.baseUrl = stripTrailingSlash(required(options, "base-url"));
+        this.jwtKey = Keys.hmacShaKeyFor(required(options, "jwt-secret").getBytes(StandardCharsets.UTF_8));
+        this.userIds = new ArrayList<>();
+        for (String id : required(options, "users").split(",")) {
+            userIds.add(Long.parseLong(id.trim()));
+        }
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "20"));
+        this.duration = parseDuration(options.getOrDefault("duration", "60s"));
+        this.warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        this.thinkMs = Long.parseLong(options.getOrDefault("think-ms", "0"));
+        this.yearMonth = YearMonth.parse(options.getOrDefault("year-month", YearMonth.now().toString()));
+        this.receiptImage = options.containsKey("receipt-image")
+                ? Files.readAllBytes(Path.of(options.get("receipt-image"))) : null;
+
+        String defaultMix = receiptImage != null ? DEFAULT_MIX + ",chat-receipt=1" : DEFAULT_MIX;
+        this.mix = parseMix(options.getOrDefault("mix", defaultMix));
+        if (mix.containsKey("chat-receipt") && receiptImage == null) {
+            throw new IllegalArgumentException("chat-receipt 시나리오는 --receipt-image 가 필요합니다.");
+        }
+
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = MockProviderServer.parseArgs(args);
+        if (options.containsKey("compare")) {
+            int index = List.of(args).indexOf("--compare");
+            if (index < 0 || index + 2 >= args.length) {
+                throw new IllegalArgumentException("사용법: --compare <기준 결과.json> <비교 결과.json>");
+            }
+            compare(Path.of(args[index + 1]), Path.of(args[index + 2]));
+            return;
+        }
+
+        LoadTestRunner runner = new LoadTestRunner(options);
+        Map<String, Object> report = runner.run(options.getOrDefault("label", "run"));
+        printTable(report);
+        if (options.containsKey("out")) {
+            Path out = Path.of(options.get("out"));
+            if (out.getParent() != null) Files.createDirectories(out.getParent());
+            MAPPER.writeValue(out.toFile(), report);
+            System.out.println("결과 저장: " + out);
+        }
+    }
+
+    Map<String, Object> run(String label) throws InterruptedException {
+        System.out.printf("[loadtest] %s - 동시 사용자 %d, 워밍업 %ds, 측정 %ds, mix %s%n",
+                label, concurrency, warmup.toSeconds(), duration.toSeconds(), mix);
+
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Long userId = userIds.get(i % userIds.size());
+            Thread worker = new Thread(() -> {
+                try {
+                    while (running) {
+                        execute(pickScenario(), userId);
+                        if (thinkMs > 0) Thread.sleep(thinkMs);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+            }, "loadtest-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        Thread.sleep(warmup.toMillis());
+        recording = true;
+        Instant measureStart = Instant.now();
+        Thread.sleep(duration.toMillis());
+        recording = false;
+        double measuredSeconds = Duration.between(measureStart, Instant.now()).toMillis() / 1000.0;
+        running = false;
+        finished.await();
+
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        recorders.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> scenarios.put(entry.getKey(), entry.getValue().summary(measuredSeconds)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("baseUrl", baseUrl);
+        report.put("concurrency", concurrency);
+        report.put("users", userIds.size());
+        report.put("warmupSeconds", warmup.toSeconds());
+        report.put("durationSeconds", measuredSeconds);
+        report.put("mix", mix);
+        report.put("startedAt", measureStart.toString());
+        report.put("scenarios", scenarios);
+        return report;
+    }
+
+    // ==================== 시나리오 ====================
+
+    private String pickScenario() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) return entry.getKey();
+        }
+        return mix.keySet().iterator().next();
+    }
+
+    private void execute(String scenario, Long userId) {
+        HttpRequest request = switch (scenario) {
+            case "chat-send" -> multipart(userId, "/api/chat/send", Map.of(
+                    "mode", "CHAT",
+                    "message", CHAT_MESSAGES[ThreadLocalRandom.current().nextInt(CHAT_MESSAGES.length)]), null);
+            case "chat-receipt" -> multipart(userId, "/api/chat/send", Map.of("mode", "RECEIPT"), receiptImage);
+            case "transactions-list" -> authorized(userId, "/api/transaction-groups?yearMonth=" + yearMonth)
+                    .GET().build();
+            case "transactions-create" -> authorized(userId, "/api/transaction-groups")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(transactionBody()))
+                    .build();
+            case "statistics" -> authorized(userId, "/api/v1/statistics/"
+                    + STATISTICS_PATHS[ThreadLocalRandom.current().nextInt(STATISTICS_PATHS.length)] + "/" + yearMonth)
+                    .GET().build();
+            // 화면 한 번에 필요한 통계를 대시보드 요청 하나로 조회 (statistics 시나리오 4회에 해당)
+            case "statistics-dashboard" -> authorized(userId, "/api/v1/statistics/dashboard/" + yearMonth)
+                    .GET().build();
+            default -> throw new IllegalArgumentException("알 수 없는 시나리오: " + scenario);
+        };
+
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            status = response.statusCode();
+        } catch (IOException e) {
+            // 연결 실패/타임아웃은 status 0 으로 기록
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (recording) {
+            recorders.computeIfAbsent(scenario, key -> new LatencyRecorder())
+                    .record(elapsed, status, status >= 200 && status < 400);
+        }
+    }
+
+    private HttpRequest.Builder authorized(Long userId, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(120))
+                .header("Authorization", "Bearer " + token(userId));
+    }
+
+    private HttpRequest multipart(Long userId, String path, Map<String, String> parts, byte[] image) {
+        String boundary = "----moa-loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        parts.forEach((name, value) -> writePart(body, boundary,
+                "Content-Disposition: form-data; name=\"" + name + "\"\r\nContent-Type: text/plain; charset=UTF-8",
+                value.getBytes(StandardCharsets.UTF_8)));
+        if (image != null) {
+            writePart(body, boundary,
+                    "Content-Disposition: form-data; name=\"image\"; filename=\"receipt.jpg\"\r\nContent-Type: image/jpeg",
+                    image);
+        }
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return authorized(userId, path)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String boundary, String headers, byte[] content) {
+        body.writeBytes(("--" + boundary + "\r\n" + headers + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String transactionBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate date = yearMonth.atDay(random.nextInt(1, yearMonth.lengthOfMonth() + 1));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("place", "부하테스트 상점");
+        body.put("transactionDate", date.toString());
+        body.put("payment", "CARD");
+        body.put("paymentMemo", "loadtest");
+        body.put("emotion", random.nextBoolean() ? "NEUTRAL" : "SATISFACTION");
+        body.put("transactions", List.of(
+                Map.of("amount", random.nextLong(1_000, 50_000), "name", "점심", "categoryName", "식비"),
+                Map.of("amount", random.nextLong(1_000, 10_000), "name", "커피", "categoryName", "카페")));
+        try {
+            return MAPPER.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 애플리케이션 JwtTokenProvider 와 같은 형식의 ACCESS 토큰
+     */
+    private String token(Long userId) {
+        return tokens.computeIfAbsent(userId, id -> {
+            Date now = new Date();
+            return Jwts.builder()
+                    .claim("userId", id)
+                    .claim("deviceId", "loadtest-" + id)
+                    .claim("tokenType", "ACCESS")
+                    .issuedAt(now)
+                    .expiration(new Date(now.getTime() + Duration.ofHours(6).toMillis()))
+                    .signWith(jwtKey)
+                    .compact();
+        });
+    }
+
+    // ==================== 리포트 ====================
+
+    @SuppressWarnings("unchecked")
+    private static void printTable(Map<String, Object> report) {
+        System.out.printf("%n[%s] 측정 %.1fs, 동시 사용자 %s%n", report.get("label"), report.get("durationSeconds"), report.get("concurrency"));
+        System.out.printf("%-22s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "scenario", "count", "errors", "rps", "p50(ms)", "p90(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+        ((Map<String, Map<String, Object>>) report.get("scenarios")).forEach((name, s) ->
+                System.out.printf("%-22s %8s %7s %9s %9s %9s %9s %9s %9s%n", name,
+                        s.get("count"), s.get("errors"), s.get("rps"),
+                        s.get("p50Ms"), s.get("p90Ms"), s.get("p95Ms"), s.get("p99Ms"), s.get("maxMs")));
+    }
+
+    /**
+     * 두 실행 결과의 시나리오별 처리량/지연 비교 (변화율은 기준 대비)
+     */
+    private static void compare(Path basePath, Path targetPath) throws IOException {
+        JsonNode base = MAPPER.readTree(basePath.toFile());
+        JsonNode target = MAPPER.readTree(targetPath.toFile());
+        System.out.printf("기준: %s (%s), 비교: %s (%s)%n",
+                base.path("label").asText(), basePath, target.path("label").asText(), targetPath);
+        System.out.printf("%-22s %-8s %12s %12s %9s%n", "scenario", "metric", base.path("label").asText(),
+                target.path("label").asText(), "change");
+
+        for (var it = base.path("scenarios").fields(); it.hasNext(); ) {
+            var entry = it.next();
+            JsonNode other = target.path("scenarios").path(entry.getKey());
+            if (other.isMissingNode()) continue;
+            for (String metric : new String[]{"rps", "errorRate", "p50Ms", "p95Ms", "p99Ms"}) {
+                double before = entry.getValue().path(metric).asDouble();
+                double after = other.path(metric).asDouble();
+                String change = before == 0 ? "-" : String.format("%+.1f%%", (after - before) / before * 100);
+                System.out.printf("%-22s %-8s %12.2f %12.2f %9s%n", entry.getKey(), metric, before, after, change);
+            }
+        }
+    }
+
+    // ==================== 옵션 파싱 ====================
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            String[] parts = pair.split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) result.put(parts[0].trim(), weight);
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("--mix 에 가중치가 양수인 시나리오가 없습니다.");
+        }
+        return result;
+    }
+
+    private static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase();
+        if (trimmed.endsWith("ms")) return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        if (trimmed.endsWith("s")) return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        if (trimmed.endsWith("m")) return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        return Duration.ofSeconds(Long.parseLong(trimmed));
+    }
+
+    private static String required(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("--" + key + " 옵션이 필요합니다.");
+        }
+        return value;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
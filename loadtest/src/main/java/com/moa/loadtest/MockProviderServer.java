@@ -0,0 +1,440 @@
+package com.moa.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 외부 공급자 mock 서버 (Clova Studio/OCR, Upstage, Kakao, Apple)
+ * - 녹화된 실제 응답(recordings/<route>.json)을 그대로 돌려주어 애플리케이션의 파싱/후처리 경로를 운영과 동일하게 태운다.
+ * - route 별 지연(latency + jitter), 오류율, 오류 상태 코드를 주입할 수 있다. (mock-providers.properties, -Dmock.*, POST /mock/faults)
+ * - Clova 채팅은 Accept: text/event-stream 이면 token 이벤트를 token-interval-ms 간격으로 스트리밍한다.
+ * - Kakao/Apple ID Token 은 기동 시 생성한 RSA 키로 서명하고 같은 키를 JWKS 로 공개한다.
+ *
+ * 실행: java -cp loadtest.jar com.moa.loadtest.MockProviderServer --port 9090 [--recordings dir] [--config file]
+ */
+public class MockProviderServer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int EMBEDDING_DIMENSION = 1024;
+    private static final String KAKAO_KID = "mock-kakao-key";
+    private static final String APPLE_KID = "mock-apple-key";
+
+    private final Properties settings;
+    private final Path recordingsDir;
+    private final Map<String, FaultProfile> faults = new ConcurrentHashMap<>();
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> recordings = new ConcurrentHashMap<>();
+    private final KeyPair signingKey;
+
+    public MockProviderServer(Properties settings, Path recordingsDir) throws NoSuchAlgorithmException {
+        this.settings = settings;
+        this.recordingsDir = recordingsDir;
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        this.signingKey = generator.generateKeyPair();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "9090"));
+
+        Properties settings = new Properties();
+        try (InputStream in = MockProviderServer.class.getResourceAsStream("/mock-providers.properties")) {
+            if (in != null) settings.load(in);
+        }
+        if (options.containsKey("config")) {
+            try (InputStream in = Files.newInputStream(Path.of(options.get("config")))) {
+                settings.load(in);
+            }
+        }
+        // -Dmock.<route>.<key>=<value> 가 가장 우선
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("mock."))
+                .forEach(name -> settings.setProperty(name.substring("mock.".length()), System.getProperty(name)));
+
+        Path recordingsDir = options.containsKey("recordings") ? Path.of(options.get("recordings")) : null;
+        new MockProviderServer(settings, recordingsDir).start(port);
+    }
+
+    public void start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 512);
+        // 지연 주입 중에는 요청마다 스레드가 대기하므로 고정 크기 풀 대신 캐시 풀 사용
+        server.setExecutor(Executors.newCachedThreadPool());
+
+        server.createContext("/clova/v3/chat-completions/", exchange -> handle(exchange, "clova-chat", this::clovaChat));
+        server.createContext("/clova/embedding", exchange -> handle(exchange, "clova-embedding", this::clovaEmbedding));
+        server.createContext("/clova/ocr", exchange -> handle(exchange, "clova-ocr", (ex, body) -> recording(ex, "clova-ocr")));
+        server.createContext("/upstage/v1/document-digitization", exchange -> handle(exchange, "upstage-ocr", (ex, body) -> recording(ex, "upstage-ocr")));
+        server.createContext("/upstage/v1/chat/completions", exchange -> handle(exchange, "upstage-chat", (ex, body) -> recording(ex, "upstage-chat")));
+
+        server.createContext("/kakao/auth/.well-known/jwks.json", exchange -> handle(exchange, "kakao-jwks", (ex, body) -> jwks(ex, KAKAO_KID)));
+        server.createContext("/kakao/auth/oauth/token", exchange -> handle(exchange, "kakao-token", this::kakaoToken));
+        server.createContext("/kakao/api/v2/user/me", exchange -> handle(exchange, "kakao-user", (ex, body) -> recording(ex, "kakao-user")));
+        server.createContext("/kakao/api/v1/user/unlink", exchange -> handle(exchange, "kakao-unlink", this::kakaoUnlink));
+        server.createContext("/apple/auth/keys", exchange -> handle(exchange, "apple-keys", (ex, body) -> jwks(ex, APPLE_KID)));
+        server.createContext("/apple/auth/token", exchange -> handle(exchange, "apple-token", this::appleToken));
+        server.createContext("/apple/auth/revoke", exchange -> handle(exchange, "apple-revoke", (ex, body) -> writeJson(ex, 200, "{}")));
+
+        server.createContext("/mock/id-token", this::mockIdToken);
+        server.createContext("/mock/faults", this::mockFaults);
+        server.createContext("/mock/stats", this::mockStats);
+
+        server.start();
+        System.out.println("[mock] 공급자 mock 서버 시작 - http://localhost:" + port);
+    }
+
+    // ==================== 공통 처리 ====================
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange, byte[] body) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, String route, Handler handler) throws IOException {
+        RouteStats routeStats = stats.computeIfAbsent(route, key -> new RouteStats());
+        routeStats.requests.incrementAndGet();
+        try (exchange) {
+            // 요청 본문을 끝까지 읽어 업로드 시간도 실제와 비슷하게 소모
+            byte[] body = exchange.getRequestBody().readAllBytes();
+
+            FaultProfile fault = fault(route);
+            sleep(fault.latencyMs + (fault.jitterMs > 0 ? ThreadLocalRandom.current().nextLong(fault.jitterMs + 1) : 0));
+            if (fault.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < fault.errorRate) {
+                routeStats.injectedErrors.incrementAndGet();
+                writeJson(exchange, fault.errorStatus, "{\"error\":{\"message\":\"mock injected error\",\"route\":\"" + route + "\"}}");
+                return;
+            }
+            handler.handle(exchange, body);
+        } catch (IOException e) {
+            // 클라이언트가 먼저 연결을 끊은 경우 (타임아웃 등)
+            routeStats.aborted.incrementAndGet();
+        }
+    }
+
+    private FaultProfile fault(String route) {
+        return faults.computeIfAbsent(route, key -> new FaultProfile(
+                setting(key, "latency-ms"),
+                setting(key, "jitter-ms"),
+                Double.parseDouble(settingValue(key, "error-rate", "0")),
+                (int) setting(key, "error-status"),
+                setting(key, "token-interval-ms")));
+    }
+
+    private long setting(String route, String key) {
+        return Long.parseLong(settingValue(route, key, "0"));
+    }
+
+    private String settingValue(String route, String key, String defaultValue) {
+        return settings.getProperty(route + "." + key, settings.getProperty("default." + key, defaultValue));
+    }
+
+    private void recording(HttpExchange exchange, String name) throws IOException {
+        writeJson(exchange, 200, loadRecording(name));
+    }
+
+    /**
+     * 녹화 응답 로드 (--recordings 디렉터리 우선, 없으면 jar 에 포함된 기본 녹화)
+     */
+    private byte[] loadRecording(String name) {
+        return recordings.computeIfAbsent(name, key -> {
+            try {
+                if (recordingsDir != null) {
+                    Path file = recordingsDir.resolve(key + ".json");
+                    if (Files.exists(file)) return Files.readAllBytes(file);
+                }
+                try (InputStream in = MockProviderServer.class.getResourceAsStream("/recordings/" + key + ".json")) {
+                    if (in == null) throw new IllegalStateException("녹화 응답 없음: " + key);
+                    return in.readAllBytes();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("녹화 응답 로드 실패: " + key, e);
+            }
+        });
+    }
+
+    // ==================== Clova Studio ====================
+
+    private void clovaChat(HttpExchange exchange, byte[] requestBody) throws IOException {
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        if (accept == null || !accept.contains("text/event-stream")) {
+            recording(exchange, "clova-chat");
+            return;
+        }
+
+        JsonNode recorded = MAPPER.readTree(loadRecording("clova-chat"));
+        String content = recorded.path("result").path("message").path("content").asText();
+        long interval = fault("clova-chat").tokenIntervalMs;
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        int id = 0;
+        // 실제 스트림처럼 어절 단위로 토큰 이벤트 전송
+        for (String token : content.split("(?<= )")) {
+            ObjectNode data = MAPPER.createObjectNode();
+            data.putObject("message").put("role", "assistant").put("content", token);
+            writeEvent(out, id++, "token", MAPPER.writeValueAsString(data));
+            sleep(interval);
+        }
+        ObjectNode result = MAPPER.createObjectNode();
+        result.putObject("message").put("role", "assistant").put("content", content);
+        result.put("stopReason", "stop_before");
+        writeEvent(out, id, "result", MAPPER.writeValueAsString(result));
+    }
+
+    private void writeEvent(OutputStream out, int id, String event, String data) throws IOException {
+        out.write(("id: " + id + "\nevent: " + event + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * 텍스트 해시로 시드를 고정한 정규화 벡터 (같은 텍스트는 항상 같은 임베딩이므로 RAG 검색 결과도 재현 가능)
+     */
+    private void clovaEmbedding(HttpExchange exchange, byte[] requestBody) throws IOException {
+        String text = body(requestBody).path("text").asText("");
+        Random random = new Random(text.hashCode());
+
+        double[] vector = new double[EMBEDDING_DIMENSION];
+        double norm = 0;
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        norm = Math.sqrt(norm);
+
+        ObjectNode response = MAPPER.createObjectNode();
+        response.putObject("status").put("code", "20000").put("message", "OK");
+        ObjectNode result = response.putObject("result");
+        ArrayNode embedding = result.putArray("embedding");
+        for (double value : vector) {
+            embedding.add((float) (value / norm));
+        }
+        result.put("inputTokens", Math.max(1, text.length() / 2));
+        writeJson(exchange, 200, MAPPER.writeValueAsBytes(response));
+    }
+
+    // ==================== Kakao / Apple ====================
+
+    private void jwks(HttpExchange exchange, String kid) throws IOException {
+        RSAPublicKey publicKey = (RSAPublicKey) signingKey.getPublic();
+        ObjectNode body = MAPPER.createObjectNode();
+        body.putArray("keys").addObject()
+                .put("kid", kid)
+                .put("kty", "RSA")
+                .put("alg", "RS256")
+                .put("use", "sig")
+                .put("n", base64Url(publicKey.getModulus()))
+                .put("e", base64Url(publicKey.getPublicExponent()));
+        writeJson(exchange, 200, MAPPER.writeValueAsBytes(body));
+    }
+
+    private void kakaoToken(HttpExchange exchange, byte[] requestBody) throws IOException {
+        JsonNode user = MAPPER.readTree(loadRecording("kakao-user"));
+        ObjectNode body = MAPPER.createObjectNode()
+                .put("token_type", "bearer")
+                .put("access_token", "mock-kakao-access-" + System.nanoTime())
+                .put("refresh_token", "mock-kakao-refresh-" + System.nanoTime())
+                .put("expires_in", 21599)
+                .put("refresh_token_expires_in", 5183999)
+                .put("scope", "openid account_email profile_nickname")
+                .put("id_token", idToken("kakao", user.path("id").asText(),
+                        user.path("kakao_account").path("email").asText(),
+                        user.path("kakao_account").path("profile").path("nickname").asText()));
+        writeJson(exchange, 200, MAPPER.writeValueAsBytes(body));
+    }
+
+    private void kakaoUnlink(HttpExchange exchange, byte[] requestBody) throws IOException {
+        JsonNode user = MAPPER.readTree(loadRecording("kakao-user"));
+        writeJson(exchange, 200, ("{\"id\":" + user.path("id").asLong() + "}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void appleToken(HttpExchange exchange, byte[] requestBody) throws IOException {
+        ObjectNode body = MAPPER.createObjectNode()
+                .put("token_type", "Bearer")
+                .put("access_token", "mock-apple-access-" + System.nanoTime())
+                .put("refresh_token", "mock-apple-refresh-" + System.nanoTime())
+                .put("expires_in", 3600)
+                .put("id_token", idToken("apple", "000000.mockappleuser.0000", "loadtest@privaterelay.appleid.com", null));
+        writeJson(exchange, 200, MAPPER.writeValueAsBytes(body));
+    }
+
+    private String idToken(String provider, String sub, String email, String nickname) {
+        boolean kakao = "kakao".equals(provider);
+        Instant now = Instant.now();
+        var builder = Jwts.builder()
+                .header().keyId(kakao ? KAKAO_KID : APPLE_KID).and()
+                .issuer(kakao ? "https://kauth.kakao.com" : "https://appleid.apple.com")
+                .subject(sub)
+                .audience().add("mock-client").and()
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)))
+                .claim("email", email);
+        if (nickname != null) {
+            builder.claim("nickname", nickname);
+        }
+        return builder.signWith(signingKey.getPrivate(), Jwts.SIG.RS256).compact();
+    }
+
+    // ==================== 제어용 엔드포인트 ====================
+
+    /**
+     * 로그인 부하용 ID Token 발급: GET /mock/id-token?provider=kakao|apple&sub=...
+     */
+    private void mockIdToken(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, String> query = query(exchange.getRequestURI());
+            String provider = query.getOrDefault("provider", "kakao");
+            String sub = query.getOrDefault("sub", String.valueOf(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L)));
+            String token = idToken(provider, sub, "user" + sub + "@loadtest.example.com", "user" + sub);
+            writeJson(exchange, 200, MAPPER.writeValueAsBytes(Map.of("id_token", token)));
+        }
+    }
+
+    /**
+     * 실행 중 장애 주입 변경: POST /mock/faults?route=upstage-chat&latency-ms=8000&error-rate=0.2
+     * route 를 생략하면 default 설정을 바꾸고 모든 route 의 현재 설정을 초기화한다.
+     */
+    private void mockFaults(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, String> query = query(exchange.getRequestURI());
+            if ("POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                String route = query.getOrDefault("route", "default");
+                for (String key : new String[]{"latency-ms", "jitter-ms", "error-rate", "error-status", "token-interval-ms"}) {
+                    if (query.containsKey(key)) {
+                        settings.setProperty(route + "." + key, query.get(key));
+                    }
+                }
+                if ("default".equals(route)) {
+                    faults.clear();
+                } else {
+                    faults.remove(route);
+                    fault(route);
+                }
+            }
+            Map<String, FaultProfile> current = new LinkedHashMap<>();
+            faults.keySet().stream().sorted().forEach(route -> current.put(route, fault(route)));
+            writeJson(exchange, 200, MAPPER.writeValueAsBytes(current));
+        }
+    }
+
+    private void mockStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, Map<String, Long>> body = new LinkedHashMap<>();
+            stats.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> body.put(entry.getKey(), Map.of(
+                    "requests", entry.getValue().requests.get(),
+                    "injectedErrors", entry.getValue().injectedErrors.get(),
+                    "aborted", entry.getValue().aborted.get())));
+            writeJson(exchange, 200, MAPPER.writeValueAsBytes(body));
+        }
+    }
+
+    // ==================== 유틸 ====================
+
+    private static JsonNode body(byte[] body) {
+        try {
+            return MAPPER.readTree(body);
+        } catch (IOException e) {
+            return MAPPER.createObjectNode();
+        }
+    }
+
+    private static void writeJson(HttpExchange exchange, int status, String body) throws IOException {
+        writeJson(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeJson(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // BigInteger 부호 바이트 제거
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] trimmed = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+            bytes = trimmed;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> result = new LinkedHashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) return result;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            result.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) continue;
+            String key = args[i].substring(2);
+            int eq = key.indexOf('=');
+            if (eq > 0) {
+                options.put(key.substring(0, eq), key.substring(eq + 1));
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(key, args[++i]);
+            } else {
+                options.put(key, "true");
+            }
+        }
+        return options;
+    }
+
+    public record FaultProfile(long latencyMs, long jitterMs, double errorRate, int errorStatus, long tokenIntervalMs) {
+    }
+
+    private static final class RouteStats {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong injectedErrors = new AtomicLong();
+        private final AtomicLong aborted = new AtomicLong();
+    }
+}
@@ -0,0 +1,144 @@
+package com.moa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 실행 설정
+ * 채팅 요청 중 외부 AI 호출(임베딩, RAG 검색)을 요청 스레드와 병렬로 처리하기 위한 Executor
+ * 및 임베딩 백필 워커, 영수증 일괄 처리, 영수증 분석 작업 전용 Executor
+ *
+ * spring.threads.virtual.enabled=true (JDK 21 이상) 이면 Tomcat 요청 처리와 함께
+ * 두 Executor 도 가상 스레드로 실행한다. 이때 스레드 풀 대신 동시 실행 수 제한으로 외부 API 호출량을 제어한다.
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class AsyncConfig {
+
+    @Value("${chat.executor.core-pool-size:8}")
+    private int corePoolSize;
+
+    @Value("${chat.executor.max-pool-size:32}")
+    private int maxPoolSize;
+
+    @Value("${chat.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${embedding.backfill.concurrency:4}")
+    private int backfillConcurrency;
+
+    @Value("${receipt.batch.pool-size:8}")
+    private int receiptBatchPoolSize;
+
+    @Value("${receipt.batch.queue-capacity:100}")
+    private int receiptBatchQueueCapacity;
+
+    @Value("${receipt.job.concurrency:4}")
+    private int receiptJobConcurrency;
+
+    @Bean(name = "chatTaskExecutor")
+    public AsyncTaskExecutor chatTaskExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("chatTaskExecutor - 가상 스레드 모드 (동시 실행 제한: {})", maxPoolSize);
+            return virtualThreadExecutor("chat-async-", maxPoolSize);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("chat-async-");
+        // 큐가 가득 차면 호출 스레드에서 직접 실행 (작업 유실 방지)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 임베딩 백필 전용 Executor
+     * 스레드 수(가상 스레드 모드에서는 동시 실행 제한)가 임베딩 API 동시 호출 수의 상한이 된다.
+     */
+    @Bean(name = "embeddingBackfillExecutor")
+    public AsyncTaskExecutor embeddingBackfillExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadExecutor("embedding-backfill-", backfillConcurrency);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(backfillConcurrency);
+        executor.setMaxPoolSize(backfillConcurrency);
+        executor.setThreadNamePrefix("embedding-backfill-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 영수증 일괄 처리 전용 Executor
+     * OCR/LLM 호출은 수 초씩 걸리므로 채팅 Executor(임베딩, RAG)와 분리하여 채팅 응답 지연에 영향을 주지 않는다.
+     */
+    @Bean(name = "receiptBatchExecutor")
+    public AsyncTaskExecutor receiptBatchExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadExecutor("receipt-batch-", receiptBatchPoolSize);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(receiptBatchPoolSize);
+        executor.setMaxPoolSize(receiptBatchPoolSize);
+        executor.setQueueCapacity(receiptBatchQueueCapacity);
+        executor.setThreadNamePrefix("receipt-batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 영수증 분석 작업 전용 Executor
+     * ReceiptJobWorker 가 동시 처리 수만큼만 제출하고 나머지는 DB 대기열에 두므로 큐는 두지 않는다.
+     */
+    @Bean(name = "receiptJobExecutor")
+    public AsyncTaskExecutor receiptJobExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadExecutor("receipt-job-", receiptJobConcurrency);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(receiptJobConcurrency);
+        executor.setMaxPoolSize(receiptJobConcurrency);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("receipt-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 작업마다 가상 스레드를 생성하는 Executor
+     * 제한을 초과한 작업은 제출한 스레드가 대기한다. (스레드 풀의 CallerRunsPolicy 와 같은 역압)
+     */
+    private SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
@@ -0,0 +1,24 @@
+package com.moa.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 조회 API HTTP 캐시(ETag / Last-Modified) 설정
+ * - 통계: 사용자 데이터 버전(user_data_version)으로 ETag 를 만들고, 같으면 조회 없이 304 를 반환한다.
+ * - 카테고리: 목록 내용으로 ETag 를 만들고, 목록은 인스턴스 메모리에 보관한다.
+ */
+@Configuration
+@Getter
+public class HttpCacheConfig {
+
+    @Value("${http.cache.enabled:true}")
+    private boolean enabled;
+
+    // 카테고리 목록 보관 시간
+    @Value("${http.cache.category-ttl:PT10M}")
+    private Duration categoryTtl;
+}
@@ -1,7 +1,12 @@
 package com.moa.config;
 
 import com.moa.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -9,6 +14,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -26,6 +32,10 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    // Actuator 전용 포트 (management.server.port, 외부에 노출하지 않는 내부망 포트)
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -42,6 +52,9 @@ public class SecurityConfig {
 
             // URL별 인증 설정
             .authorizeHttpRequests(auth -> auth
+                // 스트리밍(SSE) 응답 완료 시의 비동기 디스패치 (최초 요청에서 이미 인증됨)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // 공개 엔드포인트 (인증 불필요)
                 .requestMatchers(
                     "/",
@@ -63,6 +76,13 @@ public class SecurityConfig {
                     "/api/v1/notices/*"
                 ).permitAll()
 
+                // Actuator: health 는 공개, 그 외(metrics 등)는 관리 포트로 들어온 요청만 허용
+                // 앱 포트로는 로그인 사용자라도 조회 불가
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(new AndRequestMatcher(
+                    EndpointRequest.toAnyEndpoint(), this::isManagementPortRequest)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).denyAll()
+
                 // 그 외 모든 요청은 인증 필요
                 .anyRequest().authenticated()
             )
@@ -79,6 +99,10 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean isManagementPortRequest(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -98,7 +122,7 @@ public class SecurityConfig {
         configuration.setAllowedHeaders(Arrays.asList("*"));
 
         // 응답 헤더 노출 (클라이언트에서 읽을 수 있도록)
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag", "Last-Modified"));
 
         // 인증 정보 허용
         configuration.setAllowCredentials(true);
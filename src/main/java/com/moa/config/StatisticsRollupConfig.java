@@ -0,0 +1,33 @@
+package com.moa.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 월간 통계 집계 테이블(monthly_spending_rollup, monthly_emotion_rollup) 설정
+ * 거래 추가/수정/삭제 시 증감분을 반영하고, 통계 조회는 집계 테이블에서 바로 읽는다.
+ */
+@Configuration
+@Getter
+public class StatisticsRollupConfig {
+
+    // false 면 통계 조회를 원본 거래 테이블 집계 쿼리로 처리 (집계 테이블 갱신은 계속함)
+    @Value("${statistics.rollup.read-enabled:true}")
+    private boolean readEnabled;
+
+    // 기동 시 집계 테이블이 비어 있고 거래가 있으면 전체 재구성 (최초 배포 시 기존 데이터 반영)
+    @Value("${statistics.rollup.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // 정합성 검사: 주기마다 사용자 batch-size 명씩 순회하며 원본 집계와 비교
+    @Value("${statistics.rollup.check.enabled:true}")
+    private boolean checkEnabled;
+
+    @Value("${statistics.rollup.check.batch-size:50}")
+    private int checkBatchSize;
+
+    // 불일치 사용자는 바로 재구성
+    @Value("${statistics.rollup.check.repair:true}")
+    private boolean checkRepair;
+}
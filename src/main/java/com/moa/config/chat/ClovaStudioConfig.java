@@ -30,7 +30,8 @@ public class ClovaStudioConfig {
     @Value("${clova.studio.embedding-url}")
     private String embeddingUrl;
 
-    private String HCX007Url = "https://clovastudio.stream.ntruss.com/v3/chat-completions/HCX-007";
+    @Value("${clova.studio.hcx007-url:https://clovastudio.stream.ntruss.com/v3/chat-completions/HCX-007}")
+    private String HCX007Url;
 
     public static final String OCR_ANALYSIS_INSTRUCTION = """
             당신은 사용자의 금융 생활을 정리하고 마음을 위로해주는 ‘AI 가계부 비서’입니다.
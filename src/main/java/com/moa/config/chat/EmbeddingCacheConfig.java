@@ -0,0 +1,32 @@
+package com.moa.config.chat;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 임베딩 캐시 설정
+ * - local: 인스턴스 메모리 캐시 (Caffeine, 크기/TTL 제한)
+ * - shared: 인스턴스 간 공유 캐시 (PostgreSQL embedding_cache 테이블, 선택)
+ */
+@Configuration
+@Getter
+public class EmbeddingCacheConfig {
+
+    @Value("${embedding.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${embedding.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${embedding.cache.local.ttl:PT6H}")
+    private Duration localTtl;
+
+    @Value("${embedding.cache.shared.enabled:false}")
+    private boolean sharedEnabled;
+
+    @Value("${embedding.cache.shared.ttl:P7D}")
+    private Duration sharedTtl;
+}
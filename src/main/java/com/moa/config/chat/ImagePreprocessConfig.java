@@ -0,0 +1,37 @@
+package com.moa.config.chat;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OCR/LLM 전송 전 이미지 전처리 설정
+ * 긴 변 제한, 흑백 변환(OCR), JPEG 재압축 품질, 메타데이터 제거
+ */
+@Configuration
+@Getter
+public class ImagePreprocessConfig {
+
+    @Value("${image.preprocess.enabled:true}")
+    private boolean enabled;
+
+    // 긴 변 최대 픽셀 (영수증 글자가 읽히는 수준)
+    @Value("${image.preprocess.max-edge:2048}")
+    private int maxEdge;
+
+    // JPEG 재압축 품질 (0.0 ~ 1.0)
+    @Value("${image.preprocess.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    // OCR 용 이미지는 흑백으로 변환
+    @Value("${image.preprocess.grayscale-ocr:true}")
+    private boolean grayscaleOcr;
+
+    // 대화 모드(멀티모달) 이미지는 색상 유지
+    @Value("${image.preprocess.grayscale-chat:false}")
+    private boolean grayscaleChat;
+
+    // 이 크기 이하이면서 긴 변 제한 이내인 이미지는 그대로 전송
+    @Value("${image.preprocess.skip-below-bytes:204800}")
+    private long skipBelowBytes;
+}
@@ -0,0 +1,25 @@
+package com.moa.config.chat;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 영수증 OCR/구조화 결과 캐시 설정
+ * 같은 사용자가 같은 이미지를 다시 올린 경우 OCR 및 LLM 호출을 생략한다.
+ */
+@Configuration
+@Getter
+public class OcrCacheConfig {
+
+    @Value("${ocr.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ocr.cache.maximum-size:2000}")
+    private long maximumSize;
+
+    @Value("${ocr.cache.ttl:PT1H}")
+    private Duration ttl;
+}
@@ -0,0 +1,131 @@
+package com.moa.config.chat;
+
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * pgvector vector 타입 JDBC 바인딩 객체 (float[] 기반)
+ * - 바이너리: pgvector vector_send/vector_recv 형식 (int16 차원, int16 예약, float4 * 차원, big-endian)
+ * - 텍스트: '[1.0,2.0,...]' (바이너리 전송이 비활성화된 연결에서만 사용)
+ *
+ * 드라이버는 binaryTransferEnable 에 vector 타입 OID 가 등록된 연결에서만 바이너리 형식을 사용한다.
+ */
+public class PgVector extends PGobject implements PGBinaryObject {
+
+    public static final String TYPE_NAME = "vector";
+
+    private float[] vector;
+
+    public PgVector() {
+        this.type = TYPE_NAME;
+    }
+
+    public PgVector(float[] vector) {
+        this();
+        this.vector = vector;
+    }
+
+    public float[] toArray() {
+        return vector;
+    }
+
+    @Override
+    public boolean isNull() {
+        return vector == null;
+    }
+
+    // ===== 바이너리 형식 =====
+
+    @Override
+    public void setByteValue(byte[] value, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(value, offset, value.length - offset);
+        int dimensions = buffer.getShort();
+        buffer.getShort(); // unused
+        float[] result = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            result[i] = buffer.getFloat();
+        }
+        this.vector = result;
+    }
+
+    @Override
+    public int lengthInBytes() {
+        return vector == null ? 0 : 4 + vector.length * 4;
+    }
+
+    @Override
+    public void toBytes(byte[] bytes, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, lengthInBytes());
+        buffer.putShort((short) vector.length);
+        buffer.putShort((short) 0);
+        for (float v : vector) {
+            buffer.putFloat(v);
+        }
+    }
+
+    // ===== 텍스트 형식 =====
+
+    @Override
+    public void setValue(String value) throws SQLException {
+        this.vector = value == null ? null : parse(value);
+    }
+
+    @Override
+    public String getValue() {
+        return vector == null ? null : format(vector);
+    }
+
+    public static String format(float[] vector) {
+        StringBuilder sb = new StringBuilder(vector.length * 12 + 2);
+        sb.append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(vector[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    public static float[] parse(String value) {
+        int start = value.indexOf('[') + 1;
+        int end = value.lastIndexOf(']');
+        if (end <= start) {
+            return new float[0];
+        }
+
+        int dimensions = 1;
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == ',') {
+                dimensions++;
+            }
+        }
+
+        float[] result = new float[dimensions];
+        int index = 0;
+        int tokenStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || value.charAt(i) == ',') {
+                result[index++] = Float.parseFloat(value.substring(tokenStart, i).trim());
+                tokenStart = i + 1;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PgVector other)) return false;
+        return Arrays.equals(vector, other.vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(vector);
+    }
+}
@@ -0,0 +1,22 @@
+package com.moa.config.chat;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 영수증 일괄 처리 설정
+ * 요청 하나에 여러 장의 영수증 이미지를 받아 OCR/구조화를 병렬로 처리한다.
+ */
+@Configuration
+@Getter
+public class ReceiptBatchConfig {
+
+    // 요청당 최대 이미지 수
+    @Value("${receipt.batch.max-images:10}")
+    private int maxImages;
+
+    // 요청당 동시 처리 이미지 수 (전체 상한은 receiptBatchExecutor 스레드 수와 Upstage 벌크헤드)
+    @Value("${receipt.batch.concurrency:3}")
+    private int concurrency;
+}
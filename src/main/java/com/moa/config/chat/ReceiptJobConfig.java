@@ -0,0 +1,38 @@
+package com.moa.config.chat;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 영수증 분석 비동기 작업 설정
+ */
+@Configuration
+@Getter
+public class ReceiptJobConfig {
+
+    // 동시 처리 작업 수 (receiptJobExecutor 스레드 수)
+    @Value("${receipt.job.concurrency:4}")
+    private int concurrency;
+
+    // AI 공급자 차단 등 일시 장애 시 최대 시도 횟수
+    @Value("${receipt.job.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${receipt.job.retry-delay:PT30S}")
+    private Duration retryDelay;
+
+    // 처리 중 상태로 이 시간을 넘긴 작업은 중단된 것으로 보고 다시 대기열로 돌림 (재기동/장애 복구)
+    @Value("${receipt.job.processing-timeout:PT5M}")
+    private Duration processingTimeout;
+
+    // 완료/실패 작업 보관 기간
+    @Value("${receipt.job.retention:P1D}")
+    private Duration retention;
+
+    // 완료 이벤트(SSE) 최대 대기 시간 - 초과 시 현재 상태를 보내고 종료 (클라이언트는 조회 API 로 전환)
+    @Value("${receipt.job.event-timeout:PT60S}")
+    private Duration eventTimeout;
+}
@@ -0,0 +1,30 @@
+package com.moa.config.chat;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 영수증 구조화 프롬프트 설정
+ * 시스템 프롬프트는 하루 한 번만 렌더링하고, OCR 텍스트는 잡음 줄을 걸러 입력 토큰 예산 안으로 맞춘다.
+ */
+@Configuration
+@Getter
+public class ReceiptPromptConfig {
+
+    // 시스템 프롬프트 + 사용자 메시지 + OCR 텍스트의 예상 입력 토큰 상한 (초과분은 OCR 뒷부분, 사용자 메시지 뒷부분을 생략)
+    @Value("${receipt.prompt.max-input-tokens:6000}")
+    private int maxInputTokens;
+
+    // 예산 중 OCR 줄에 남겨 두는 최소 비중 (사용자 메시지가 길어도 OCR 줄이 모두 생략되지 않도록)
+    @Value("${receipt.prompt.min-ocr-share:0.5}")
+    private double minOcrShare;
+
+    // 상태 표시줄, 시각, 잔액, 버튼 문구 등 OCR 잡음 줄 제거
+    @Value("${receipt.prompt.ocr-noise-filter:true}")
+    private boolean ocrNoiseFilter;
+
+    // 시스템 프롬프트의 구분선/연속 빈 줄 제거
+    @Value("${receipt.prompt.compact-instruction:true}")
+    private boolean compactInstruction;
+}
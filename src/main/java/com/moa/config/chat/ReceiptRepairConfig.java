@@ -0,0 +1,25 @@
+package com.moa.config.chat;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 영수증 구조화 응답 보정 설정
+ * 스키마에 맞지 않는 필드만 골라 작은 보정 요청을 보내고, OCR + 전체 구조화 요청은 다시 하지 않는다.
+ */
+@Configuration
+@Getter
+public class ReceiptRepairConfig {
+
+    // false 면 로컬 보정(기본값 대체)만 하고 LLM 보정 요청은 보내지 않는다.
+    @Value("${receipt.repair.enabled:true}")
+    private boolean enabled;
+
+    @Value("${receipt.repair.model:solar-pro2}")
+    private String model;
+
+    // 보정 프롬프트에 넣는 원문(사용자 메시지 + OCR 텍스트) 최대 길이
+    @Value("${receipt.repair.max-source-chars:4000}")
+    private int maxSourceChars;
+}
@@ -14,6 +14,9 @@ public class UpstageConfig {
     @Value("${UPSTAGE_SECRET_KEY}")
     private String key;
 
-    private String ocrUri = "https://api.upstage.ai/v1/document-digitization";
-    private String chatUri = "https://api.upstage.ai/v1/chat/completions";
+    @Value("${upstage.ocr-uri:https://api.upstage.ai/v1/document-digitization}")
+    private String ocrUri;
+
+    @Value("${upstage.chat-uri:https://api.upstage.ai/v1/chat/completions}")
+    private String chatUri;
 }
@@ -0,0 +1,62 @@
+package com.moa.config.chat;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RAG 벡터 검색 설정
+ * ai_chatting_log.embedding_vector 의 ANN 인덱스(HNSW/IVFFlat) 및 검색 파라미터
+ */
+@Configuration
+@Getter
+public class VectorSearchConfig {
+
+    public static final String INDEX_TYPE_HNSW = "hnsw";
+    public static final String INDEX_TYPE_IVFFLAT = "ivfflat";
+
+    // 인덱스 관리
+    @Value("${rag.vector-index.enabled:true}")
+    private boolean indexEnabled;
+
+    @Value("${rag.vector-index.type:hnsw}")
+    private String indexType;
+
+    @Value("${rag.vector-index.hnsw.m:16}")
+    private int hnswM;
+
+    @Value("${rag.vector-index.hnsw.ef-construction:64}")
+    private int hnswEfConstruction;
+
+    @Value("${rag.vector-index.ivfflat.lists:100}")
+    private int ivfflatLists;
+
+    // 검색 파라미터
+    @Value("${rag.search.ef-search:40}")
+    private int efSearch;
+
+    @Value("${rag.search.probes:10}")
+    private int probes;
+
+    /**
+     * ANN 반복 스캔 모드 (pgvector 0.8+: off | relaxed_order | strict_order, 빈 값이면 설정하지 않음)
+     * 인덱스는 전체 사용자 대상이라 user_id 필터가 스캔 후에 적용되므로,
+     * 반복 스캔이 없으면 대화 비중이 작은 사용자는 ef_search/probes 만큼의 후보에서 결과가 거의 남지 않는다.
+     */
+    @Value("${rag.search.iterative-scan:relaxed_order}")
+    private String iterativeScan;
+
+    public boolean isIterativeScanEnabled() {
+        return iterativeScan != null && !iterativeScan.isBlank() && !"off".equalsIgnoreCase(iterativeScan);
+    }
+
+    /**
+     * 임베딩된 대화 수가 이 값 이하인 사용자는 정확 검색(Exact) 사용
+     */
+    @Value("${rag.search.exact-threshold:500}")
+    private long exactThreshold;
+
+    public boolean isHnsw() {
+        return INDEX_TYPE_HNSW.equalsIgnoreCase(indexType);
+    }
+}
@@ -2,18 +2,22 @@ package com.moa.config.chat;
 
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.usertype.UserType;
+import org.postgresql.PGConnection;
+import org.postgresql.util.PGobject;
 
 import java.io.Serializable;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
 
 /**
  * PostgreSQL vector 타입을 위한 Hibernate UserType
- * String <-> vector 변환 처리
+ * float[] <-> vector 변환 처리 (PgVector 를 통해 바인딩, 문자열 변환 없음)
  */
-public class VectorType implements UserType<String> {
+public class VectorType implements UserType<float[]> {
 
     @Override
     public int getSqlType() {
@@ -21,59 +25,85 @@ public class VectorType implements UserType<String> {
     }
 
     @Override
-    public Class<String> returnedClass() {
-        return String.class;
+    public Class<float[]> returnedClass() {
+        return float[].class;
     }
 
     @Override
-    public boolean equals(String x, String y) {
-        return x == null ? y == null : x.equals(y);
+    public boolean equals(float[] x, float[] y) {
+        return Arrays.equals(x, y);
     }
 
     @Override
-    public int hashCode(String x) {
-        return x == null ? 0 : x.hashCode();
+    public int hashCode(float[] x) {
+        return Arrays.hashCode(x);
     }
 
     @Override
-    public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+    public float[] nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
             throws SQLException {
-        String value = rs.getString(position);
-        return rs.wasNull() ? null : value;
+        registerVectorType(rs.getStatement().getConnection());
+        return toArray(rs.getObject(position));
     }
 
     @Override
-    public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+    public void nullSafeSet(PreparedStatement st, float[] value, int index, SharedSessionContractImplementor session)
             throws SQLException {
         if (value == null) {
             st.setNull(index, Types.OTHER);
         } else {
-            st.setObject(index, value, Types.OTHER);
+            st.setObject(index, new PgVector(value));
         }
     }
 
     @Override
-    public String deepCopy(String value) {
-        return value;
+    public float[] deepCopy(float[] value) {
+        return value == null ? null : value.clone();
     }
 
     @Override
     public boolean isMutable() {
-        return false;
+        return true;
     }
 
     @Override
-    public Serializable disassemble(String value) {
-        return value;
+    public Serializable disassemble(float[] value) {
+        return deepCopy(value);
     }
 
     @Override
-    public String assemble(Serializable cached, Object owner) {
-        return (String) cached;
+    public float[] assemble(Serializable cached, Object owner) {
+        return deepCopy((float[]) cached);
     }
 
     @Override
-    public String replace(String detached, String managed, Object owner) {
-        return detached;
+    public float[] replace(float[] detached, float[] managed, Object owner) {
+        return deepCopy(detached);
+    }
+
+    /**
+     * 조회 결과 객체를 float[] 로 변환
+     * PgVector 가 등록된 연결이면 드라이버가 바로 PgVector 를 생성한다.
+     */
+    public static float[] toArray(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof PgVector vector) {
+            return vector.toArray();
+        }
+        if (value instanceof PGobject object) {
+            return object.getValue() == null ? null : PgVector.parse(object.getValue());
+        }
+        return PgVector.parse(value.toString());
+    }
+
+    /**
+     * 연결에 vector 타입 매핑 등록 (이후 getObject 가 PgVector 를 반환)
+     */
+    public static void registerVectorType(Connection connection) throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            connection.unwrap(PGConnection.class).addDataType(PgVector.TYPE_NAME, PgVector.class);
+        }
     }
 }
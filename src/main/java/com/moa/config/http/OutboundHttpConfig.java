@@ -0,0 +1,108 @@
+package com.moa.config.http;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 호출용 WebClient 설정
+ * 공급자별로 커넥션 풀(keep-alive)과 타임아웃을 분리하여, 느린 공급자가 다른 호출의 커넥션을 점유하지 않도록 한다.
+ * - clovaWebClient: Clova Studio (LLM, 임베딩), Clova OCR
+ * - upstageWebClient: Upstage (LLM, OCR)
+ * - kakaoWebClient / appleWebClient: OAuth, 공개키 조회
+ * 풀/요청 메트릭: reactor.netty.connection.provider.*, reactor.netty.http.client.* (name=공급자)
+ */
+@Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+@Slf4j
+public class OutboundHttpConfig implements DisposableBean {
+
+    private final OutboundHttpProperties properties;
+    private final WebClient.Builder webClientBuilder;
+    private final List<ConnectionProvider> connectionProviders = new CopyOnWriteArrayList<>();
+
+    public OutboundHttpConfig(OutboundHttpProperties properties, WebClient.Builder webClientBuilder) {
+        this.properties = properties;
+        this.webClientBuilder = webClientBuilder;
+    }
+
+    @Bean
+    public WebClient clovaWebClient() {
+        return createWebClient("clova");
+    }
+
+    @Bean
+    public WebClient upstageWebClient() {
+        return createWebClient("upstage");
+    }
+
+    @Bean
+    public WebClient kakaoWebClient() {
+        return createWebClient("kakao");
+    }
+
+    @Bean
+    public WebClient appleWebClient() {
+        return createWebClient("apple");
+    }
+
+    private WebClient createWebClient(String provider) {
+        OutboundHttpProperties.Pool pool = properties.resolve(provider);
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(provider)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                // 유휴 커넥션을 주기적으로 정리 (서버 측에서 먼저 끊은 커넥션 재사용 방지)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+        connectionProviders.add(connectionProvider);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(Boolean.TRUE.equals(pool.getHttp2())
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(pool.getResponseTimeout())
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(pool.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(pool.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)))
+                // 쿼리스트링 제거로 메트릭 태그 카디널리티 제한
+                .metrics(true, uri -> {
+                    int query = uri.indexOf('?');
+                    return query < 0 ? uri : uri.substring(0, query);
+                });
+
+        log.info("외부 HTTP 클라이언트 생성 - {}: maxConnections={}, connectTimeout={}, responseTimeout={}, http2={}",
+                provider, pool.getMaxConnections(), pool.getConnectTimeout(), pool.getResponseTimeout(), pool.getHttp2());
+
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) pool.getMaxInMemorySize().toBytes()))
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+    }
+}
@@ -0,0 +1,72 @@
+package com.moa.config.http;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 외부 HTTP 호출 설정 (outbound.http.*)
+ * defaults 를 기본값으로 사용하고, providers.<이름> 에 지정한 항목만 덮어쓴다.
+ */
+@ConfigurationProperties(prefix = "outbound.http")
+@Getter
+@Setter
+public class OutboundHttpProperties {
+
+    private Pool defaults = new Pool();
+
+    private Map<String, Pool> providers = new HashMap<>();
+
+    /**
+     * 공급자별 설정 (지정하지 않은 항목은 defaults 값)
+     */
+    public Pool resolve(String provider) {
+        Pool override = providers.get(provider);
+        if (override == null) {
+            return defaults;
+        }
+        Pool resolved = new Pool();
+        resolved.setMaxConnections(override.getMaxConnections() != null ? override.getMaxConnections() : defaults.getMaxConnections());
+        resolved.setPendingAcquireMaxCount(override.getPendingAcquireMaxCount() != null ? override.getPendingAcquireMaxCount() : defaults.getPendingAcquireMaxCount());
+        resolved.setPendingAcquireTimeout(override.getPendingAcquireTimeout() != null ? override.getPendingAcquireTimeout() : defaults.getPendingAcquireTimeout());
+        resolved.setMaxIdleTime(override.getMaxIdleTime() != null ? override.getMaxIdleTime() : defaults.getMaxIdleTime());
+        resolved.setMaxLifeTime(override.getMaxLifeTime() != null ? override.getMaxLifeTime() : defaults.getMaxLifeTime());
+        resolved.setConnectTimeout(override.getConnectTimeout() != null ? override.getConnectTimeout() : defaults.getConnectTimeout());
+        resolved.setResponseTimeout(override.getResponseTimeout() != null ? override.getResponseTimeout() : defaults.getResponseTimeout());
+        resolved.setReadTimeout(override.getReadTimeout() != null ? override.getReadTimeout() : defaults.getReadTimeout());
+        resolved.setWriteTimeout(override.getWriteTimeout() != null ? override.getWriteTimeout() : defaults.getWriteTimeout());
+        resolved.setHttp2(override.getHttp2() != null ? override.getHttp2() : defaults.getHttp2());
+        resolved.setMaxInMemorySize(override.getMaxInMemorySize() != null ? override.getMaxInMemorySize() : defaults.getMaxInMemorySize());
+        return resolved;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        // 커넥션 풀
+        private Integer maxConnections = 50;
+        private Integer pendingAcquireMaxCount = 200;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        // 타임아웃
+        private Duration connectTimeout = Duration.ofSeconds(3);
+        /** 요청 전송 후 응답 수신까지 (수신 중 읽기 간격에도 적용) */
+        private Duration responseTimeout = Duration.ofSeconds(30);
+        private Duration readTimeout = Duration.ofSeconds(30);
+        private Duration writeTimeout = Duration.ofSeconds(10);
+
+        /** TLS(ALPN) 지원 시 HTTP/2 사용, 아니면 HTTP/1.1 */
+        private Boolean http2 = true;
+
+        /** 응답 본문 최대 버퍼 크기 (OCR 응답 등) */
+        private DataSize maxInMemorySize = DataSize.ofMegabytes(10);
+    }
+}
@@ -23,35 +23,30 @@ public class AppleOAuthConfig {
     @Value("${apple.redirect.uri}")
     private String redirectUri;
 
-    // Apple OAuth 인증 URL
-    private static final String APPLE_AUTH_URL = "https://appleid.apple.com/auth/authorize";
-
-    // Apple 토큰 발급 URL
-    private static final String APPLE_TOKEN_URL = "https://appleid.apple.com/auth/token";
-
-    // Apple 토큰 Revoke URL
-    private static final String APPLE_REVOKE_URL = "https://appleid.apple.com/auth/revoke";
-
-    // Apple 공개키 URL
-    private static final String APPLE_PUBLIC_KEY_URL = "https://appleid.apple.com/auth/keys";
+    // Apple 인증 서버 (부하 테스트 시 mock 서버로 교체)
+    @Value("${apple.base-url:https://appleid.apple.com}")
+    private String baseUrl;
 
     public String getAuthorizationUrl() {
-        return APPLE_AUTH_URL + "?client_id=" + clientId
+        return baseUrl + "/auth/authorize" + "?client_id=" + clientId
                 + "&redirect_uri=" + redirectUri
                 + "&response_type=code"
                 + "&response_mode=form_post"
                 + "&scope=name email";
     }
 
+    // Apple 토큰 발급 URL
     public String getTokenUrl() {
-        return APPLE_TOKEN_URL;
+        return baseUrl + "/auth/token";
     }
 
+    // Apple 토큰 Revoke URL
     public String getRevokeUrl() {
-        return APPLE_REVOKE_URL;
+        return baseUrl + "/auth/revoke";
     }
 
+    // Apple 공개키 URL
     public String getPublicKeyUrl() {
-        return APPLE_PUBLIC_KEY_URL;
+        return baseUrl + "/auth/keys";
     }
 }
@@ -20,26 +20,37 @@ public class KakaoOAuthConfig {
     @Value("${kakao.admin.key}")
     private String adminKey;
 
-    // 카카오 OAuth 인증 URL
-    private static final String KAKAO_AUTH_URL = "https://kauth.kakao.com/oauth/authorize";
+    // 카카오 인증 서버 (부하 테스트 시 mock 서버로 교체)
+    @Value("${kakao.auth.base-url:https://kauth.kakao.com}")
+    private String authBaseUrl;
 
-    // 카카오 토큰 발급 URL
-    private static final String KAKAO_TOKEN_URL = "https://kauth.kakao.com/oauth/token";
-
-    // 카카오 사용자 정보 조회 URL
-    private static final String KAKAO_USER_INFO_URL = "https://kapi.kakao.com/v2/user/me";
+    // 카카오 API 서버 (부하 테스트 시 mock 서버로 교체)
+    @Value("${kakao.api.base-url:https://kapi.kakao.com}")
+    private String apiBaseUrl;
 
     public String getAuthorizationUrl() {
-        return KAKAO_AUTH_URL + "?client_id=" + clientId
+        return authBaseUrl + "/oauth/authorize" + "?client_id=" + clientId
                 + "&redirect_uri=" + redirectUri
                 + "&response_type=code";
     }
 
+    // 카카오 토큰 발급 URL
     public String getTokenUrl() {
-        return KAKAO_TOKEN_URL;
+        return authBaseUrl + "/oauth/token";
     }
 
+    // 카카오 ID Token 서명 공개키 URL
+    public String getJwksUrl() {
+        return authBaseUrl + "/.well-known/jwks.json";
+    }
+
+    // 카카오 사용자 정보 조회 URL
     public String getUserInfoUrl() {
-        return KAKAO_USER_INFO_URL;
+        return apiBaseUrl + "/v2/user/me";
+    }
+
+    // 카카오 연결 끊기 URL
+    public String getUnlinkUrl() {
+        return apiBaseUrl + "/v1/user/unlink";
     }
 }
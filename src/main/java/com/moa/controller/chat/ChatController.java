@@ -1,25 +1,43 @@
 package com.moa.controller.chat;
 
 import com.moa.annotation.CurrentUserId;
+import com.moa.config.chat.ReceiptBatchConfig;
 import com.moa.dto.chat.ChatHistoryResponse;
+import com.moa.dto.chat.ReceiptBatchItemResponse;
+import com.moa.dto.chat.ReceiptJobResponse;
 import com.moa.dto.chat.ReceiptResponse;
+import com.moa.dto.chat.VectorSearchReportResponse;
 import com.moa.entity.ChatModeType;
+import com.moa.exception.AiProviderUnavailableException;
 import com.moa.exception.InvalidImageException;
+import com.moa.exception.ReceiptJobNotFoundException;
 import com.moa.reponse.AiReceiptResponse;
 import com.moa.service.chat.ChatService;
+import com.moa.service.chat.ChatStreamService;
+import com.moa.service.chat.ReceiptJobService;
 import com.moa.service.chat.TransactionService;
+import com.moa.service.chat.VectorSearchService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * AI 채팅 컨트롤러
@@ -33,7 +51,12 @@ import java.util.Map;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatStreamService chatStreamService;
     private final TransactionService transactionService;
+    private final VectorSearchService vectorSearchService;
+    private final ReceiptBatchConfig receiptBatchConfig;
+    private final ReceiptJobService receiptJobService;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
 
     @PostMapping(value = "/send", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "AI 챗봇에게 메시지 전송",
@@ -84,12 +107,186 @@ public class ChatController {
             log.warn("이미지 검증 실패: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ReceiptResponse.builder().message(e.getMessage()).build());
+        } catch (AiProviderUnavailableException e) {
+            // 서킷브레이커 OPEN 또는 동시 호출 한도 초과 - 외부 호출 없이 즉시 응답
+            log.warn("AI 공급자 {} 호출 차단: {}", e.getProvider(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getProvider()))
+                    .body(ReceiptResponse.builder().message(e.getMessage()).build());
         } catch (Exception e) {
             log.error("메시지 전송 실패: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    @PostMapping(value = "/send/receipts", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "영수증 일괄 전송",
+            description = "여러 장의 영수증 이미지를 한 번에 전송합니다. 이미지별로 병렬 처리하여 순서대로 결과를 반환합니다." +
+                    "status: SUCCESS, UNAVAILABLE(잠시 후 재시도), FAILED")
+    public ResponseEntity<List<ReceiptBatchItemResponse>> sendReceiptBatch(
+            @CurrentUserId Long userId,
+            @RequestPart(value = "message", required = false) String message,
+            @RequestPart("images") List<MultipartFile> images) {
+
+        if (images == null || images.isEmpty() || images.size() > receiptBatchConfig.getMaxImages()) {
+            String errorMessage = "이미지는 1장 이상 " + receiptBatchConfig.getMaxImages() + "장 이하로 전송해야 합니다.";
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(List.of(ReceiptBatchItemResponse.builder()
+                            .status(ReceiptBatchItemResponse.Status.FAILED)
+                            .message(errorMessage)
+                            .build()));
+        }
+
+        for (int i = 0; i < images.size(); i++) {
+            try {
+                validateImage(images.get(i));
+            } catch (InvalidImageException e) {
+                log.warn("이미지 검증 실패 - {}번: {}", i, e.getMessage());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(List.of(ReceiptBatchItemResponse.builder()
+                                .index(i)
+                                .fileName(images.get(i).getOriginalFilename())
+                                .status(ReceiptBatchItemResponse.Status.FAILED)
+                                .message(e.getMessage())
+                                .build()));
+            }
+        }
+
+        try {
+            log.info("사용자 {} 영수증 일괄 전송 요청 - 이미지 수: {}", userId, images.size());
+            List<ReceiptBatchItemResponse> response = chatService.sendReceiptBatch(userId, message, images);
+
+            // 모든 이미지가 공급자 차단으로 실패한 경우에만 503 (일부 성공은 이미지별 상태로 전달)
+            boolean allUnavailable = response.stream()
+                    .allMatch(item -> item.getStatus() == ReceiptBatchItemResponse.Status.UNAVAILABLE);
+            if (allUnavailable) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(null))
+                        .body(response);
+            }
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("영수증 일괄 전송 실패: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @PostMapping(value = "/receipt-jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "영수증 분석 작업 등록",
+            description = "영수증 이미지를 등록하고 바로 작업 ID 를 반환합니다. (202)" +
+                    "결과는 작업 조회 또는 작업 이벤트(SSE)로 확인합니다.")
+    public ResponseEntity<ReceiptJobResponse> submitReceiptJob(
+            @CurrentUserId Long userId,
+            @RequestPart(value = "message", required = false) String message,
+            @RequestPart("image") MultipartFile image) {
+        try {
+            validateImage(image);
+
+            ReceiptJobResponse response = receiptJobService.submit(userId, message, image);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/chat/receipt-jobs/" + response.getJobId()))
+                    .body(response);
+        } catch (InvalidImageException e) {
+            log.warn("이미지 검증 실패: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ReceiptJobResponse.builder().errorMessage(e.getMessage()).build());
+        } catch (Exception e) {
+            log.error("영수증 분석 작업 등록 실패: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/receipt-jobs/{jobId}")
+    @Operation(summary = "영수증 분석 작업 조회", description = "status: QUEUED, PROCESSING, COMPLETED(result 포함), FAILED")
+    public ResponseEntity<ReceiptJobResponse> getReceiptJob(
+            @CurrentUserId Long userId,
+            @PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(receiptJobService.getJob(userId, jobId));
+        } catch (ReceiptJobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (Exception e) {
+            log.error("영수증 분석 작업 조회 실패: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping(value = "/receipt-jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "영수증 분석 작업 이벤트 (SSE)",
+            description = "현재 상태를 보낸 뒤 완료(completed) 또는 실패(failed) 시 결과를 보내고 종료합니다. " +
+                    "대기 시간을 넘기면 그 시점의 상태를 보내고 종료하므로 작업 조회로 이어서 확인합니다.")
+    public Flux<ServerSentEvent<ReceiptJobResponse>> watchReceiptJob(
+            @CurrentUserId Long userId,
+            @PathVariable String jobId) {
+        try {
+            return receiptJobService.watchJob(userId, jobId)
+                    .map(job -> ServerSentEvent.<ReceiptJobResponse>builder()
+                            .event(job.getStatus().name().toLowerCase())
+                            .data(job)
+                            .build())
+                    .onErrorResume(e -> {
+                        log.error("영수증 분석 작업 이벤트 전송 실패: {}", e.getMessage(), e);
+                        return Mono.just(ServerSentEvent.<ReceiptJobResponse>builder().event("error").build());
+                    });
+        } catch (ReceiptJobNotFoundException e) {
+            return Flux.just(ServerSentEvent.<ReceiptJobResponse>builder()
+                    .event("error")
+                    .data(ReceiptJobResponse.builder().jobId(jobId).errorMessage(e.getMessage()).build())
+                    .build());
+        }
+    }
+
+    @PostMapping(value = "/send/stream",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "AI 챗봇에게 메시지 전송 (스트리밍)",
+            description = "대화모드 응답을 생성되는 대로 Server-Sent Events 로 전송합니다. (이미지는 선택)" +
+                    "event: token(응답 조각), done(완료), error(실패)")
+    public Flux<ServerSentEvent<String>> streamMessage(
+            @CurrentUserId Long userId,
+            @RequestPart(value = "message", required = false) String message,
+            @RequestPart(value = "image", required = false) MultipartFile image) {
+
+        if (image == null && message == null) {
+            return Flux.just(ServerSentEvent.<String>builder()
+                    .event("error")
+                    .data("이미지나 메시지 중 하나는 필요해.")
+                    .build());
+        }
+
+        try {
+            if (image != null) {
+                validateImage(image);
+            }
+
+            log.info("사용자 {} 스트리밍 메시지 전송 요청: {}, 이미지 첨부: {}", userId, message, image != null);
+
+            return chatStreamService.streamMessage(userId, message, image)
+                    .map(token -> ServerSentEvent.<String>builder().event("token").data(token).build())
+                    .concatWith(Mono.just(ServerSentEvent.<String>builder().event("done").data("").build()))
+                    .onErrorResume(AiProviderUnavailableException.class, e -> {
+                        log.warn("AI 공급자 {} 호출 차단: {}", e.getProvider(), e.getMessage());
+                        return Mono.just(ServerSentEvent.<String>builder().event("error").data(e.getMessage()).build());
+                    })
+                    .onErrorResume(e -> {
+                        log.error("스트리밍 메시지 전송 실패: {}", e.getMessage(), e);
+                        return Mono.just(ServerSentEvent.<String>builder()
+                                .event("error")
+                                .data("채팅 처리 중 오류가 발생했습니다.")
+                                .build());
+                    });
+        } catch (InvalidImageException e) {
+            log.warn("이미지 검증 실패: {}", e.getMessage());
+            return Flux.just(ServerSentEvent.<String>builder().event("error").data(e.getMessage()).build());
+        } catch (Exception e) {
+            log.error("스트리밍 메시지 전송 실패: {}", e.getMessage(), e);
+            return Flux.just(ServerSentEvent.<String>builder()
+                    .event("error")
+                    .data("채팅 처리 중 오류가 발생했습니다.")
+                    .build());
+        }
+    }
+
     private void validateImage(MultipartFile image) {
         // 크기 검증 (최대 5MB)
         if (image.getSize() > 5 * 1024 * 1024) {
@@ -139,6 +336,21 @@ public class ChatController {
         }
     }
 
+    @GetMapping("/rag/report")
+    @Operation(summary = "RAG 검색 품질 리포트", description = "최근 대화를 질의로 사용하여 정확 검색 대비 ANN 검색의 재현율과 지연시간을 비교합니다. sampleSize 최대 50, limit 최대 20")
+    public ResponseEntity<VectorSearchReportResponse> getRagSearchReport(
+            @CurrentUserId Long userId,
+            @RequestParam(defaultValue = "20") int sampleSize,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            log.info("사용자 {} RAG 검색 리포트 요청 - 샘플: {}, limit: {}", userId, sampleSize, limit);
+            return ResponseEntity.ok(vectorSearchService.buildRecallReport(userId, sampleSize, limit));
+        } catch (Exception e) {
+            log.error("RAG 검색 리포트 생성 실패: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     @GetMapping("/greetingByTime")
     @Operation(summary = "시간대별 인사", description = "캐릭터의 시간대별 인사 메시지를 반환합니다.")
     public ResponseEntity<ChatHistoryResponse> getGreetingByTime(@CurrentUserId Long userId) {
@@ -150,4 +362,19 @@ public class ChatController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
+
+    /**
+     * AI 공급자 차단(503) 시 재시도 권장 시간 (서킷브레이커 OPEN 대기 시간, 초)
+     * 공급자를 알 수 없으면 (일괄 요청) 등록된 서킷브레이커 중 가장 긴 대기 시간을 사용한다.
+     */
+    private String retryAfterSeconds(String provider) {
+        Stream<CircuitBreakerConfig> configs = provider != null
+                ? circuitBreakerRegistry.find(provider).map(CircuitBreaker::getCircuitBreakerConfig).stream()
+                : circuitBreakerRegistry.getAllCircuitBreakers().stream().map(CircuitBreaker::getCircuitBreakerConfig);
+        long waitMillis = configs
+                .mapToLong(config -> config.getWaitIntervalFunctionInOpenState().apply(1))
+                .max()
+                .orElseGet(() -> circuitBreakerRegistry.getDefaultConfig().getWaitIntervalFunctionInOpenState().apply(1));
+        return String.valueOf(Math.max(1, (waitMillis + 999) / 1000));
+    }
 }
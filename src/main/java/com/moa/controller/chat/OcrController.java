@@ -1,6 +1,7 @@
 package com.moa.controller.chat;
 
 import com.moa.service.OcrService;
+import com.moa.service.image.ImagePreprocessor;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -19,6 +20,7 @@ import java.io.IOException;
 @Tag(name = "OCR", description = "OCR TEST API")
 public class OcrController {
     private final OcrService ocrService;
+    private final ImagePreprocessor imagePreprocessor;
 
     @PostMapping(path = "/clova", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<String> extractTransaction(
@@ -31,7 +33,7 @@ public class OcrController {
     public ResponseEntity<String> UpstageOcrTest(
             @RequestPart("file") MultipartFile file
     ) throws IOException {
-        return ResponseEntity.ok().body(ocrService.upstageOcr(file));
+        return ResponseEntity.ok().body(ocrService.upstageOcr(imagePreprocessor.prepare(file, ImagePreprocessor.Purpose.OCR)));
     }
 
 }
@@ -1,14 +1,17 @@
 package com.moa.controller.finance;
 
+import com.moa.config.HttpCacheConfig;
 import com.moa.dto.CategoryResponse;
 import com.moa.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,12 +21,24 @@ import java.util.List;
 @Tag(name = "CATEGORY API", description = "카테고리 조회 API")
 public class CategoryController {
     private final CategoryService categoryService;
+    private final HttpCacheConfig httpCacheConfig;
 
-    @Operation(summary = "카테고리 조회", description = "전체 카테고리 조회")
+    @Operation(summary = "카테고리 조회", description = "전체 카테고리 조회 (If-None-Match 가 현재 ETag 와 같으면 304)")
     @GetMapping
-    ResponseEntity<List<CategoryResponse>> getCategories() {
+    ResponseEntity<List<CategoryResponse>> getCategories(WebRequest webRequest) {
+        if (!httpCacheConfig.isEnabled()) {
+            return ResponseEntity
+                    .ok()
+                    .body(categoryService.getCategories());
+        }
+
+        CategoryService.CategoryCatalog catalog = categoryService.getCategoryCatalog();
+        if (webRequest.checkNotModified(catalog.etag())) {
+            return null;
+        }
         return ResponseEntity
                 .ok()
-                .body(categoryService.getCategories());
+                .cacheControl(CacheControl.noCache())
+                .body(catalog.categories());
     }
 }
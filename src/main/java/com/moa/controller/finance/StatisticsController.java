@@ -1,22 +1,28 @@
 package com.moa.controller.finance;
 
 import com.moa.annotation.CurrentUserId;
+import com.moa.config.HttpCacheConfig;
 import com.moa.dto.MonthlyCategoryExpenseWithGroupResponse;
 import com.moa.dto.response.MonthlyCategoryExpenseResponse;
+import com.moa.dto.response.MonthlyDashboardResponse;
 import com.moa.dto.response.MonthlyEmotionPercentageResponse;
 import com.moa.dto.response.MonthlyEmotionStatisticsResponse;
 import com.moa.dto.response.MonthlyTotalExpenseResponse;
 import com.moa.service.StatisticsService;
+import com.moa.service.UserDataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -29,16 +35,49 @@ import java.util.Map;
 public class StatisticsController {
 
     private final StatisticsService statisticsService;
+    private final UserDataVersionService userDataVersionService;
+    private final HttpCacheConfig httpCacheConfig;
+
+    @GetMapping("/dashboard/{date}")
+    @Operation(summary = "월간 통계 대시보드 조회",
+            description = "총 지출, 카테고리별 지출, 감정 통계, 감정 비율을 한 번에 조회합니다. date 형식: YYYY-MM (예: 2025-01), "
+                    + "fields: total, categories, emotions, emotionPercentages 중 필요한 항목 (생략 시 전체)")
+    public ResponseEntity<?> getMonthlyDashboard(
+            @CurrentUserId Long userId,
+            @PathVariable String date,
+            @RequestParam(required = false) List<String> fields,
+            WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
+        try {
+            log.info("사용자 {} 월간 통계 대시보드 조회 요청: {}, fields: {}", userId, date, fields);
+            MonthlyDashboardResponse response = statisticsService.getMonthlyDashboard(
+                    userId, date, StatisticsService.DashboardField.parse(fields));
+            return ok(response);
+        } catch (IllegalArgumentException ie) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", ie.getMessage()));
+        } catch (Exception e) {
+            log.error("월간 통계 대시보드 조회 실패: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "월간 통계 대시보드 조회 중 오류가 발생했습니다."));
+        }
+    }
 
     @GetMapping("/total/{date}")
     @Operation(summary = "월간 총 지출 금액 조회", description = "특정 월의 총 지출 금액을 조회합니다. date 형식: YYYY-MM (예: 2025-01)")
     public ResponseEntity<?> getMonthlyTotalExpense(
             @CurrentUserId Long userId,
-            @PathVariable String date) {
+            @PathVariable String date,
+            WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
         try {
             log.info("사용자 {} 월간 총 지출 금액 조회 요청: {}", userId, date);
             MonthlyTotalExpenseResponse response = statisticsService.getMonthlyTotalExpense(userId, date);
-            return ResponseEntity.ok(response);
+            return ok(response);
         } catch (IllegalArgumentException ie) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", ie.getMessage()));
@@ -53,11 +92,15 @@ public class StatisticsController {
     @Operation(summary = "월간 총 지출 금액을 카테고리별로 조회", description = "특정 월의 카테고리별 지출 금액을 조회합니다. date 형식: YYYY-MM (예: 2025-01)")
     public ResponseEntity<?> getMonthlyCategoryExpense(
             @CurrentUserId Long userId,
-            @PathVariable String date) {
+            @PathVariable String date,
+            WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
         try {
             log.info("사용자 {} 월간 카테고리별 지출 조회 요청: {}", userId, date);
             List<MonthlyCategoryExpenseResponse> response = statisticsService.getMonthlyCategoryExpense(userId, date);
-            return ResponseEntity.ok(response);
+            return ok(response);
         } catch (IllegalArgumentException ie) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", ie.getMessage()));
@@ -73,12 +116,16 @@ public class StatisticsController {
     public ResponseEntity getMonthlyExpenseByCategoryId(
             @CurrentUserId Long userId,
             @PathVariable String date,
-            @PathVariable Long categoryId
+            @PathVariable Long categoryId,
+            WebRequest webRequest
     ) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
         try {
             log.info("사용자 {} 월간 지출 카테고리 조회 요청 : {}", userId, date);
             List<MonthlyCategoryExpenseWithGroupResponse> response = statisticsService.getMonthlyExpenseByCategoryId(userId, date, categoryId);
-            return ResponseEntity.ok(response);
+            return ok(response);
         } catch (IllegalArgumentException ie) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", ie.getMessage()));
@@ -95,11 +142,15 @@ public class StatisticsController {
     @Operation(summary = "월간 감정 통계 조회", description = "특정 월의 감정별 거래 건수 및 총 금액을 조회합니다. date 형식: YYYY-MM (예: 2025-01)")
     public ResponseEntity<?> getMonthlyEmotionStatistics(
             @CurrentUserId Long userId,
-            @PathVariable String date) {
+            @PathVariable String date,
+            WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
         try {
             log.info("사용자 {} 월간 감정 통계 조회 요청: {}", userId, date);
             List<MonthlyEmotionStatisticsResponse> response = statisticsService.getMonthlyEmotionStatistics(userId, date);
-            return ResponseEntity.ok(response);
+            return ok(response);
         } catch (IllegalArgumentException ie) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", ie.getMessage()));
@@ -114,11 +165,15 @@ public class StatisticsController {
     @Operation(summary = "월간 감정 비율 조회", description = "특정 월의 감정별 거래 건수 및 비율(%)을 조회합니다. date 형식: YYYY-MM (예: 2025-01)")
     public ResponseEntity<?> getMonthlyEmotionPercentage(
             @CurrentUserId Long userId,
-            @PathVariable String date) {
+            @PathVariable String date,
+            WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
         try {
             log.info("사용자 {} 월간 감정 비율 조회 요청: {}", userId, date);
             List<MonthlyEmotionPercentageResponse> response = statisticsService.getMonthlyEmotionPercentage(userId, date);
-            return ResponseEntity.ok(response);
+            return ok(response);
         } catch (IllegalArgumentException ie) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", ie.getMessage()));
@@ -128,4 +183,26 @@ public class StatisticsController {
                     .body(Map.of("error", "월간 감정 비율 조회 중 오류가 발생했습니다."));
         }
     }
+
+    /**
+     * 사용자 데이터 버전 기준 조건부 요청 처리 (같으면 통계 조회 없이 304)
+     * 응답에는 ETag / Last-Modified 헤더가 함께 설정된다.
+     */
+    private boolean notModified(Long userId, WebRequest webRequest) {
+        if (!httpCacheConfig.isEnabled()) {
+            return false;
+        }
+        UserDataVersionService.DataVersion version = userDataVersionService.current(userId);
+        return webRequest.checkNotModified(version.etag(userId), version.updatedAt().toEpochMilli());
+    }
+
+    // 클라이언트가 매번 ETag 로 재검증하도록 (사용자별 응답이므로 공유 캐시 저장 금지)
+    private ResponseEntity<?> ok(Object body) {
+        if (!httpCacheConfig.isEnabled()) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
 }
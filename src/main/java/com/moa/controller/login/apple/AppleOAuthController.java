@@ -42,7 +42,7 @@ public class AppleOAuthController {
     private final UserService userService;
     private final ProviderService providerService;
     private final JwtService jwtService;
-    private final WebClient webClient = WebClient.builder().build();
+    private final WebClient appleWebClient;
 
     @GetMapping("/authorize")
     @Operation(summary = "테스트1) 애플 로그인 URL 생성", description = "애플 OAuth 인증 페이지로 리다이렉트할 URL을 반환합니다.")
@@ -143,7 +143,7 @@ public class AppleOAuthController {
             log.info("애플 토큰 요청 - client_id: {}, redirect_uri: {}",
                     appleConfig.getClientId(), appleConfig.getRedirectUri());
 
-            AppleTokenResponse response = webClient.post()
+            AppleTokenResponse response = appleWebClient.post()
                     .uri(appleConfig.getTokenUrl())
                     .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                     .body(BodyInserters.fromFormData(formData))
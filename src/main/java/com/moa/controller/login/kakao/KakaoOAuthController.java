@@ -45,7 +45,7 @@ public class KakaoOAuthController {
     private final UserService userService;
     private final ProviderService providerService;
     private final JwtService jwtService;
-    private final WebClient webClient = WebClient.builder().build();
+    private final WebClient kakaoWebClient;
 
     @GetMapping("/authorize")
     @Operation(summary = "테스트1) 카카오 로그인 URL 생성", description = "카카오 OAuth 인증 페이지로 리다이렉트할 URL을 반환합니다.")
@@ -145,7 +145,7 @@ public class KakaoOAuthController {
                         kakaoConfig.getClientId(), kakaoConfig.getRedirectUri());
             }
 
-            KakaoTokenResponse response = webClient.post()
+            KakaoTokenResponse response = kakaoWebClient.post()
                     .uri(kakaoConfig.getTokenUrl())
                     .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                     .body(BodyInserters.fromFormData(formData))
@@ -1,8 +1,17 @@
 package com.moa.dto;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
@@ -14,6 +23,11 @@ public record ClovaOcrRequest(
         String lang,
         List<OcrImage> images
 ) {
+    // 3의 배수 단위로 읽어야 중간 조각에 Base64 패딩이 생기지 않는다. (48KB -> 64KB)
+    private static final int BASE64_CHUNK_SIZE = 3 * 16 * 1024;
+    private static final String DATA_PLACEHOLDER = "__OCR_IMAGE_DATA__";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     public ClovaOcrRequest {
         Objects.requireNonNull(version);
         Objects.requireNonNull(requestId);
@@ -25,8 +39,14 @@ public record ClovaOcrRequest(
         }
     }
 
-    public static ClovaOcrRequest from(String requestId, MultipartFile file) throws IOException {
-        return new ClovaOcrRequest(
+    /**
+     * 요청 JSON 을 조각 단위로 생성
+     * 이미지 전체를 byte[] 와 Base64 문자열로 메모리에 올리지 않고,
+     * 업로드 파일을 BASE64_CHUNK_SIZE 씩 읽어 인코딩한 조각을 images[0].data 위치에 이어 붙인다.
+     */
+    public static StreamingBody streamingBody(String requestId, MultipartFile file, DataBufferFactory bufferFactory)
+            throws JsonProcessingException {
+        ClovaOcrRequest envelope = new ClovaOcrRequest(
                 "V2",
                 requestId,
                 System.currentTimeMillis(),
@@ -34,9 +54,54 @@ public record ClovaOcrRequest(
                 List.of(new OcrImage(
                         getFormat(file.getOriginalFilename()),
                         file.getOriginalFilename(),
-                        Base64.getEncoder().encodeToString(file.getBytes())
+                        DATA_PLACEHOLDER
                 ))
         );
+
+        // data 는 마지막 이미지의 마지막 필드
+        String json = OBJECT_MAPPER.writeValueAsString(envelope);
+        int placeholder = json.lastIndexOf(DATA_PLACEHOLDER);
+        byte[] prefix = json.substring(0, placeholder).getBytes(StandardCharsets.UTF_8);
+        byte[] suffix = json.substring(placeholder + DATA_PLACEHOLDER.length()).getBytes(StandardCharsets.UTF_8);
+
+        long base64Length = 4 * ((file.getSize() + 2) / 3);
+
+        Flux<DataBuffer> content = Flux.concat(
+                Flux.just(prefix).map(bufferFactory::wrap),
+                encodeBase64(file, bufferFactory),
+                Flux.just(suffix).map(bufferFactory::wrap)
+        );
+        return new StreamingBody(content, prefix.length + base64Length + suffix.length);
+    }
+
+    private static Flux<DataBuffer> encodeBase64(MultipartFile file, DataBufferFactory bufferFactory) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return Flux.using(
+                file::getInputStream,
+                input -> Flux.<DataBuffer>generate(sink -> {
+                    try {
+                        byte[] chunk = new byte[BASE64_CHUNK_SIZE];
+                        int read = input.readNBytes(chunk, 0, BASE64_CHUNK_SIZE);
+                        if (read == 0) {
+                            sink.complete();
+                            return;
+                        }
+                        sink.next(bufferFactory.wrap(encoder.encode(ByteBuffer.wrap(chunk, 0, read))));
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                }),
+                ClovaOcrRequest::closeQuietly
+        )
+                // 업로드 파일은 디스크 임시 파일이므로 읽기(블로킹)를 요청 본문을 쓰는 이벤트 루프 밖에서 수행
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static void closeQuietly(InputStream input) {
+        try {
+            input.close();
+        } catch (IOException ignored) {
+        }
     }
 
     private static String getFormat(String filename) {
@@ -49,4 +114,12 @@ public record ClovaOcrRequest(
             String name,
             String data
     ) {}
+
+    /**
+     * 스트리밍 요청 본문과 전체 길이 (Content-Length 지정용)
+     */
+    public record StreamingBody(
+            Flux<DataBuffer> content,
+            long contentLength
+    ) {}
 }
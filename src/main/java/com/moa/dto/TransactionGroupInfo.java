@@ -1,8 +1,10 @@
 package com.moa.dto;
 
+import com.moa.entity.TransactionEmotion;
 import com.moa.entity.TransactionGroup;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 public record TransactionGroupInfo(
@@ -31,4 +33,58 @@ public record TransactionGroupInfo(
         );
     }
 
+    /*
+     * 지출내역을 자연스러운 문장으로 변환 (채팅 로그 임베딩 텍스트)
+     * */
+    public String toNaturalText() {
+        StringBuilder sb = new StringBuilder();
+
+        // 날짜
+        LocalDate date = transactionDate;
+        sb.append(String.format("%d년 %d월 %d일", date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+
+        // 장소
+        if (place != null && !place.isBlank()) {
+            sb.append(" ").append(place).append("에서 ");
+        } else {
+            sb.append("에서 ");
+        }
+
+        // 아이템들 나열
+        List<String> items = new ArrayList<>();
+        for (TransactionInfo t : transactionInfoList) {
+            String itemStr = String.format("%s(%d원%s)",
+                    t.name(),
+                    t.amount(),
+                    t.categoryName() != null ? ", " + t.categoryName() : ""
+            );
+            items.add(itemStr);
+        }
+
+        sb.append(String.join(", ", items));
+
+        // 결제수단
+        if (payment != null) {
+            sb.append("을 ").append(mapPayment(payment)).append("으로 결제함.");
+        } else {
+            sb.append("을 결제함.");
+        }
+
+        // 감정 표현
+        if (emotion != null) {
+            sb.append(" ");
+            sb.append(TransactionEmotion.parseEmotion(emotion).getNaturalString());
+        }
+
+        return sb.toString().trim();
+    }
+
+    private static String mapPayment(String payment) {
+        return switch (payment) {
+            case "CARD" -> "카드";
+            case "CASH" -> "현금";
+            case "TRANSFER" -> "계좌이체";
+            default -> payment;
+        };
+    }
 }
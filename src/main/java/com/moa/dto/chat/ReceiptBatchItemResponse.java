@@ -0,0 +1,31 @@
+package com.moa.dto.chat;
+
+import com.moa.dto.AiTransactionResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 영수증 일괄 처리 응답 DTO (이미지별 결과)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReceiptBatchItemResponse {
+
+    public enum Status {
+        SUCCESS,
+        // AI 공급자 차단(서킷브레이커 OPEN / 동시 호출 한도 초과) - 잠시 후 재시도 가능
+        UNAVAILABLE,
+        FAILED
+    }
+
+    // 요청 내 이미지 순서 (0부터)
+    private int index;
+    private String fileName;
+    private Status status;
+    private String message;
+    private AiTransactionResponse transactionInfo;
+}
@@ -0,0 +1,28 @@
+package com.moa.dto.chat;
+
+import com.moa.entity.ReceiptJobStatus;
+import com.moa.reponse.AiReceiptResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 영수증 분석 작업 응답 DTO
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReceiptJobResponse {
+
+    private String jobId;
+    private ReceiptJobStatus status;
+    // COMPLETED 인 경우에만 존재
+    private AiReceiptResponse result;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,30 @@
+package com.moa.dto.chat;
+
+import com.moa.entity.ReceiptJob;
+import com.moa.entity.ReceiptJobStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 영수증 분석 작업 상태 조회용 (이미지 데이터 제외)
+ * 폴링/SSE 재조회마다 IMAGE_DATA(bytea) 를 읽지 않도록 필요한 컬럼만 조회한다.
+ */
+public record ReceiptJobSummary(
+        String jobId,
+        ReceiptJobStatus status,
+        String result,
+        String errorMessage,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {
+    public static ReceiptJobSummary from(ReceiptJob job) {
+        return new ReceiptJobSummary(
+                job.getJobId(),
+                job.getStatus(),
+                job.getResult(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getCompletedAt()
+        );
+    }
+}
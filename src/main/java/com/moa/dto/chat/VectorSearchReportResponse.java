@@ -0,0 +1,30 @@
+package com.moa.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RAG 벡터 검색 품질 리포트 응답 DTO
+ * 정확 검색(Exact) 대비 근사 검색(ANN)의 재현율과 지연시간 비교
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VectorSearchReportResponse {
+
+    private String indexType;
+    private Integer searchParameter;  // HNSW: ef_search, IVFFlat: probes
+    private Long embeddedChatCount;
+    private Integer sampleSize;
+    private Integer limit;
+
+    private Double averageRecall;
+
+    private Double exactAverageMs;
+    private Double exactP95Ms;
+    private Double annAverageMs;
+    private Double annP95Ms;
+}
@@ -4,8 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.List;
-
 /**
  * Clova Studio Embedding API 응답 DTO
  */
@@ -29,7 +27,8 @@ public class ClovaEmbeddingResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class Result {
-        private List<Double> embedding;
+        // 박싱 없이 float 배열로 바로 역직렬화 (pgvector 는 float4 정밀도)
+        private float[] embedding;
         private Integer inputTokens;
     }
 }
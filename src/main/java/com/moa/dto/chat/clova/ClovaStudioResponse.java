@@ -1,5 +1,6 @@
 package com.moa.dto.chat.clova;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,9 +24,13 @@ public class ClovaStudioResponse {
         private String message;
     }
 
+    /**
+     * 스트리밍 응답의 token/result 이벤트 data 도 같은 구조 (index, usage 등 추가 필드는 무시)
+     */
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Result {
         private Message message;
         private String stopReason;
@@ -33,6 +38,7 @@ public class ClovaStudioResponse {
         @Data
         @NoArgsConstructor
         @AllArgsConstructor
+        @JsonIgnoreProperties(ignoreUnknown = true)
         public static class Message {
             private String role;
             private String content;
@@ -0,0 +1,26 @@
+package com.moa.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * 월간 통계 대시보드 응답 DTO
+ * 요청한 항목(fields)만 채우고, 나머지는 응답에서 생략한다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MonthlyDashboardResponse(
+        @Schema(description = "월간 총 지출 금액", example = "100000")
+        Long totalExpense,
+
+        @Schema(description = "카테고리별 지출 금액 (금액 큰 순)")
+        List<MonthlyCategoryExpenseResponse> categories,
+
+        @Schema(description = "감정별 거래 건수 및 총 금액 (건수 많은 순)")
+        List<MonthlyEmotionStatisticsResponse> emotions,
+
+        @Schema(description = "감정별 거래 건수 및 비율 (건수 많은 순)")
+        List<MonthlyEmotionPercentageResponse> emotionPercentages
+) {
+}
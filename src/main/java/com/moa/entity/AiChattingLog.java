@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 
@@ -20,7 +21,8 @@ import java.time.LocalDateTime;
 @Table(name = "ai_chatting_log", indexes = {
     @Index(name = "IDX_AI_CHATTING_USER_ID", columnList = "USER_ID"),
     @Index(name = "IDX_AI_CHATTING_CREATED_AT", columnList = "CREATED_AT"),
-    @Index(name = "IDX_AI_CHATTING_USER_CREATED", columnList = "USER_ID, CREATED_AT")
+    @Index(name = "IDX_AI_CHATTING_USER_CREATED", columnList = "USER_ID, CREATED_AT"),
+    @Index(name = "IDX_AI_CHATTING_EMBEDDING_STATUS", columnList = "EMBEDDING_STATUS")
 })
 @Data
 @NoArgsConstructor
@@ -47,11 +49,28 @@ public class AiChattingLog {
     private String emotion;
 
     /**
-     * pgvector 확장 사용
+     * pgvector 확장 사용 (float[] <-> vector 바이너리 바인딩)
+     * ANN 인덱스(HNSW/IVFFlat)는 JPA 로 표현할 수 없어 VectorIndexManager 가 관리
      */
     @Type(VectorType.class)
     @Column(name = "EMBEDDING_VECTOR", columnDefinition = "vector(1024)")
-    private String embeddingVector;
+    private float[] embeddingVector;
+
+    /**
+     * 임베딩 생성 상태 (PENDING 이면 백필 워커가 비동기로 생성)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "EMBEDDING_STATUS", length = 20)
+    private EmbeddingStatus embeddingStatus;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "EMBEDDING_ATTEMPTS", nullable = false)
+    private int embeddingAttempts = 0;
+
+    // 백필 워커 선점 시각 (claim-timeout 경과 시 다시 선점 가능)
+    @Column(name = "EMBEDDING_CLAIMED_AT")
+    private LocalDateTime embeddingClaimedAt;
 
     @CreationTimestamp
     @Column(name = "CREATED_AT", nullable = false, updatable = false)
@@ -0,0 +1,37 @@
+package com.moa.entity;
+
+import com.moa.config.chat.VectorType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+/**
+ * 임베딩 공유 캐시 엔티티
+ * 정규화된 텍스트 + 모델의 해시를 키로 임베딩 벡터를 저장 (EmbeddingCache 의 공유 계층)
+ */
+@Entity
+@Table(name = "embedding_cache", indexes = {
+    @Index(name = "IDX_EMBEDDING_CACHE_CREATED_AT", columnList = "CREATED_AT")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Getter
+public class EmbeddingCacheEntry {
+
+    // SHA-256 hex
+    @Id
+    @Column(name = "CACHE_KEY", length = 64)
+    private String cacheKey;
+
+    @Type(VectorType.class)
+    @Column(name = "EMBEDDING_VECTOR", nullable = false, columnDefinition = "vector(1024)")
+    private float[] embeddingVector;
+
+    @CreationTimestamp
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,10 @@
+package com.moa.entity;
+
+/**
+ * 채팅 로그 임베딩 벡터 생성 상태
+ */
+public enum EmbeddingStatus {
+    PENDING,    // 임베딩 생성 대기 (백필 워커 대상)
+    COMPLETED,  // 임베딩 저장 완료
+    FAILED      // 최대 재시도 초과
+}
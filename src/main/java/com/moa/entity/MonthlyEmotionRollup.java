@@ -0,0 +1,48 @@
+package com.moa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * 월간 감정 집계 (사용자 + 월 + 감정 단위 거래그룹 수/금액)
+ * 감정 통계는 거래그룹 단위로 세므로 카테고리별 집계(MonthlySpendingRollup)와 따로 관리한다.
+ * 거래가 하나 이상 있는 거래그룹만 센다.
+ */
+@Entity
+@Table(name = "monthly_emotion_rollup", uniqueConstraints = {
+    @UniqueConstraint(name = "UK_MONTHLY_EMOTION_ROLLUP", columnNames = {"USER_ID", "MONTH_START", "EMOTION"})
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Getter
+public class MonthlyEmotionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ROLLUP_ID")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "USER_ID", nullable = false, foreignKey = @ForeignKey(name = "FK_EMOTION_ROLLUP_USER"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    // 해당 월 1일
+    @Column(name = "MONTH_START", nullable = false)
+    private LocalDate monthStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "EMOTION", nullable = false)
+    private TransactionEmotion emotion;
+
+    @Column(name = "GROUP_COUNT", nullable = false)
+    private Long groupCount;
+
+    @Column(name = "AMOUNT", nullable = false)
+    private Long amount;
+}
@@ -0,0 +1,51 @@
+package com.moa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * 월간 지출 집계 (사용자 + 월 + 카테고리 + 감정 단위 거래 수/금액)
+ * 거래 추가/수정/삭제 시 MonthlyRollupService 가 증감분을 UPSERT 로 반영한다. (직접 저장하지 않음)
+ */
+@Entity
+@Table(name = "monthly_spending_rollup", uniqueConstraints = {
+    @UniqueConstraint(name = "UK_MONTHLY_SPENDING_ROLLUP", columnNames = {"USER_ID", "MONTH_START", "CATEGORY_ID", "EMOTION"})
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Getter
+public class MonthlySpendingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ROLLUP_ID")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "USER_ID", nullable = false, foreignKey = @ForeignKey(name = "FK_SPENDING_ROLLUP_USER"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    // 해당 월 1일
+    @Column(name = "MONTH_START", nullable = false)
+    private LocalDate monthStart;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "CATEGORY_ID", nullable = false, foreignKey = @ForeignKey(name = "FK_SPENDING_ROLLUP_CATEGORY"))
+    private Category category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "EMOTION", nullable = false)
+    private TransactionEmotion emotion;
+
+    @Column(name = "TRANSACTION_COUNT", nullable = false)
+    private Long transactionCount;
+
+    @Column(name = "AMOUNT", nullable = false)
+    private Long amount;
+}
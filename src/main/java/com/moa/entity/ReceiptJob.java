@@ -0,0 +1,76 @@
+package com.moa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 영수증 분석 작업 엔티티
+ * 요청 시 이미지를 함께 저장하여 재기동 후에도 작업을 이어서 처리한다. (완료/실패 시 이미지 삭제)
+ * 상태 전이는 ReceiptJobWorker 가 조건부 UPDATE 로 처리한다.
+ */
+@Entity
+@Table(name = "receipt_job", indexes = {
+    @Index(name = "IDX_RECEIPT_JOB_STATUS_AVAILABLE", columnList = "STATUS, AVAILABLE_AT"),
+    @Index(name = "IDX_RECEIPT_JOB_USER_ID", columnList = "USER_ID")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Getter
+public class ReceiptJob {
+
+    // UUID
+    @Id
+    @Column(name = "JOB_ID", length = 36)
+    private String jobId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "USER_ID", nullable = false, foreignKey = @ForeignKey(name = "FK_RECEIPT_JOB_USER"))
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false, length = 20)
+    private ReceiptJobStatus status;
+
+    @Column(name = "USER_MESSAGE", columnDefinition = "TEXT")
+    private String userMessage;
+
+    @Column(name = "IMAGE_DATA", columnDefinition = "bytea")
+    private byte[] imageData;
+
+    @Column(name = "IMAGE_CONTENT_TYPE", length = 50)
+    private String imageContentType;
+
+    @Column(name = "IMAGE_FILE_NAME")
+    private String imageFileName;
+
+    // AiReceiptResponse JSON
+    @Column(name = "RESULT", columnDefinition = "TEXT")
+    private String result;
+
+    @Column(name = "ERROR_MESSAGE", length = 500)
+    private String errorMessage;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "ATTEMPTS", nullable = false)
+    private int attempts = 0;
+
+    // 이 시각 이후 처리 가능 (재시도 지연)
+    @Column(name = "AVAILABLE_AT", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "STARTED_AT")
+    private LocalDateTime startedAt;
+
+    @Column(name = "COMPLETED_AT")
+    private LocalDateTime completedAt;
+
+    @CreationTimestamp
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package com.moa.entity;
+
+/**
+ * 영수증 분석 작업 상태
+ */
+public enum ReceiptJobStatus {
+    QUEUED,      // 처리 대기 (워커 여유가 생기면 처리, 재시도 대기 포함)
+    PROCESSING,  // 처리 중
+    COMPLETED,   // 분석 결과 저장 완료
+    FAILED;      // 실패 (최대 재시도 초과 포함)
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 
 @EntityListeners(AuditingEntityListener.class)
 @Entity
-@Table(name = "transactions")
+// 거래그룹 -> 거래 조인(+ 카테고리 필터), 거래그룹 삭제 시 CASCADE 에 사용 (PostgreSQL 은 FK 인덱스를 자동 생성하지 않음)
+@Table(name = "transactions", indexes = {
+    @Index(name = "IDX_TRANSACTION_GROUP_CATEGORY", columnList = "TRANSACTION_GROUP_ID, CATEGORY_ID")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 @Builder
@@ -16,7 +16,10 @@ import java.util.List;
 
 @EntityListeners(AuditingEntityListener.class)
 @Entity
-@Table(name = "transaction_groups")
+// 월 단위 조회(사용자 + 거래일 범위)는 모두 이 인덱스의 범위 스캔으로 처리
+@Table(name = "transaction_groups", indexes = {
+    @Index(name = "IDX_TRANSACTION_GROUP_USER_DATE", columnList = "USER_ID, TRANSACTION_DATE")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 @Builder
@@ -0,0 +1,37 @@
+package com.moa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 가계부 데이터 버전 (통계 응답 ETag / Last-Modified 기준)
+ * 거래 추가/수정/삭제 시 UserDataVersionService 가 1 씩 올린다. (직접 저장하지 않음)
+ */
+@Entity
+@Table(name = "user_data_version")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Getter
+public class UserDataVersion {
+
+    @Id
+    @Column(name = "USER_ID")
+    private Long userId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "USER_ID", foreignKey = @ForeignKey(name = "FK_USER_DATA_VERSION_USER"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+}
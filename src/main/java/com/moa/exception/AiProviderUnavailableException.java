@@ -0,0 +1,34 @@
+package com.moa.exception;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+
+/**
+ * 외부 AI 공급자(Clova, Upstage) 호출 차단 시 발생하는 예외
+ * 서킷브레이커가 열려 있거나 벌크헤드의 동시 호출 한도를 초과한 경우 즉시 실패 처리한다.
+ */
+public class AiProviderUnavailableException extends RuntimeException {
+
+    private final String provider;
+
+    public AiProviderUnavailableException(String provider, String message, Throwable cause) {
+        super(message, cause);
+        this.provider = provider;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    /**
+     * 서킷브레이커/벌크헤드 fallback 에서 사용
+     * 차단(CallNotPermitted, BulkheadFull)은 공급자 불가 예외로 변환하고, 그 외 호출 실패는 원래 예외를 그대로 전달한다.
+     */
+    public static RuntimeException translate(String provider, Throwable e) {
+        if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+            return new AiProviderUnavailableException(provider,
+                    provider + " AI 서비스가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요.", e);
+        }
+        return e instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(e);
+    }
+}
@@ -0,0 +1,7 @@
+package com.moa.exception;
+
+public class ReceiptJobNotFoundException extends RuntimeException {
+    public ReceiptJobNotFoundException(String s) {
+        super(s);
+    }
+}
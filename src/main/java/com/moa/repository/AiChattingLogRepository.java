@@ -15,26 +15,42 @@ import java.util.List;
  * AI 채팅 로그 Repository
  */
 @Repository
-public interface AiChattingLogRepository extends JpaRepository<AiChattingLog, Long> {
+public interface AiChattingLogRepository extends JpaRepository<AiChattingLog, Long>, AiChattingLogRepositoryCustom {
 
     Page<AiChattingLog> findByUserUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
     @Transactional
     void deleteByUserUserId(Long userId);
 
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM ai_chatting_log
+            WHERE user_id = :userId
+              AND embedding_vector IS NOT NULL
+              AND chat_type = 'USER'
+                   """,
+           nativeQuery = true)
+    long countEmbeddedUserChats(@Param("userId") Long userId);
+
+    // 최근 임베딩된 사용자 대화 조회 (검색 품질 리포트용 샘플)
     @Query(value = """
             SELECT *
             FROM ai_chatting_log
             WHERE user_id = :userId
               AND embedding_vector IS NOT NULL
               AND chat_type = 'USER'
-            ORDER BY embedding_vector <=> CAST(:embeddingVector AS vector)
+            ORDER BY created_at DESC
             LIMIT :limit
                    """,
            nativeQuery = true)
-    List<AiChattingLog> findSimilarChats(@Param("userId") Long userId,
-                                         @Param("embeddingVector") String embeddingVector,
-                                         @Param("limit") int limit);
+    List<AiChattingLog> findRecentEmbeddedUserChats(@Param("userId") Long userId,
+                                                    @Param("limit") int limit);
+
+    /**
+     * 현재 트랜잭션 범위의 설정값 지정 (hnsw.ef_search, ivfflat.probes 등)
+     */
+    @Query(value = "SELECT set_config(:name, :value, true)", nativeQuery = true)
+    String setLocalConfig(@Param("name") String name, @Param("value") String value);
 
     // 최근 N개의 대화 기록 조회 (시간순 내림차순)
     List<AiChattingLog> findTop6ByUserUserIdOrderByCreatedAtDesc(Long userId);
@@ -0,0 +1,26 @@
+package com.moa.repository;
+
+import com.moa.entity.AiChattingLog;
+
+import java.util.List;
+
+/**
+ * AI 채팅 로그 벡터 검색/저장 Repository
+ * 임베딩 벡터를 문자열이 아닌 pgvector 바이너리 형식(PgVector)으로 바인딩한다.
+ */
+public interface AiChattingLogRepositoryCustom {
+
+    /**
+     * 근사 검색 (ANN)
+     * embedding_vector 의 HNSW/IVFFlat 인덱스는 VectorIndexManager 가 관리한다.
+     */
+    List<AiChattingLog> findSimilarChats(Long userId, float[] embeddingVector, int limit);
+
+    /**
+     * 정확 검색 (Exact)
+     * MATERIALIZED CTE 로 사용자 대화만 먼저 추린 뒤 정렬하여 ANN 인덱스를 사용하지 않는다.
+     */
+    List<AiChattingLog> findSimilarChatsExact(Long userId, float[] embeddingVector, int limit);
+
+    int updateEmbeddingVector(Long chattingId, float[] embeddingVector);
+}
@@ -0,0 +1,85 @@
+package com.moa.repository;
+
+import com.moa.config.chat.PgVector;
+import com.moa.entity.AiChattingLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * AiChattingLogRepositoryCustom 구현
+ * 검색 결과는 프롬프트 구성에 필요한 컬럼만 조회하여 벡터(4KB/행)를 다시 읽어오지 않는다.
+ * JPA 트랜잭션 안에서 호출되면 같은 커넥션을 사용하므로 set_config(local) 설정이 그대로 적용된다.
+ */
+@RequiredArgsConstructor
+public class AiChattingLogRepositoryImpl implements AiChattingLogRepositoryCustom {
+
+    // 반복 스캔(relaxed_order)은 거리 순서가 약간 어긋날 수 있으므로 결과를 다시 정렬한다.
+    private static final String SIMILAR_CHATS_SQL = """
+            WITH relaxed AS MATERIALIZED (
+                SELECT chatting_id, chat_content, chat_type, emotion, created_at,
+                       embedding_vector <=> ? AS distance
+                FROM ai_chatting_log
+                WHERE user_id = ?
+                  AND embedding_vector IS NOT NULL
+                  AND chat_type = 'USER'
+                ORDER BY distance
+                LIMIT ?
+            )
+            SELECT chatting_id, chat_content, chat_type, emotion, created_at
+            FROM relaxed
+            ORDER BY distance
+            """;
+
+    private static final String SIMILAR_CHATS_EXACT_SQL = """
+            WITH candidates AS MATERIALIZED (
+                SELECT chatting_id, chat_content, chat_type, emotion, created_at, embedding_vector
+                FROM ai_chatting_log
+                WHERE user_id = ?
+                  AND embedding_vector IS NOT NULL
+                  AND chat_type = 'USER'
+            )
+            SELECT chatting_id, chat_content, chat_type, emotion, created_at
+            FROM candidates
+            ORDER BY embedding_vector <=> ?
+            LIMIT ?
+            """;
+
+    private static final String UPDATE_EMBEDDING_SQL = """
+            UPDATE ai_chatting_log
+            SET embedding_vector = ?,
+                embedding_status = 'COMPLETED'
+            WHERE chatting_id = ?
+            """;
+
+    private static final RowMapper<AiChattingLog> SIMILAR_CHAT_MAPPER = (rs, rowNum) -> AiChattingLog.builder()
+            .chattingId(rs.getLong("chatting_id"))
+            .chatContent(rs.getString("chat_content"))
+            .chatType(rs.getString("chat_type"))
+            .emotion(rs.getString("emotion"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<AiChattingLog> findSimilarChats(Long userId, float[] embeddingVector, int limit) {
+        return jdbcTemplate.query(SIMILAR_CHATS_SQL, SIMILAR_CHAT_MAPPER,
+                new PgVector(embeddingVector), userId, limit);
+    }
+
+    @Override
+    public List<AiChattingLog> findSimilarChatsExact(Long userId, float[] embeddingVector, int limit) {
+        return jdbcTemplate.query(SIMILAR_CHATS_EXACT_SQL, SIMILAR_CHAT_MAPPER,
+                userId, new PgVector(embeddingVector), limit);
+    }
+
+    @Override
+    @Transactional
+    public int updateEmbeddingVector(Long chattingId, float[] embeddingVector) {
+        return jdbcTemplate.update(UPDATE_EMBEDDING_SQL, new PgVector(embeddingVector), chattingId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.moa.repository;
+
+import com.moa.dto.response.MonthlyCategoryExpenseResponse;
+import com.moa.dto.response.MonthlyEmotionStatisticsResponse;
+import com.moa.entity.MonthlySpendingRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 월간 통계 집계 테이블 조회 (갱신은 MonthlyRollupService 가 담당)
+ * 결과 형태와 정렬은 TransactionGroupRepository 의 원본 집계 쿼리와 같다.
+ */
+public interface MonthlyRollupRepository extends JpaRepository<MonthlySpendingRollup, Long>, MonthlyRollupRepositoryCustom {
+
+    /**
+     * 특정 사용자의 특정 월 총 지출 금액
+     */
+    @Query("SELECT COALESCE(SUM(r.amount), 0) FROM MonthlySpendingRollup r " +
+           "JOIN r.category c " +
+           "WHERE r.user.id = :userId " +
+           "AND r.monthStart = :monthStart " +
+           "AND c.type = com.moa.entity.CategoryType.EXPENSE")
+    long sumExpense(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart);
+
+    /**
+     * 특정 사용자의 특정 월 카테고리별 지출 금액 (금액 큰 순)
+     */
+    @Query("SELECT new com.moa.dto.response.MonthlyCategoryExpenseResponse(c.id, c.name, SUM(r.amount)) " +
+           "FROM MonthlySpendingRollup r " +
+           "JOIN r.category c " +
+           "WHERE r.user.id = :userId " +
+           "AND r.monthStart = :monthStart " +
+           "AND c.type = com.moa.entity.CategoryType.EXPENSE " +
+           "AND r.transactionCount > 0 " +
+           "GROUP BY c.id, c.name " +
+           "ORDER BY SUM(r.amount) DESC")
+    List<MonthlyCategoryExpenseResponse> sumExpenseByCategory(@Param("userId") Long userId,
+                                                              @Param("monthStart") LocalDate monthStart);
+
+    /**
+     * 특정 사용자의 특정 월 감정별 거래그룹 수 / 총 금액 (건수 많은 순)
+     */
+    @Query("SELECT new com.moa.dto.response.MonthlyEmotionStatisticsResponse(r.emotion, r.groupCount, r.amount) " +
+           "FROM MonthlyEmotionRollup r " +
+           "WHERE r.user.id = :userId " +
+           "AND r.monthStart = :monthStart " +
+           "AND r.groupCount > 0 " +
+           "ORDER BY r.groupCount DESC")
+    List<MonthlyEmotionStatisticsResponse> findEmotionStatistics(@Param("userId") Long userId,
+                                                                 @Param("monthStart") LocalDate monthStart);
+
+    /**
+     * 집계 테이블이 비어 있는지 (기동 시 최초 재구성 판단)
+     */
+    @Query("SELECT COUNT(r) > 0 FROM MonthlyEmotionRollup r")
+    boolean existsAnyEmotionRollup();
+}
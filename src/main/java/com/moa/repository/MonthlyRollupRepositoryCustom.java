@@ -0,0 +1,29 @@
+package com.moa.repository;
+
+import com.moa.entity.TransactionEmotion;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 월간 통계 대시보드 조회
+ * 카테고리별 지출과 감정별 통계를 UNION ALL 로 묶어 한 번의 쿼리로 읽는다.
+ */
+public interface MonthlyRollupRepositoryCustom {
+
+    enum RowKind { CATEGORY, EMOTION }
+
+    /**
+     * CATEGORY 행: categoryId, categoryName, count(거래 수), amount
+     * EMOTION 행: emotion, count(거래그룹 수), amount
+     */
+    record DashboardRow(RowKind kind, Long categoryId, String categoryName, TransactionEmotion emotion,
+                        long count, long amount) {
+    }
+
+    /**
+     * @param fromRollup true 면 월간 집계 테이블, false 면 원본 거래 테이블에서 집계
+     */
+    List<DashboardRow> findDashboardRows(Long userId, LocalDate start, LocalDate end,
+                                         boolean categories, boolean emotions, boolean fromRollup);
+}
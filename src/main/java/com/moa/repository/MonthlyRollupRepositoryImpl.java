@@ -0,0 +1,109 @@
+package com.moa.repository;
+
+import com.moa.entity.TransactionEmotion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MonthlyRollupRepositoryCustom 구현
+ * 필요한 항목의 쿼리만 UNION ALL 로 이어 붙이며, 정렬은 호출 측에서 한다. (월별 행 수가 적음)
+ */
+@RequiredArgsConstructor
+public class MonthlyRollupRepositoryImpl implements MonthlyRollupRepositoryCustom {
+
+    // 파라미터: user_id, month_start
+    private static final String ROLLUP_CATEGORY_SQL = """
+            SELECT 'CATEGORY' AS kind, c.category_id, c.category_name, NULL AS emotion,
+                   SUM(r.transaction_count) AS cnt, SUM(r.amount) AS amount
+            FROM monthly_spending_rollup r
+            JOIN category c ON c.category_id = r.category_id
+            WHERE r.user_id = ?
+              AND r.month_start = ?
+              AND c.category_type = 'EXPENSE'
+              AND r.transaction_count > 0
+            GROUP BY c.category_id, c.category_name
+            """;
+
+    private static final String ROLLUP_EMOTION_SQL = """
+            SELECT 'EMOTION' AS kind, NULL AS category_id, NULL AS category_name, r.emotion,
+                   r.group_count AS cnt, r.amount
+            FROM monthly_emotion_rollup r
+            WHERE r.user_id = ?
+              AND r.month_start = ?
+              AND r.group_count > 0
+            """;
+
+    // 파라미터: user_id, start, end
+    private static final String LIVE_CATEGORY_SQL = """
+            SELECT 'CATEGORY' AS kind, c.category_id, c.category_name, NULL AS emotion,
+                   COUNT(*) AS cnt, SUM(t.amount) AS amount
+            FROM transactions t
+            JOIN transaction_groups tg ON tg.transaction_group_id = t.transaction_group_id
+            JOIN category c ON c.category_id = t.category_id
+            WHERE tg.user_id = ?
+              AND tg.transaction_date >= ?
+              AND tg.transaction_date < ?
+              AND c.category_type = 'EXPENSE'
+            GROUP BY c.category_id, c.category_name
+            """;
+
+    private static final String LIVE_EMOTION_SQL = """
+            SELECT 'EMOTION' AS kind, NULL AS category_id, NULL AS category_name, tg.emotion,
+                   COUNT(DISTINCT tg.transaction_group_id) AS cnt, SUM(t.amount) AS amount
+            FROM transactions t
+            JOIN transaction_groups tg ON tg.transaction_group_id = t.transaction_group_id
+            WHERE tg.user_id = ?
+              AND tg.transaction_date >= ?
+              AND tg.transaction_date < ?
+              AND tg.emotion IS NOT NULL
+            GROUP BY tg.emotion
+            """;
+
+    private static final RowMapper<DashboardRow> DASHBOARD_ROW_MAPPER = (rs, rowNum) -> {
+        RowKind kind = RowKind.valueOf(rs.getString("kind"));
+        String emotion = rs.getString("emotion");
+        return new DashboardRow(
+                kind,
+                kind == RowKind.CATEGORY ? rs.getLong("category_id") : null,
+                rs.getString("category_name"),
+                emotion == null ? null : TransactionEmotion.valueOf(emotion),
+                rs.getLong("cnt"),
+                rs.getLong("amount")
+        );
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<DashboardRow> findDashboardRows(Long userId, LocalDate start, LocalDate end,
+                                                boolean categories, boolean emotions, boolean fromRollup) {
+        List<String> queries = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (categories) {
+            queries.add(fromRollup ? ROLLUP_CATEGORY_SQL : LIVE_CATEGORY_SQL);
+            addArgs(args, userId, start, end, fromRollup);
+        }
+        if (emotions) {
+            queries.add(fromRollup ? ROLLUP_EMOTION_SQL : LIVE_EMOTION_SQL);
+            addArgs(args, userId, start, end, fromRollup);
+        }
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(String.join("UNION ALL\n", queries), DASHBOARD_ROW_MAPPER, args.toArray());
+    }
+
+    private static void addArgs(List<Object> args, Long userId, LocalDate start, LocalDate end, boolean fromRollup) {
+        args.add(userId);
+        args.add(Date.valueOf(start));
+        if (!fromRollup) {
+            args.add(Date.valueOf(end));
+        }
+    }
+}
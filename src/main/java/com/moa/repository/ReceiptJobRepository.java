@@ -0,0 +1,47 @@
+package com.moa.repository;
+
+import com.moa.dto.chat.ReceiptJobSummary;
+import com.moa.entity.ReceiptJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 영수증 분석 작업 Repository
+ */
+@Repository
+public interface ReceiptJobRepository extends JpaRepository<ReceiptJob, String> {
+
+    /**
+     * 사용자 작업 상태 조회 (IMAGE_DATA 제외)
+     */
+    @Query("SELECT new com.moa.dto.chat.ReceiptJobSummary(j.jobId, j.status, j.result, j.errorMessage, j.createdAt, j.completedAt) " +
+           "FROM ReceiptJob j " +
+           "WHERE j.jobId = :jobId " +
+           "AND j.user.userId = :userId")
+    Optional<ReceiptJobSummary> findSummaryByJobIdAndUserId(@Param("jobId") String jobId,
+                                                           @Param("userId") Long userId);
+
+    @Query("SELECT j FROM ReceiptJob j JOIN FETCH j.user WHERE j.jobId = :jobId")
+    Optional<ReceiptJob> findWithUserByJobId(@Param("jobId") String jobId);
+
+    /**
+     * 처리 가능한 대기 작업 ID (오래된 순)
+     */
+    @Query(value = """
+            SELECT job_id
+            FROM receipt_job
+            WHERE status = 'QUEUED'
+              AND available_at <= :now
+            ORDER BY created_at
+            LIMIT :limit
+                   """,
+           nativeQuery = true)
+    List<String> findDispatchableJobIds(@Param("now") LocalDateTime now,
+                                        @Param("limit") int limit);
+}
@@ -1,6 +1,8 @@
 package com.moa.repository;
 
 import com.moa.dto.MonthlyCategoryExpenseWithGroupResponse;
+import com.moa.dto.response.MonthlyCategoryExpenseResponse;
+import com.moa.dto.response.MonthlyEmotionStatisticsResponse;
 import com.moa.entity.PaymentMethod;
 import com.moa.entity.TransactionEmotion;
 import com.moa.entity.TransactionGroup;
@@ -12,39 +14,66 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * 월 단위 조회는 YEAR()/MONTH() 함수 대신 [start, end) 반개구간으로 비교하여
+ * (USER_ID, TRANSACTION_DATE) 인덱스 범위 스캔을 사용한다. (start = 월 1일, end = 다음 달 1일)
+ */
 public interface TransactionGroupRepository extends JpaRepository<TransactionGroup, Long> {
     List<TransactionGroup> findByUser_UserIdAndTransactionDateBetween(Long userId, LocalDate start, LocalDate end);
 
     Optional<TransactionGroup> findByIdAndUser_UserId(Long transactionGroupId, Long userId);
 
     /**
-     * 특정 사용자의 특정 월 거래그룹 조회 (지출만)
+     * 특정 사용자의 특정 월 총 지출 금액 (지출 카테고리 거래 합계)
      */
-    @Query("SELECT DISTINCT tg FROM TransactionGroup tg " +
-           "JOIN FETCH tg.transactions t " +
-           "JOIN FETCH t.category c " +
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+           "JOIN t.transactionGroup tg " +
+           "JOIN t.category c " +
            "WHERE tg.user.id = :userId " +
-           "AND YEAR(tg.transactionDate) = :year " +
-           "AND MONTH(tg.transactionDate) = :month " +
+           "AND tg.transactionDate >= :start " +
+           "AND tg.transactionDate < :end " +
            "AND c.type = com.moa.entity.CategoryType.EXPENSE")
-    List<TransactionGroup> findMonthlyExpensesByUserId(
+    long sumMonthlyExpenseByUserId(
             @Param("userId") Long userId,
-            @Param("year") int year,
-            @Param("month") int month
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
     );
 
     /**
-     * 특정 사용자의 특정 월 모든 거래그룹 조회 (감정 통계용)
+     * 특정 사용자의 특정 월 카테고리별 지출 금액 (금액 큰 순)
      */
-    @Query("SELECT DISTINCT tg FROM TransactionGroup tg " +
-           "JOIN FETCH tg.transactions t " +
+    @Query("SELECT new com.moa.dto.response.MonthlyCategoryExpenseResponse(c.id, c.name, SUM(t.amount)) " +
+           "FROM Transaction t " +
+           "JOIN t.transactionGroup tg " +
+           "JOIN t.category c " +
+           "WHERE tg.user.id = :userId " +
+           "AND tg.transactionDate >= :start " +
+           "AND tg.transactionDate < :end " +
+           "AND c.type = com.moa.entity.CategoryType.EXPENSE " +
+           "GROUP BY c.id, c.name " +
+           "ORDER BY SUM(t.amount) DESC")
+    List<MonthlyCategoryExpenseResponse> sumMonthlyExpenseByCategory(
+            @Param("userId") Long userId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
+
+    /**
+     * 특정 사용자의 특정 월 감정별 거래그룹 수 / 총 금액 (감정이 기록된 거래그룹만, 건수 많은 순)
+     */
+    @Query("SELECT new com.moa.dto.response.MonthlyEmotionStatisticsResponse(tg.emotion, COUNT(DISTINCT tg.id), SUM(t.amount)) " +
+           "FROM Transaction t " +
+           "JOIN t.transactionGroup tg " +
            "WHERE tg.user.id = :userId " +
-           "AND YEAR(tg.transactionDate) = :year " +
-           "AND MONTH(tg.transactionDate) = :month")
-    List<TransactionGroup> findMonthlyTransactionGroupsByUserId(
+           "AND tg.transactionDate >= :start " +
+           "AND tg.transactionDate < :end " +
+           "AND tg.emotion IS NOT NULL " +
+           "GROUP BY tg.emotion " +
+           "ORDER BY COUNT(DISTINCT tg.id) DESC")
+    List<MonthlyEmotionStatisticsResponse> sumMonthlyByEmotion(
             @Param("userId") Long userId,
-            @Param("year") int year,
-            @Param("month") int month
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
     );
 
     /**
@@ -55,8 +84,8 @@ public interface TransactionGroupRepository extends JpaRepository<TransactionGro
            "LEFT JOIN FETCH t.category c " +
            "WHERE tg.user.id = :userId " +
            "AND tg.isDeleted = false " +
-           "AND YEAR(tg.transactionDate) = :year " +
-           "AND MONTH(tg.transactionDate) = :month " +
+           "AND tg.transactionDate >= :start " +
+           "AND tg.transactionDate < :end " +
            "AND (:paymentMemo IS NULL OR :paymentMemo = '' OR tg.paymentMemo LIKE CONCAT('%', CAST(:paymentMemo AS string), '%')) " +
            "AND (:payment IS NULL OR tg.payment = :payment) " +
            "AND (:emotion IS NULL OR tg.emotion = :emotion) " +
@@ -64,8 +93,8 @@ public interface TransactionGroupRepository extends JpaRepository<TransactionGro
            "ORDER BY tg.transactionDate DESC")
     List<TransactionGroup> searchTransactions(
             @Param("userId") Long userId,
-            @Param("year") int year,
-            @Param("month") int month,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
             @Param("paymentMemo") String paymentMemo,
             @Param("payment") PaymentMethod payment,
             @Param("emotion") TransactionEmotion emotion,
@@ -84,14 +113,14 @@ public interface TransactionGroupRepository extends JpaRepository<TransactionGro
             JOIN t.transactionGroup g
             WHERE g.user.userId = :userId
               AND t.category.id = :categoryId
-              AND year(g.transactionDate) = :year
-              AND month(g.transactionDate) = :monthValue
+              AND g.transactionDate >= :start
+              AND g.transactionDate < :end
             ORDER BY g.transactionDate DESC
             """)
     List<MonthlyCategoryExpenseWithGroupResponse> findMonthlyTransactionWithGroupByCategoryIdAndUserId(
             Long userId,
             Long categoryId,
-            int year,
-            int monthValue
+            LocalDate start,
+            LocalDate end
     );
 }
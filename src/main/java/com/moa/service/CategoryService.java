@@ -1,23 +1,53 @@
 package com.moa.service;
 
+import com.moa.config.HttpCacheConfig;
 import com.moa.dto.CategoryResponse;
 import com.moa.entity.Category;
 import com.moa.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Service
 public class CategoryService {
     private final CategoryRepository categoryRepository;
+    private final HttpCacheConfig httpCacheConfig;
 
+    // 카테고리는 거의 바뀌지 않으므로 목록과 ETag 를 category-ttl 동안 메모리에 보관
+    private final AtomicReference<CategoryCatalog> catalog = new AtomicReference<>();
 
+    /**
+     * @param etag 목록 내용 기준 ETag (내용이 같으면 재조회해도 같은 값)
+     */
+    public record CategoryCatalog(List<CategoryResponse> categories, String etag, Instant loadedAt) {
+    }
+
+    // 메모리에 보관된 목록을 돌려줄 때는 트랜잭션(커넥션)을 열지 않음
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<CategoryResponse> getCategories() {
+        return getCategoryCatalog().categories();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CategoryCatalog getCategoryCatalog() {
+        CategoryCatalog current = catalog.get();
+        if (current != null && current.loadedAt().plus(httpCacheConfig.getCategoryTtl()).isAfter(Instant.now())) {
+            return current;
+        }
         List<Category> categories = categoryRepository.findAll();
-        return categories.stream().map(CategoryResponse::from).toList();
+        List<CategoryResponse> responses = categories.stream().map(CategoryResponse::from).toList();
+        CategoryCatalog loaded = new CategoryCatalog(
+                responses,
+                "\"c-" + Integer.toHexString(responses.toString().hashCode()) + "\"",
+                Instant.now());
+        catalog.set(loaded);
+        return loaded;
     }
 }
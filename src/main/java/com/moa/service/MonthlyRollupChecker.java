@@ -0,0 +1,112 @@
+package com.moa.service;
+
+import com.moa.config.StatisticsRollupConfig;
+import com.moa.repository.MonthlyRollupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 월간 통계 집계 테이블 재구성 / 정합성 검사
+ * - 기동 시: 집계 테이블이 비어 있고 거래가 있으면 전체 사용자 재구성 (최초 배포 시 기존 데이터 반영)
+ *   재구성이 끝날 때까지 통계 조회는 원본 집계 쿼리로 처리한다. (MonthlyRollupService.isReadable)
+ * - 주기 실행: 사용자를 batch-size 명씩 순회하며 원본 집계와 비교하고, 불일치 사용자는 재구성한다.
+ *
+ * 메트릭
+ * - statistics.rollup.check{result=consistent|mismatch|repaired}: 검사/재구성한 사용자 수
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyRollupChecker {
+
+    private static final String USER_IDS_SQL = """
+            SELECT user_id FROM users
+            WHERE user_id > ?
+            ORDER BY user_id
+            LIMIT ?
+            """;
+
+    private final MonthlyRollupService monthlyRollupService;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final StatisticsRollupConfig rollupConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // 다음 주기에 검사를 시작할 user_id (마지막 사용자까지 돌면 처음부터)
+    private long checkCursor = 0;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupConfig.isRebuildOnStartup() && !monthlyRollupRepository.existsAnyEmotionRollup()
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM transactions)", Boolean.class))) {
+            rebuildAll();
+        }
+        // 재구성이 끝난 뒤부터 집계 테이블에서 조회 (재구성 중에는 원본 집계 쿼리 사용)
+        monthlyRollupService.markReady();
+    }
+
+    private void rebuildAll() {
+        log.info("월간 통계 집계 테이블 재구성 시작");
+        long cursor = 0;
+        int rebuilt = 0;
+        List<Long> userIds;
+        while (!(userIds = nextUserIds(cursor)).isEmpty()) {
+            for (Long userId : userIds) {
+                monthlyRollupService.rebuild(userId);
+            }
+            rebuilt += userIds.size();
+            cursor = userIds.get(userIds.size() - 1);
+        }
+        log.info("월간 통계 집계 테이블 재구성 완료 - 사용자 {}명", rebuilt);
+    }
+
+    @Scheduled(fixedDelayString = "${statistics.rollup.check.interval-ms:600000}",
+               initialDelayString = "${statistics.rollup.check.initial-delay-ms:60000}")
+    public void check() {
+        if (!rollupConfig.isCheckEnabled()) {
+            return;
+        }
+        List<Long> userIds = nextUserIds(checkCursor);
+        if (userIds.isEmpty()) {
+            checkCursor = 0;
+            return;
+        }
+        checkCursor = userIds.get(userIds.size() - 1);
+
+        for (Long userId : userIds) {
+            try {
+                checkUser(userId);
+            } catch (Exception e) {
+                log.warn("사용자 {} 월간 통계 집계 검사 실패: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    private void checkUser(Long userId) {
+        long mismatches = monthlyRollupService.countMismatches(userId);
+        if (mismatches == 0) {
+            meterRegistry.counter("statistics.rollup.check", "result", "consistent").increment();
+            return;
+        }
+
+        meterRegistry.counter("statistics.rollup.check", "result", "mismatch").increment();
+        log.warn("사용자 {} 월간 통계 집계 불일치 - {}행", userId, mismatches);
+        if (rollupConfig.isCheckRepair()) {
+            monthlyRollupService.rebuild(userId);
+            meterRegistry.counter("statistics.rollup.check", "result", "repaired").increment();
+            log.info("사용자 {} 월간 통계 집계 재구성 완료", userId);
+        }
+    }
+
+    private List<Long> nextUserIds(long cursor) {
+        return jdbcTemplate.queryForList(USER_IDS_SQL, Long.class, cursor, rollupConfig.getCheckBatchSize());
+    }
+}
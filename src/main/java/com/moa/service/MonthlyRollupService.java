@@ -0,0 +1,257 @@
+package com.moa.service;
+
+import com.moa.config.StatisticsRollupConfig;
+import com.moa.entity.Transaction;
+import com.moa.entity.TransactionEmotion;
+import com.moa.entity.TransactionGroup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 월간 통계 집계 테이블 관리
+ * - 거래그룹 변경 전/후의 집계 기여분(Contribution) 차이만 UPSERT 로 더한다. (원본 재집계 없음)
+ * - 사용자 단위 재구성(rebuild)과 정합성 검사(countMismatches)는 MonthlyRollupChecker 가 호출한다.
+ * 증감 반영과 재구성은 같은 사용자에 대해 트랜잭션 범위 advisory lock 으로 직렬화한다.
+ * 수정/삭제는 거래그룹을 읽기 전에 lock 을 먼저 잡아 변경 전 기여분도 잠금 안에서 계산한다.
+ * 집계 테이블 조회는 기동 시 준비(최초 재구성 완료)가 끝난 뒤에만 사용한다. (isReadable)
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+
+    // pg_advisory_xact_lock(namespace, userId) 의 namespace (다른 advisory lock 과 구분)
+    private static final int LOCK_NAMESPACE = 0x524F4C4C;
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    private static final String UPSERT_SPENDING_SQL = """
+            INSERT INTO monthly_spending_rollup (user_id, month_start, category_id, emotion, transaction_count, amount)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, month_start, category_id, emotion) DO UPDATE
+            SET transaction_count = monthly_spending_rollup.transaction_count + EXCLUDED.transaction_count,
+                amount = monthly_spending_rollup.amount + EXCLUDED.amount
+            """;
+
+    private static final String UPSERT_EMOTION_SQL = """
+            INSERT INTO monthly_emotion_rollup (user_id, month_start, emotion, group_count, amount)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, month_start, emotion) DO UPDATE
+            SET group_count = monthly_emotion_rollup.group_count + EXCLUDED.group_count,
+                amount = monthly_emotion_rollup.amount + EXCLUDED.amount
+            """;
+
+    private static final String PURGE_SPENDING_SQL = """
+            DELETE FROM monthly_spending_rollup
+            WHERE user_id = ? AND month_start = ? AND transaction_count = 0 AND amount = 0
+            """;
+
+    private static final String PURGE_EMOTION_SQL = """
+            DELETE FROM monthly_emotion_rollup
+            WHERE user_id = ? AND month_start = ? AND group_count = 0 AND amount = 0
+            """;
+
+    // 원본 집계 (재구성/정합성 검사 공용)
+    private static final String LIVE_SPENDING_SQL = """
+            SELECT tg.user_id, date_trunc('month', tg.transaction_date)::date AS month_start, t.category_id, tg.emotion,
+                   COUNT(*) AS transaction_count, SUM(t.amount) AS amount
+            FROM transactions t
+            JOIN transaction_groups tg ON tg.transaction_group_id = t.transaction_group_id
+            WHERE tg.user_id = ?
+            GROUP BY tg.user_id, 2, t.category_id, tg.emotion
+            """;
+
+    private static final String LIVE_EMOTION_SQL = """
+            SELECT tg.user_id, date_trunc('month', tg.transaction_date)::date AS month_start, tg.emotion,
+                   COUNT(DISTINCT tg.transaction_group_id) AS group_count, SUM(t.amount) AS amount
+            FROM transactions t
+            JOIN transaction_groups tg ON tg.transaction_group_id = t.transaction_group_id
+            WHERE tg.user_id = ?
+            GROUP BY tg.user_id, 2, tg.emotion
+            """;
+
+    private static final String MISMATCH_SPENDING_SQL = """
+            SELECT COUNT(*)
+            FROM (%s) live
+            FULL OUTER JOIN (
+                SELECT month_start, category_id, emotion, transaction_count, amount
+                FROM monthly_spending_rollup
+                WHERE user_id = ? AND NOT (transaction_count = 0 AND amount = 0)
+            ) r ON r.month_start = live.month_start AND r.category_id = live.category_id AND r.emotion = live.emotion
+            WHERE live.transaction_count IS DISTINCT FROM r.transaction_count
+               OR live.amount IS DISTINCT FROM r.amount
+            """.formatted(LIVE_SPENDING_SQL);
+
+    private static final String MISMATCH_EMOTION_SQL = """
+            SELECT COUNT(*)
+            FROM (%s) live
+            FULL OUTER JOIN (
+                SELECT month_start, emotion, group_count, amount
+                FROM monthly_emotion_rollup
+                WHERE user_id = ? AND NOT (group_count = 0 AND amount = 0)
+            ) r ON r.month_start = live.month_start AND r.emotion = live.emotion
+            WHERE live.group_count IS DISTINCT FROM r.group_count
+               OR live.amount IS DISTINCT FROM r.amount
+            """.formatted(LIVE_EMOTION_SQL);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatisticsRollupConfig rollupConfig;
+    private final UserDataVersionService userDataVersionService;
+
+    // 기동 직후 ~ 최초 재구성 완료 전까지는 false (그동안 통계는 원본 집계 쿼리로 조회)
+    private final AtomicBoolean ready = new AtomicBoolean(false);
+
+    public record SpendingKey(LocalDate monthStart, Long categoryId, TransactionEmotion emotion) {
+    }
+
+    public record EmotionKey(LocalDate monthStart, TransactionEmotion emotion) {
+    }
+
+    public record Totals(long count, long amount) {
+
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, amount + other.amount);
+        }
+
+        boolean isZero() {
+            return count == 0 && amount == 0;
+        }
+    }
+
+    /**
+     * 거래그룹 하나가 집계 테이블에 더하는 값
+     */
+    public record Contribution(Map<SpendingKey, Totals> spending, Map<EmotionKey, Totals> emotions) {
+
+        public static final Contribution EMPTY = new Contribution(Map.of(), Map.of());
+    }
+
+    /**
+     * 통계 조회를 집계 테이블에서 할 수 있는지
+     */
+    public boolean isReadable() {
+        return rollupConfig.isReadEnabled() && ready.get();
+    }
+
+    void markReady() {
+        ready.set(true);
+    }
+
+    public Contribution contributionOf(TransactionGroup transactionGroup) {
+        List<Transaction> transactions = transactionGroup.getTransactions();
+        if (transactions.isEmpty()) {
+            return Contribution.EMPTY;
+        }
+        LocalDate monthStart = YearMonth.from(transactionGroup.getTransactionDate()).atDay(1);
+        TransactionEmotion emotion = transactionGroup.getEmotion();
+
+        Map<SpendingKey, Totals> spending = new HashMap<>();
+        long groupAmount = 0;
+        for (Transaction transaction : transactions) {
+            long amount = transaction.getAmount();
+            spending.merge(new SpendingKey(monthStart, transaction.getCategory().getId(), emotion),
+                    new Totals(1, amount), Totals::plus);
+            groupAmount += amount;
+        }
+        return new Contribution(spending, Map.of(new EmotionKey(monthStart, emotion), new Totals(1, groupAmount)));
+    }
+
+    /**
+     * 변경 전/후 기여분 차이를 집계 테이블에 반영 (추가: EMPTY -> after, 삭제: before -> EMPTY)
+     * 거래 변경과 같은 트랜잭션에서 실행되어 함께 커밋/롤백된다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, Contribution before, Contribution after) {
+        Map<SpendingKey, Totals> spendingDelta = delta(before.spending(), after.spending());
+        Map<EmotionKey, Totals> emotionDelta = delta(before.emotions(), after.emotions());
+        if (spendingDelta.isEmpty() && emotionDelta.isEmpty()) {
+            return;
+        }
+        lock(userId);
+
+        List<Object[]> spendingArgs = new ArrayList<>();
+        Set<LocalDate> months = new HashSet<>();
+        spendingDelta.forEach((key, totals) -> {
+            spendingArgs.add(new Object[]{userId, Date.valueOf(key.monthStart()), key.categoryId(),
+                    key.emotion().name(), totals.count(), totals.amount()});
+            months.add(key.monthStart());
+        });
+        List<Object[]> emotionArgs = new ArrayList<>();
+        emotionDelta.forEach((key, totals) -> {
+            emotionArgs.add(new Object[]{userId, Date.valueOf(key.monthStart()), key.emotion().name(),
+                    totals.count(), totals.amount()});
+            months.add(key.monthStart());
+        });
+
+        if (!spendingArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SPENDING_SQL, spendingArgs);
+        }
+        if (!emotionArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_EMOTION_SQL, emotionArgs);
+        }
+
+        // 모두 빠져 0 이 된 행 정리
+        List<Object[]> purgeArgs = months.stream()
+                .map(month -> new Object[]{userId, Date.valueOf(month)})
+                .toList();
+        jdbcTemplate.batchUpdate(PURGE_SPENDING_SQL, purgeArgs);
+        jdbcTemplate.batchUpdate(PURGE_EMOTION_SQL, purgeArgs);
+    }
+
+    /**
+     * 사용자 집계를 원본 거래로부터 다시 생성
+     * 통계 응답이 바뀔 수 있으므로 사용자 데이터 버전도 올려 이전 ETag 로 304 가 나가지 않게 한다.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        lock(userId);
+        jdbcTemplate.update("DELETE FROM monthly_spending_rollup WHERE user_id = ?", userId);
+        jdbcTemplate.update("""
+                INSERT INTO monthly_spending_rollup (user_id, month_start, category_id, emotion, transaction_count, amount)
+                """ + LIVE_SPENDING_SQL, userId);
+        jdbcTemplate.update("DELETE FROM monthly_emotion_rollup WHERE user_id = ?", userId);
+        jdbcTemplate.update("""
+                INSERT INTO monthly_emotion_rollup (user_id, month_start, emotion, group_count, amount)
+                """ + LIVE_EMOTION_SQL, userId);
+        userDataVersionService.bump(userId);
+    }
+
+    /**
+     * 집계 테이블과 원본 집계가 다른 행 수 (0 이면 일치)
+     */
+    @Transactional(readOnly = true)
+    public long countMismatches(Long userId) {
+        Long spending = jdbcTemplate.queryForObject(MISMATCH_SPENDING_SQL, Long.class, userId, userId);
+        Long emotions = jdbcTemplate.queryForObject(MISMATCH_EMOTION_SQL, Long.class, userId, userId);
+        return (spending == null ? 0 : spending) + (emotions == null ? 0 : emotions);
+    }
+
+    /**
+     * 사용자 집계 잠금 (트랜잭션 종료 시 해제)
+     * 거래그룹 수정/삭제는 변경 전 기여분을 읽기 전에 먼저 잡는다. (apply 에서 다시 잡아도 재진입 가능)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Long userId) {
+        jdbcTemplate.query(LOCK_SQL, rs -> null, LOCK_NAMESPACE, Long.hashCode(userId));
+    }
+
+    private static <K> Map<K, Totals> delta(Map<K, Totals> before, Map<K, Totals> after) {
+        Map<K, Totals> delta = new HashMap<>(after);
+        before.forEach((key, totals) -> delta.merge(key, new Totals(-totals.count(), -totals.amount()), Totals::plus));
+        delta.values().removeIf(Totals::isZero);
+        return delta;
+    }
+}
@@ -5,34 +5,56 @@ import com.moa.config.chat.UpstageConfig;
 import com.moa.dto.ClovaOcrRequest;
 import com.moa.dto.ClovaOcrResponse;
 import com.moa.dto.UpstageOcrResponse;
+import com.moa.exception.AiProviderUnavailableException;
+import com.moa.service.image.ImagePreprocessor;
+import com.moa.service.ocr.OcrLineAssembler;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OcrService {
+    private static final int UPLOAD_CHUNK_SIZE = 8192;
+
     private final ClovaStudioConfig studioConfig;
     private final UpstageConfig upstageConfig;
-    private final WebClient webClient = WebClient.builder().build();
-
+    private final ImagePreprocessor imagePreprocessor;
+    private final WebClient clovaWebClient;
+    private final WebClient upstageWebClient;
+
+    /**
+     * Upstage OCR 호출
+     * 이미지 전처리(ImagePreprocessor, Purpose.OCR)는 호출 측에서 먼저 수행한다.
+     * 디코딩/축소 작업이 공급자 벌크헤드 허가를 점유하거나 서킷브레이커의 느린 호출로 집계되지 않도록 하기 위함.
+     */
+    @CircuitBreaker(name = UpstageStudioService.PROVIDER, fallbackMethod = "upstageOcrFallback")
+    @Bulkhead(name = UpstageStudioService.PROVIDER)
     public String upstageOcr(MultipartFile image) {
-
+        // 업로드 파일(디스크 임시 파일)은 조각 단위로 읽어 multipart 본문으로 전송
+        // 읽기(블로킹)는 요청 본문을 쓰는 이벤트 루프 밖에서 수행한다. (전처리를 건너뛴 원본도 동일)
+        Flux<DataBuffer> document = DataBufferUtils.readInputStream(
+                        image::getInputStream, DefaultDataBufferFactory.sharedInstance, UPLOAD_CHUNK_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
         MultipartBodyBuilder builder = new MultipartBodyBuilder();
-        builder.part("document", image.getResource())
+        builder.asyncPart("document", document, DataBuffer.class)
                 .filename(image.getOriginalFilename())
                 .contentType(image.getContentType() != null ?
                         MediaType.parseMediaType(image.getContentType()) :
@@ -40,7 +62,7 @@ public class OcrService {
 
         builder.part("model", "ocr");
 
-        UpstageOcrResponse ocrResponse = webClient.post()
+        UpstageOcrResponse ocrResponse = upstageWebClient.post()
                 .uri(upstageConfig.getOcrUri().trim())
                 .header("Authorization", "Bearer " + upstageConfig.getKey().trim())
                 .contentType(MediaType.MULTIPART_FORM_DATA)
@@ -54,80 +76,30 @@ public class OcrService {
         }
 
         List<UpstageOcrResponse.Word> words = ocrResponse.pages().get(0).words();
-        return sortAndProcessUpstage(words);
-    }
-
-    private String sortAndProcessUpstage(List<UpstageOcrResponse.Word> words) {
-        if (words == null || words.isEmpty()) return "";
-
-        // 먼저 confidence 필터링
-        List<UpstageOcrResponse.Word> valid = words.stream()
-                .filter(w -> w.confidence() > 0.6)
-                .collect(Collectors.toList());
-
-        // Y축 기준 정렬
-        valid.sort(Comparator.comparingDouble(w -> getCenterYUp(w.boundingBox())));
-
-        StringBuilder result = new StringBuilder();
-        List<UpstageOcrResponse.Word> current = new ArrayList<>();
-
-        double lastCY = -1, lastH = 0;
-
-        for (UpstageOcrResponse.Word w : valid) {
-            double cy = getCenterYUp(w.boundingBox());
-            double h = getHeightUp(w.boundingBox());
-
-            if (current.isEmpty() || Math.abs(cy - lastCY) < lastH * 0.6) {
-                current.add(w);
-            } else {
-                processUpstageLine(result, current);
-                current.clear();
-                current.add(w);
-            }
-            lastCY = cy; lastH = h;
-        }
-
-        processUpstageLine(result, current);
-        return result.toString().trim();
-    }
-    private void processUpstageLine(StringBuilder result, List<UpstageOcrResponse.Word> line) {
-        line.sort(Comparator.comparingDouble(w -> getMinXUp(w.boundingBox())));
-        String lineText = line.stream().map(UpstageOcrResponse.Word::text).collect(Collectors.joining(" "));
-        result.append(lineText).append("\n");
+        return new OcrLineAssembler().assembleUpstage(words);
     }
 
-    private double getCenterYUp(UpstageOcrResponse.BoundingBox box) {
-        double minY = box.vertices().stream().mapToDouble(v -> v.y()).min().orElse(0);
-        double maxY = box.vertices().stream().mapToDouble(v -> v.y()).max().orElse(0);
-        return (minY + maxY) / 2.0;
+    private String upstageOcrFallback(MultipartFile image, Throwable e) {
+        log.warn("Upstage OCR 호출 차단/실패: {}", e.getMessage());
+        throw AiProviderUnavailableException.translate(UpstageStudioService.PROVIDER, e);
     }
 
-    private double getHeightUp(UpstageOcrResponse.BoundingBox box) {
-        double minY = box.vertices().stream().mapToDouble(v -> v.y()).min().orElse(0);
-        double maxY = box.vertices().stream().mapToDouble(v -> v.y()).max().orElse(0);
-        return maxY - minY;
-    }
-
-    private double getMinXUp(UpstageOcrResponse.BoundingBox box) {
-        return box.vertices().stream()
-                .mapToDouble(v -> v.x())
-                .min()
-                .orElse(0);
-    }
-
-
-    public String extractTransaction(MultipartFile image) throws IOException {
-        ClovaOcrRequest clovaOcrRequest = ClovaOcrRequest.from(
+    public String extractTransaction(MultipartFile upload) throws IOException {
+        MultipartFile image = imagePreprocessor.prepare(upload, ImagePreprocessor.Purpose.OCR);
+        // 이미지를 Base64 문자열로 한 번에 만들지 않고 조각 단위로 인코딩하여 전송
+        ClovaOcrRequest.StreamingBody body = ClovaOcrRequest.streamingBody(
                 UUID.randomUUID().toString(),
-                image
+                image,
+                DefaultDataBufferFactory.sharedInstance
         );
         log.info("secret, url : {}, {}",studioConfig.getOcrUri(),studioConfig.getOcrSecretKey());
 
-        ClovaOcrResponse clovaOcrResponse = webClient.post()
+        ClovaOcrResponse clovaOcrResponse = clovaWebClient.post()
                 .uri(studioConfig.getOcrUri().trim())
                 .header("X-OCR-SECRET", studioConfig.getOcrSecretKey().trim())
                 .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(clovaOcrRequest)
+                .contentLength(body.contentLength())
+                .body(BodyInserters.fromDataBuffers(body.content()))
                 .retrieve()
                 .bodyToMono(ClovaOcrResponse.class)
                 .block();
@@ -138,94 +110,7 @@ public class OcrService {
 
         List<ClovaOcrResponse.Field> fields = clovaOcrResponse.images().get(0).fields();
 
-        // 1. Y축 좌표를 기준으로 같은 줄인지 판단하여 정렬하는 로직
-        return sortAndProcessFields(fields);
+        // Y축 좌표를 기준으로 같은 줄인지 판단하여 정렬
+        return new OcrLineAssembler().assembleClova(fields);
     }
-
-    private String sortAndProcessFields(List<ClovaOcrResponse.Field> fields) {
-        if (fields == null || fields.isEmpty()) return "";
-
-        // 1. 신뢰도 필터링
-        List<ClovaOcrResponse.Field> validFields = fields.stream()
-                .filter(f -> f.inferConfidence() > 0.6)
-                .collect(Collectors.toList());
-
-        // 2. Center Y 기준 전체 정렬
-        validFields.sort(Comparator.comparingDouble(f -> getCenterY(f.boundingPoly())));
-
-        StringBuilder result = new StringBuilder();
-        List<ClovaOcrResponse.Field> currentLine = new ArrayList<>();
-
-        double lastCenterY = -1;
-        double lastHeight = 0; // 기준 높이 변수 추가
-
-        for (ClovaOcrResponse.Field field : validFields) {
-            double currentCenterY = getCenterY(field.boundingPoly());
-            double currentHeight = getHeight(field.boundingPoly());
-
-            if (currentLine.isEmpty()) {
-                // 줄의 시작: 기준점 잡기
-                currentLine.add(field);
-                lastCenterY = currentCenterY;
-                lastHeight = currentHeight; // 이 줄의 기준 높이 설정
-            } else {
-                // 기준 높이(lastHeight)를 기반으로 오차 범위 계산
-                double dynamicThreshold = lastHeight * 0.6;
-
-                if (Math.abs(currentCenterY - lastCenterY) < dynamicThreshold) {
-                    // 같은 줄
-                    currentLine.add(field);
-                } else {
-                    // 새로운 줄 시작
-                    processLine(result, currentLine);
-                    currentLine.clear();
-
-                    // 새 줄의 첫 요소로 초기화
-                    currentLine.add(field);
-                    lastCenterY = currentCenterY;
-                    lastHeight = currentHeight;
-                }
-            }
-        }
-        // 마지막 줄 처리
-        processLine(result, currentLine);
-
-        return result.toString().trim();
-    }
-
-    private void processLine(StringBuilder result, List<ClovaOcrResponse.Field> line) {
-        if (line.isEmpty()) return;
-
-        // 같은 줄 내에서는 X축 순서대로 정렬
-        line.sort(Comparator.comparingDouble(f -> getMinX(f.boundingPoly())));
-
-        String lineText = line.stream()
-                .map(ClovaOcrResponse.Field::inferText)
-                .collect(Collectors.joining(" "));
-
-        result.append(lineText).append("\n");
-    }
-
-    // 중심점 계산
-    private double getCenterY(ClovaOcrResponse.BoundingPoly poly) {
-        double minY = poly.vertices().stream().mapToDouble(v -> v.y()).min().orElse(0);
-        double maxY = poly.vertices().stream().mapToDouble(v -> v.y()).max().orElse(0);
-        return (minY + maxY) / 2.0;
-    }
-
-    // 필드 높이 계산
-    private double getHeight(ClovaOcrResponse.BoundingPoly poly) {
-        double minY = poly.vertices().stream().mapToDouble(v -> v.y()).min().orElse(0);
-        double maxY = poly.vertices().stream().mapToDouble(v -> v.y()).max().orElse(0);
-        return maxY - minY;
-    }
-
-    // 좌표 정보에서 최소 X값 추출
-    private double getMinX(ClovaOcrResponse.BoundingPoly poly) {
-        return poly.vertices().stream()
-                .mapToDouble(v -> v.x())
-                .min()
-                .orElse(0);
-    }
-
 }
@@ -0,0 +1,36 @@
+package com.moa.service;
+
+import com.moa.dto.response.MonthlyEmotionPercentageResponse;
+import com.moa.dto.response.MonthlyEmotionStatisticsResponse;
+
+import java.util.List;
+
+/**
+ * 월간 통계 후처리 (DB 집계 결과 -> 응답 DTO)
+ * 합계/건수는 TransactionGroupRepository 의 집계 쿼리가 계산하고, 여기서는 몇 개 안 되는 행으로 비율만 계산한다.
+ */
+public final class StatisticsAggregator {
+
+    private StatisticsAggregator() {
+    }
+
+    public static List<MonthlyEmotionPercentageResponse> emotionPercentages(List<MonthlyEmotionStatisticsResponse> emotionStatistics) {
+        long totalCount = emotionStatistics.stream()
+                .mapToLong(MonthlyEmotionStatisticsResponse::count)
+                .sum();
+        if (totalCount == 0) {
+            return List.of();
+        }
+
+        return emotionStatistics.stream()
+                .map(statistics -> {
+                    double percentage = Math.round((statistics.count() * 100.0 / totalCount) * 100.0) / 100.0;
+                    return new MonthlyEmotionPercentageResponse(
+                            statistics.emotion(),
+                            statistics.count(),
+                            percentage
+                    );
+                })
+                .toList();
+    }
+}
@@ -2,23 +2,26 @@ package com.moa.service;
 
 import com.moa.dto.MonthlyCategoryExpenseWithGroupResponse;
 import com.moa.dto.response.MonthlyCategoryExpenseResponse;
+import com.moa.dto.response.MonthlyDashboardResponse;
 import com.moa.dto.response.MonthlyEmotionPercentageResponse;
 import com.moa.dto.response.MonthlyEmotionStatisticsResponse;
 import com.moa.dto.response.MonthlyTotalExpenseResponse;
-import com.moa.entity.Transaction;
-import com.moa.entity.TransactionEmotion;
-import com.moa.entity.TransactionGroup;
+import com.moa.repository.MonthlyRollupRepository;
+import com.moa.repository.MonthlyRollupRepositoryCustom.DashboardRow;
 import com.moa.repository.TransactionGroupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -26,23 +29,66 @@ import java.util.stream.Collectors;
 @Slf4j
 public class StatisticsService {
 
+    private static final DateTimeFormatter YEAR_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    /**
+     * 대시보드 항목 (fields 파라미터 값)
+     */
+    public enum DashboardField {
+        TOTAL("total"),
+        CATEGORIES("categories"),
+        EMOTIONS("emotions"),
+        EMOTION_PERCENTAGES("emotionPercentages");
+
+        private final String param;
+
+        DashboardField(String param) {
+            this.param = param;
+        }
+
+        public static Set<DashboardField> parse(List<String> params) {
+            if (params == null || params.isEmpty()) {
+                return EnumSet.allOf(DashboardField.class);
+            }
+            Set<DashboardField> fields = EnumSet.noneOf(DashboardField.class);
+            for (String param : params) {
+                String trimmed = param.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                DashboardField field = null;
+                for (DashboardField candidate : values()) {
+                    if (candidate.param.equalsIgnoreCase(trimmed)) {
+                        field = candidate;
+                    }
+                }
+                if (field == null) {
+                    throw new IllegalArgumentException("지원하지 않는 항목입니다: " + trimmed
+                            + " (total, categories, emotions, emotionPercentages 중 선택)");
+                }
+                fields.add(field);
+            }
+            return fields.isEmpty() ? EnumSet.allOf(DashboardField.class) : fields;
+        }
+    }
+
     private final TransactionGroupRepository transactionGroupRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final MonthlyRollupService monthlyRollupService;
 
     /**
      * 월간 총 지출 금액 조회
+     * 통계 API 는 월간 집계 테이블(MonthlyRollupService 가 거래 변경 시 갱신)에서 읽는다.
+     * 집계 테이블 조회를 끄거나 기동 시 최초 재구성이 끝나기 전에는 원본 거래 테이블 집계 쿼리(SUM/COUNT ... GROUP BY)로 계산한다.
      */
     public MonthlyTotalExpenseResponse getMonthlyTotalExpense(Long userId, String date) {
-        validateDateFormat(date);
-        YearMonth yearMonth = YearMonth.parse(date, DateTimeFormatter.ofPattern("yyyy-MM"));
-        int year = yearMonth.getYear();
-        int monthValue = yearMonth.getMonthValue();
-
-        List<TransactionGroup> transactionGroups = transactionGroupRepository.findMonthlyExpensesByUserId(userId, year, monthValue);
+        YearMonth yearMonth = parseYearMonth(date);
+        LocalDate start = yearMonth.atDay(1);
+        LocalDate end = yearMonth.plusMonths(1).atDay(1);
 
-        long totalExpense = transactionGroups.stream()
-                .flatMap(tg -> tg.getTransactions().stream())
-                .mapToLong(Transaction::getAmount)
-                .sum();
+        long totalExpense = monthlyRollupService.isReadable()
+                ? monthlyRollupRepository.sumExpense(userId, start)
+                : transactionGroupRepository.sumMonthlyExpenseByUserId(userId, start, end);
 
         log.info("사용자 {} 의 {} 총 지출 금액: {}", userId, date, totalExpense);
         return MonthlyTotalExpenseResponse.of(totalExpense);
@@ -52,27 +98,13 @@ public class StatisticsService {
      * 월간 카테고리별 지출 금액 조회
      */
     public List<MonthlyCategoryExpenseResponse> getMonthlyCategoryExpense(Long userId, String date) {
-        validateDateFormat(date);
-        YearMonth yearMonth = YearMonth.parse(date, DateTimeFormatter.ofPattern("yyyy-MM"));
-        int year = yearMonth.getYear();
-        int monthValue = yearMonth.getMonthValue();
-
-        List<TransactionGroup> transactionGroups = transactionGroupRepository.findMonthlyExpensesByUserId(userId, year, monthValue);
-
-        Map<Long, Long> categoryExpenseMap = transactionGroups.stream()
-                .flatMap(tg -> tg.getTransactions().stream())
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getId(),
-                        Collectors.summingLong(Transaction::getAmount)
-                ));
-
-        List<MonthlyCategoryExpenseResponse> response = transactionGroups.stream()
-                .flatMap(tg -> tg.getTransactions().stream())
-                .map(Transaction::getCategory)
-                .distinct()
-                .filter(category -> categoryExpenseMap.containsKey(category.getId()))
-                .map(category -> MonthlyCategoryExpenseResponse.of(category, categoryExpenseMap.get(category.getId())))
-                .collect(Collectors.toList());
+        YearMonth yearMonth = parseYearMonth(date);
+        LocalDate start = yearMonth.atDay(1);
+        LocalDate end = yearMonth.plusMonths(1).atDay(1);
+
+        List<MonthlyCategoryExpenseResponse> response = monthlyRollupService.isReadable()
+                ? monthlyRollupRepository.sumExpenseByCategory(userId, start)
+                : transactionGroupRepository.sumMonthlyExpenseByCategory(userId, start, end);
 
         log.info("사용자 {} 의 {} 카테고리별 지출: {} 개 카테고리", userId, date, response.size());
         return response;
@@ -82,39 +114,22 @@ public class StatisticsService {
      * 월간 지출 결제 기록 카테고리 별 조회(Group Emotion, Payment 포함)
      * */
     public List<MonthlyCategoryExpenseWithGroupResponse> getMonthlyExpenseByCategoryId(Long userId, String date, Long categoryId) {
-        validateDateFormat(date);
-        YearMonth yearMonth = YearMonth.parse(date, DateTimeFormatter.ofPattern("yyyy-MM"));
-        int year = yearMonth.getYear();
-        int monthValue = yearMonth.getMonthValue();
+        YearMonth yearMonth = parseYearMonth(date);
+        LocalDate start = yearMonth.atDay(1);
+        LocalDate end = yearMonth.plusMonths(1).atDay(1);
 
-        return transactionGroupRepository.findMonthlyTransactionWithGroupByCategoryIdAndUserId(userId,categoryId,year,monthValue);
+        return transactionGroupRepository.findMonthlyTransactionWithGroupByCategoryIdAndUserId(userId, categoryId, start, end);
     }
 
     /**
      * 월간 감정 통계 조회 (감정별 건수 및 총 금액)
      */
     public List<MonthlyEmotionStatisticsResponse> getMonthlyEmotionStatistics(Long userId, String date) {
-        validateDateFormat(date);
-        YearMonth yearMonth = YearMonth.parse(date, DateTimeFormatter.ofPattern("yyyy-MM"));
-        int year = yearMonth.getYear();
-        int monthValue = yearMonth.getMonthValue();
-
-        List<TransactionGroup> transactionGroups = transactionGroupRepository.findMonthlyTransactionGroupsByUserId(userId, year, monthValue);
-
-        Map<TransactionEmotion, List<TransactionGroup>> emotionGroups = transactionGroups.stream()
-                .filter(tg -> tg.getEmotion() != null)
-                .collect(Collectors.groupingBy(TransactionGroup::getEmotion));
-
-        List<MonthlyEmotionStatisticsResponse> response = emotionGroups.entrySet().stream()
-                .map(entry -> new MonthlyEmotionStatisticsResponse(
-                        entry.getKey(),
-                        (long) entry.getValue().size(),
-                        entry.getValue().stream()
-                                .flatMap(tg -> tg.getTransactions().stream())
-                                .mapToLong(Transaction::getAmount)
-                                .sum()
-                ))
-                .collect(Collectors.toList());
+        YearMonth yearMonth = parseYearMonth(date);
+        LocalDate start = yearMonth.atDay(1);
+        LocalDate end = yearMonth.plusMonths(1).atDay(1);
+
+        List<MonthlyEmotionStatisticsResponse> response = emotionStatistics(userId, start, end);
 
         log.info("사용자 {} 의 {} 감정 통계: {} 개 감정", userId, date, response.size());
         return response;
@@ -124,51 +139,72 @@ public class StatisticsService {
      * 월간 감정 비율 조회 (감정별 건수 및 퍼센트)
      */
     public List<MonthlyEmotionPercentageResponse> getMonthlyEmotionPercentage(Long userId, String date) {
-        validateDateFormat(date);
-        YearMonth yearMonth = YearMonth.parse(date, DateTimeFormatter.ofPattern("yyyy-MM"));
-        int year = yearMonth.getYear();
-        int monthValue = yearMonth.getMonthValue();
-
-        List<TransactionGroup> transactionGroups = transactionGroupRepository.findMonthlyTransactionGroupsByUserId(userId, year, monthValue);
-
-        List<TransactionGroup> transactionGroupsWithEmotion = transactionGroups.stream()
-                .filter(tg -> tg.getEmotion() != null)
-                .collect(Collectors.toList());
+        YearMonth yearMonth = parseYearMonth(date);
+        LocalDate start = yearMonth.atDay(1);
+        LocalDate end = yearMonth.plusMonths(1).atDay(1);
 
-        long totalCount = transactionGroupsWithEmotion.size();
-
-        if (totalCount == 0) {
+        List<MonthlyEmotionPercentageResponse> response = StatisticsAggregator.emotionPercentages(
+                emotionStatistics(userId, start, end));
+        if (response.isEmpty()) {
             log.info("사용자 {} 의 {} 감정 데이터 없음", userId, date);
-            return List.of();
+            return response;
         }
 
-        Map<TransactionEmotion, Long> emotionCounts = transactionGroupsWithEmotion.stream()
-                .collect(Collectors.groupingBy(
-                        TransactionGroup::getEmotion,
-                        Collectors.counting()
-                ));
-
-        List<MonthlyEmotionPercentageResponse> response = emotionCounts.entrySet().stream()
-                .map(entry -> {
-                    double percentage = Math.round((entry.getValue() * 100.0 / totalCount) * 100.0) / 100.0;
-                    return new MonthlyEmotionPercentageResponse(
-                            entry.getKey(),
-                            entry.getValue(),
-                            percentage
-                    );
-                })
-                .collect(Collectors.toList());
-
         log.info("사용자 {} 의 {} 감정 비율: {} 개 감정", userId, date, response.size());
         return response;
     }
 
     /**
-     * 날짜 형식 검증 (yyyy-MM)
+     * 월간 통계 대시보드 (총 지출 / 카테고리별 지출 / 감정 통계 / 감정 비율)
+     * 요청한 항목에 필요한 집계만 UNION ALL 로 묶어 한 번의 쿼리로 읽고, 결과 행을 한 번 순회하며 채운다.
+     */
+    public MonthlyDashboardResponse getMonthlyDashboard(Long userId, String date, Set<DashboardField> fields) {
+        YearMonth yearMonth = parseYearMonth(date);
+        LocalDate start = yearMonth.atDay(1);
+        LocalDate end = yearMonth.plusMonths(1).atDay(1);
+
+        boolean needCategories = fields.contains(DashboardField.TOTAL) || fields.contains(DashboardField.CATEGORIES);
+        boolean needEmotions = fields.contains(DashboardField.EMOTIONS) || fields.contains(DashboardField.EMOTION_PERCENTAGES);
+        List<DashboardRow> rows = monthlyRollupRepository.findDashboardRows(
+                userId, start, end, needCategories, needEmotions, monthlyRollupService.isReadable());
+
+        long totalExpense = 0;
+        List<MonthlyCategoryExpenseResponse> categories = new ArrayList<>();
+        List<MonthlyEmotionStatisticsResponse> emotions = new ArrayList<>();
+        for (DashboardRow row : rows) {
+            switch (row.kind()) {
+                case CATEGORY -> {
+                    totalExpense += row.amount();
+                    categories.add(new MonthlyCategoryExpenseResponse(row.categoryId(), row.categoryName(), row.amount()));
+                }
+                case EMOTION -> emotions.add(new MonthlyEmotionStatisticsResponse(row.emotion(), row.count(), row.amount()));
+            }
+        }
+        categories.sort(Comparator.comparing(MonthlyCategoryExpenseResponse::totalAmount).reversed());
+        emotions.sort(Comparator.comparing(MonthlyEmotionStatisticsResponse::count).reversed());
+
+        log.info("사용자 {} 의 {} 대시보드 조회 - 항목: {}, 집계 행: {}", userId, date, fields, rows.size());
+        return new MonthlyDashboardResponse(
+                fields.contains(DashboardField.TOTAL) ? totalExpense : null,
+                fields.contains(DashboardField.CATEGORIES) ? categories : null,
+                fields.contains(DashboardField.EMOTIONS) ? emotions : null,
+                fields.contains(DashboardField.EMOTION_PERCENTAGES) ? StatisticsAggregator.emotionPercentages(emotions) : null
+        );
+    }
+
+    private List<MonthlyEmotionStatisticsResponse> emotionStatistics(Long userId, LocalDate start, LocalDate end) {
+        return monthlyRollupService.isReadable()
+                ? monthlyRollupRepository.findEmotionStatistics(userId, start)
+                : transactionGroupRepository.sumMonthlyByEmotion(userId, start, end);
+    }
+
+    /**
+     * 날짜 형식 검증 (yyyy-MM) 후 변환
      */
-    private void validateDateFormat(String date) {
+    private YearMonth parseYearMonth(String date) {
         if (date == null || !date.matches("^\\d{4}-\\d{2}$")) {
             throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다. yyyy-MM 형식으로 입력해주세요. 예: 2025-01");
         }
+        return YearMonth.parse(date, YEAR_MONTH_FORMAT);
     }
 }
@@ -1,9 +1,14 @@
 package com.moa.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.moa.config.chat.UpstageConfig;
 import com.moa.dto.UpstageLLMRequest;
+import com.moa.exception.AiProviderUnavailableException;
+import com.moa.util.JsonFieldReader;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,71 +18,44 @@ import org.springframework.web.reactive.function.client.WebClient;
 @RequiredArgsConstructor
 @Slf4j
 public class UpstageStudioService {
-    private final WebClient webClient = WebClient.builder().build();
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final UpstageConfig upstageConfig;
-
-    public UpstageLLMResponse sendReceiptMessage(UpstageLLMRequest upstageLLMRequest) {
-        log.info("Upstage LLM API 호출 시작");
 
-        try {
-            // API 호출
-            UpstageLLMResponse response = webClient.post()
-                    .uri(upstageConfig.getChatUri())
-                    .header("Authorization", "Bearer " + upstageConfig.getKey())
-                    .header("Content-Type", "application/json")
-                    .bodyValue(upstageLLMRequest)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .map(root -> {
-                        return root.at("/choices/0/message/content").asText();
-                    })
-                    .map(content -> {
-                        try {
-                            ObjectMapper mapper = new ObjectMapper();
-                            mapper.findAndRegisterModules();
-                            return mapper.readValue(content, UpstageLLMResponse.class);
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
-                        }
-                    })
-                    .block();
-            if (response != null && response.items() != null) {
+    // 서킷브레이커/벌크헤드 인스턴스 이름 (resilience4j.*.instances.upstage)
+    static final String PROVIDER = "upstage";
 
-                log.info("Upstage API 호출 성공");
+    // Chat Completions 응답 본문의 답변 경로
+    private static final JsonPointer CONTENT = JsonPointer.compile("/choices/0/message/content");
+    // 실제 사용 토큰 수 (llm.usage.tokens{provider, type=prompt|completion})
+    private static final JsonPointer USAGE = JsonPointer.compile("/usage");
 
-                return response;
-            }
+    private final WebClient upstageWebClient;
+    private final JsonFieldReader jsonFieldReader;
+    private final UpstageConfig upstageConfig;
+    private final MeterRegistry meterRegistry;
 
-            throw new RuntimeException("Upstage API 응답이 비어있습니다.");
-        } catch (Exception e) {
-            log.error("Upstage API 호출 실패: {}", e.getMessage(), e);
-            throw new RuntimeException("AI 챗봇 응답 실패: " + e.getMessage());
-        }
+    record Usage(@JsonProperty("prompt_tokens") Integer promptTokens,
+                 @JsonProperty("completion_tokens") Integer completionTokens) {
     }
 
+    /**
+     * 답변(content) 문자열 반환
+     * 영수증 구조화 응답의 스키마 검증/보정은 ReceiptOutputRepairer 에서 처리한다.
+     */
+    @CircuitBreaker(name = PROVIDER, fallbackMethod = "sendMessageFallback")
+    @Bulkhead(name = PROVIDER)
     public String sendMessage(UpstageLLMRequest upstageLLMRequest) {
         log.info("Upstage API CALL");
 
         try {
-            String response = webClient.post()
+            String response = upstageWebClient.post()
                     .uri(upstageConfig.getChatUri())
                     .header("Authorization", "Bearer " + upstageConfig.getKey())
                     .header("Content-Type", "application/json")
                     .bodyValue(upstageLLMRequest)
                     .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .map(root -> {
-                        return root.at("/choices/0/message/content").asText();
-                    })
-                    .map(content -> {
-                        try {
-                            ObjectMapper mapper = new ObjectMapper();
-                            mapper.findAndRegisterModules();
-                            return mapper.readValue(content, String.class);
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
-                        }
+                    .bodyToMono(byte[].class)
+                    .mapNotNull(body -> {
+                        recordUsage(body);
+                        return jsonFieldReader.readText(body, CONTENT);
                     })
                     .block();
             if (response != null) {
@@ -93,4 +71,24 @@ public class UpstageStudioService {
             throw new RuntimeException("AI 챗봇 응답 실패: " + e.getMessage());
         }
     }
+
+    private void recordUsage(byte[] body) {
+        Usage usage = jsonFieldReader.readValue(body, USAGE, Usage.class);
+        if (usage == null) {
+            return;
+        }
+        if (usage.promptTokens() != null) {
+            meterRegistry.summary("llm.usage.tokens", "provider", PROVIDER, "type", "prompt")
+                    .record(usage.promptTokens());
+        }
+        if (usage.completionTokens() != null) {
+            meterRegistry.summary("llm.usage.tokens", "provider", PROVIDER, "type", "completion")
+                    .record(usage.completionTokens());
+        }
+    }
+
+    private String sendMessageFallback(UpstageLLMRequest upstageLLMRequest, Throwable e) {
+        log.warn("Upstage API 호출 차단/실패: {}", e.getMessage());
+        throw AiProviderUnavailableException.translate(PROVIDER, e);
+    }
 }
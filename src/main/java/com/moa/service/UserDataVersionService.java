@@ -0,0 +1,64 @@
+package com.moa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 사용자 데이터 버전 관리 (통계 응답 ETag / Last-Modified)
+ * - bump: 거래 변경과 같은 트랜잭션에서 버전을 올린다.
+ * - current: user_data_version 기본키 조회 한 번으로 읽어, 304 응답은 통계 조회 없이 처리한다.
+ * 인스턴스별 캐시를 두지 않으므로 다른 인스턴스에서 커밋된 쓰기도 바로 반영된다. (이전 데이터로 304 가 나가지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class UserDataVersionService {
+
+    private static final String BUMP_SQL = """
+            INSERT INTO user_data_version (user_id, version, updated_at)
+            VALUES (?, 1, now())
+            ON CONFLICT (user_id) DO UPDATE
+            SET version = user_data_version.version + 1,
+                updated_at = now()
+            """;
+
+    private static final String FIND_SQL = "SELECT version, updated_at FROM user_data_version WHERE user_id = ?";
+
+    private static final RowMapper<DataVersion> DATA_VERSION_MAPPER = (rs, rowNum) -> new DataVersion(
+            rs.getLong("version"),
+            rs.getTimestamp("updated_at").toInstant()
+    );
+
+    /**
+     * @param updatedAt 마지막 변경 시각 (변경 이력이 없으면 EPOCH)
+     */
+    public record DataVersion(long version, Instant updatedAt) {
+
+        static final DataVersion INITIAL = new DataVersion(0, Instant.EPOCH);
+
+        public String etag(Long userId) {
+            return "\"" + userId + "-" + version + "\"";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataVersion current(Long userId) {
+        List<DataVersion> found = jdbcTemplate.query(FIND_SQL, DATA_VERSION_MAPPER, userId);
+        return found.isEmpty() ? DataVersion.INITIAL : found.get(0);
+    }
+
+    /**
+     * 사용자 데이터 버전 증가 (거래 변경과 함께 커밋/롤백)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long userId) {
+        jdbcTemplate.update(BUMP_SQL, userId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.moa.service.chat;
+
+import com.moa.repository.AiChattingLogRepository;
+import com.moa.service.chat.clova.ClovaStudioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * 채팅 로그 임베딩 서비스
+ * 임베딩 벡터 생성 및 요청 경로 밖에서의 비동기 저장을 담당
+ * 비동기 저장에 실패한 로그는 EmbeddingBackfillWorker 가 주기적으로 재처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatEmbeddingService {
+
+    private final ClovaStudioService clovaStudioService;
+    private final AiChattingLogRepository chattingLogRepository;
+    private final EmbeddingCache embeddingCache;
+
+    /**
+     * 텍스트 임베딩 (동일 텍스트는 EmbeddingCache 에서 재사용)
+     *
+     * @return 임베딩 실패 시 null
+     */
+    public float[] embed(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return embeddingCache.get(text, clovaStudioService::embedText);
+    }
+
+    /**
+     * 저장된 채팅 로그의 임베딩 벡터를 비동기로 생성하여 반영
+     */
+    @Async("chatTaskExecutor")
+    public void embedAndStore(Long chattingId, String text) {
+        float[] embeddingVector = embed(text);
+        if (embeddingVector == null) {
+            // PENDING 상태로 남겨 백필 워커가 재시도
+            log.warn("채팅 로그 {} 임베딩 생성 실패 - 백필 대기", chattingId);
+            return;
+        }
+        chattingLogRepository.updateEmbeddingVector(chattingId, embeddingVector);
+        log.debug("채팅 로그 {} 임베딩 저장 완료", chattingId);
+    }
+}
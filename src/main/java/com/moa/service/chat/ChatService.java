@@ -1,12 +1,13 @@
 package com.moa.service.chat;
 
-import com.moa.config.chat.ClovaStudioConfig;
+import com.moa.config.chat.ReceiptBatchConfig;
 import com.moa.dto.*;
 import com.moa.dto.chat.ChatHistoryResponse;
+import com.moa.dto.chat.ReceiptBatchItemResponse;
 import com.moa.dto.chat.ReceiptResponse;
 import com.moa.dto.chat.clova.ClovaStudioRequest;
 import com.moa.entity.*;
-import com.moa.exception.InvalidImageException;
+import com.moa.exception.AiProviderUnavailableException;
 import com.moa.exception.UserNotFoundException;
 import com.moa.reponse.AiReceiptResponse;
 import com.moa.repository.AiChattingLogRepository;
@@ -15,22 +16,25 @@ import com.moa.service.OcrService;
 import com.moa.service.UpstageLLMResponse;
 import com.moa.service.UpstageStudioService;
 import com.moa.service.chat.clova.ClovaStudioService;
+import com.moa.service.image.ImagePreprocessor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -50,10 +54,22 @@ public class ChatService {
     private final UpstageStudioService upstageStudioService;
     private final AiChattingLogRepository chattingLogRepository;
     private final UserRepository userRepository;
-    private final ClovaStudioConfig clovaConfig;
     private final OcrService ocrService;
+    private final ChatEmbeddingService chatEmbeddingService;
+    private final ChatTurnService chatTurnService;
+    private final ImagePreprocessor imagePreprocessor;
+    private final OcrResultCache ocrResultCache;
+    private final ReceiptBatchConfig receiptBatchConfig;
+    private final Executor receiptBatchExecutor;
+    private final ReceiptOutputRepairer receiptOutputRepairer;
+    private final ReceiptPromptBuilder receiptPromptBuilder;
 
-    @Transactional
+    /**
+     * 대화 모드 메시지 전송
+     * 외부 AI 호출 대기 중 DB 커넥션을 점유하지 않도록 트랜잭션 없이 실행하며,
+     * 사용자 메시지 임베딩 + RAG 검색은 프롬프트 준비와 병렬로, AI 응답 임베딩은 요청 경로 밖에서 처리한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ReceiptResponse sendMessage(Long userId, String userMessage, String mode, MultipartFile image) {
         try {
             // 1. 사용자 확인
@@ -61,57 +77,9 @@ public class ChatService {
                     .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
             log.info("채팅 메시지 전송 - userId: {}, message: {}", userId, userMessage);
-            StringBuilder ragContext = null;
-            List<AiChattingLog> similarChats = new ArrayList<>();
-            // 2. 사용자 메시지 임베딩 벡터 생성 (RAG용)
-            if (userMessage != null) {
-                List<Double> userEmbedding = clovaStudioService.embedText(userMessage);
-                String embeddingVectorStr = convertEmbeddingToString(userEmbedding);
-                // 3. 사용자 메시지 저장 (임베딩 벡터 포함)
-                AiChattingLog userLog = AiChattingLog.builder()
-                        .user(user)
-                        .chatContent(userMessage)
-                        .chatType("USER")
-                        .embeddingVector(embeddingVectorStr)
-                        .build();
-                userLog = chattingLogRepository.save(userLog);
-
-                // 4. RAG: 과거 대화 중 유사한 내용 검색 (벡터 유사도 기반)
-
-                if (userEmbedding != null && !userEmbedding.isEmpty()) {
-                    log.info("RAG 벡터 검색 시작 - userId: {}", userId);
-                    similarChats = chattingLogRepository.findSimilarChats(userId, embeddingVectorStr, 5);
-                    log.info("유사한 과거 대화 {}개 발견", similarChats.size());
-                }
-                // 5: 유사한 과거 대화가 있으면 컨텍스트에 추가
-
-                if (!similarChats.isEmpty()) {
-                    ragContext = new StringBuilder("### 참고: 과거 유사한 대화 내역\n");
-                    for (AiChattingLog chat : similarChats) {
-                        if (!chat.getChattingId().equals(userLog.getChattingId())) {
-                            ragContext.append("- ").append(chat.getChatContent()).append("\n");
-                        }
-                    }
-                    log.info("유사 대화 내역 : {}", ragContext.toString());
-                }
-            }
 
-            // 6. 메시지 리스트 구성
-            List<ClovaStudioRequest.Message> messages = new ArrayList<>();
-
-            String systemPrompt = clovaConfig.getSystemPrompt();
-            log.info("RAG CONTEXT: {}", ragContext);
-            // 시스템 프롬프트 추가
-            messages.add(ClovaStudioRequest.Message.builder()
-                    .role("system")
-                    .content(ragContext != null ? ragContext.toString() + systemPrompt : systemPrompt)
-                    .build());
-
-            // 현재 사용자 메시지 추가 (이미지 포함 여부에 따라 처리)
-            messages.add(buildUserMessage(userMessage, image));
-
-            log.info("Clova Studio API 호출 - 메시지 개수: {}, RAG 활성화: {}",
-                    messages.size(), !similarChats.isEmpty());
+            // 2 ~ 6. 사용자 메시지 저장 및 프롬프트 구성
+            List<ClovaStudioRequest.Message> messages = chatTurnService.prepareChatTurn(user, userMessage, image);
 
             // 7. Clova Studio API 호출
             String aiResponse = clovaStudioService.sendMessage(messages);
@@ -120,123 +88,168 @@ public class ChatService {
 //            ChatResponse cleanReceiptResponse = extractTransactionGroupInfo(aiResponse);
 //            TransactionGroupInfo transactionGroupInfo = cleanReceiptResponse != null ? cleanReceiptResponse.getTransactionInfo() : null;
 
-            // 9. AI 응답 임베딩 벡터 생성 및 저장
-            List<Double> aiEmbedding = clovaStudioService.embedText(aiResponse);
-            String aiEmbeddingVectorStr = convertEmbeddingToString(aiEmbedding);
+            // 9. AI 응답 저장
+            AiChattingLog assistantLog = chatTurnService.saveAssistantLog(user, aiResponse);
 
-            AiChattingLog assistantLog = AiChattingLog.builder()
-                    .user(user)
-                    .chatContent(aiResponse)
-                    .chatType("ASSISTANT")
-//                    .emotion(transactionInfo != null ? transactionInfo.getEmotion().name() : null)
-                    .embeddingVector(aiEmbeddingVectorStr)
-                    .build();
-            assistantLog = chattingLogRepository.save(assistantLog);
-
-            log.info("채팅 응답 완료 - chattingId: {}, 거래내역: {}");
+            log.info("채팅 응답 완료 - chattingId: {}", assistantLog.getChattingId());
 
             return ReceiptResponse.builder()
                     .message(aiResponse)
                     .build();
 
+        } catch (AiProviderUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("채팅 메시지 전송 실패", e);
             throw new RuntimeException("채팅 처리 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
-    @Transactional
+    /**
+     * 영수증 모드 메시지 전송
+     * 채팅 로그는 즉시 커밋되어야 비동기 임베딩 반영이 가능하므로 트랜잭션 없이 실행한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AiReceiptResponse sendReceiptMessage(Long userId, String userMessage, MultipartFile image) throws IOException {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new UserNotFoundException("사용자를 찾을 수 없습니다.")
         );
 
         log.info("영수증 모드 userId : {}", userId);
+        return analyzeReceipt(user, userMessage, image);
+    }
+
+    /**
+     * 영수증 일괄 처리
+     * 이미지마다 OCR -> 구조화 -> 채팅 로그 저장을 receiptBatchExecutor 에서 병렬로 실행하고,
+     * 요청당 동시 처리 수는 receipt.batch.concurrency 로 제한한다.
+     * 한 이미지의 실패는 다른 이미지 처리에 영향을 주지 않으며 이미지별 상태로 반환한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ReceiptBatchItemResponse> sendReceiptBatch(Long userId, String userMessage, List<MultipartFile> images) {
+        User user = userRepository.findById(userId).orElseThrow(
+                () -> new UserNotFoundException("사용자를 찾을 수 없습니다.")
+        );
+
+        log.info("영수증 일괄 처리 userId : {}, 이미지 수 : {}", userId, images.size());
+        Semaphore permits = new Semaphore(receiptBatchConfig.getConcurrency());
+        List<CompletableFuture<ReceiptBatchItemResponse>> futures = new ArrayList<>(images.size());
+        try {
+            for (int i = 0; i < images.size(); i++) {
+                int index = i;
+                MultipartFile image = images.get(i);
+                permits.acquire();
+                futures.add(CompletableFuture
+                        .supplyAsync(() -> analyzeReceiptItem(user, userMessage, image, index), receiptBatchExecutor)
+                        .whenComplete((result, e) -> permits.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("영수증 일괄 처리가 중단되었습니다.");
+        }
+
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private ReceiptBatchItemResponse analyzeReceiptItem(User user, String userMessage, MultipartFile image, int index) {
+        ReceiptBatchItemResponse.ReceiptBatchItemResponseBuilder item = ReceiptBatchItemResponse.builder()
+                .index(index)
+                .fileName(image.getOriginalFilename());
+        try {
+            AiReceiptResponse response = analyzeReceipt(user, userMessage, image);
+            return item.status(ReceiptBatchItemResponse.Status.SUCCESS)
+                    .message(response.message())
+                    .transactionInfo(response.request())
+                    .build();
+        } catch (AiProviderUnavailableException e) {
+            log.warn("영수증 {}번 처리 차단 - 공급자: {}, {}", index, e.getProvider(), e.getMessage());
+            return item.status(ReceiptBatchItemResponse.Status.UNAVAILABLE)
+                    .message(e.getMessage())
+                    .build();
+        } catch (Exception e) {
+            log.error("영수증 {}번 처리 실패: {}", index, e.getMessage(), e);
+            return item.status(ReceiptBatchItemResponse.Status.FAILED)
+                    .message("영수증 처리 중 오류가 발생했습니다.")
+                    .build();
+        }
+    }
+
+    /**
+     * 영수증 한 장 처리: OCR -> 구조화(LLM) -> 자연어 변환 후 채팅 로그 저장 (임베딩은 비동기)
+     */
+    private AiReceiptResponse analyzeReceipt(User user, String userMessage, MultipartFile image) {
+        Long userId = user.getUserId();
         String text = null;
         String OcrText = null;
+        // 같은 이미지 재업로드 시 OCR / 구조화(LLM) 결과 재사용
+        String imageHash = ocrResultCache.hash(image);
         if (image != null) {
-            OcrText = ocrService.upstageOcr(image); // OCR text 출력
+            // 전처리는 서킷브레이커/벌크헤드 보호 구간 밖에서 수행 (캐시 적중 시 생략)
+            OcrText = ocrResultCache.getOcrText(userId, imageHash, () -> ocrService.upstageOcr(
+                    imagePreprocessor.prepare(image, ImagePreprocessor.Purpose.OCR))); // OCR text 출력
             log.info("OCR Text : {}", OcrText);
         }
         text = userMessage;
 
-        AiReceiptResponse response = getStructuredOutput(text, OcrText);
+        String ocrText = OcrText;
+        AiReceiptResponse response = ocrResultCache.getReceipt(userId, imageHash, text,
+                () -> getStructuredOutput(userMessage, ocrText));
         AiTransactionResponse data = response.request();
-        String embeddingText = toNaturalText(
-                new TransactionGroupInfo(
-                        null,
-                        data.transactionDate(),
-                        data.totalAmount(),
-                        data.place(),
-                        data.payment(),
-                        data.paymentMemo(),
-                        data.emotion(),
-                        data.transactions().stream().map(
-                                tr -> {
-                                    return new TransactionInfo(
-                                            null,
-                                            tr.name(),
-                                            tr.amount(),
-                                            null,
-                                            tr.categoryName(),
-                                            "EXPENSE"
-                                    );
-                                }).toList()
-
-                )
-        );
-
-        String strEmbedding = convertEmbeddingToString(clovaStudioService.embedText(embeddingText));
-        log.info("자연어 생성 및 임베딩 생성 \nNatural String: ${} \nEmbedding: ${}", embeddingText, strEmbedding);
+        String embeddingText = new TransactionGroupInfo(
+                null,
+                data.transactionDate(),
+                data.totalAmount(),
+                data.place(),
+                data.payment(),
+                data.paymentMemo(),
+                data.emotion(),
+                data.transactions().stream().map(
+                        tr -> {
+                            return new TransactionInfo(
+                                    null,
+                                    tr.name(),
+                                    tr.amount(),
+                                    null,
+                                    tr.categoryName(),
+                                    "EXPENSE"
+                            );
+                        }).toList()
+        ).toNaturalText();
+
+        log.info("자연어 생성 \nNatural String: ${}", embeddingText);
+        // 임베딩은 요청 경로 밖에서 생성 (실패 시 백필 워커가 재시도)
         AiChattingLog userLog = AiChattingLog.builder()
                 .user(user)
                 .chatContent(embeddingText)
                 .chatType("USER")
-                .embeddingVector(strEmbedding)
+                .embeddingStatus(EmbeddingStatus.PENDING)
                 .build();
-        chattingLogRepository.save(userLog);
+        userLog = chattingLogRepository.save(userLog);
+        chatEmbeddingService.embedAndStore(userLog.getChattingId(), embeddingText);
         return response;
     }
 
     private AiReceiptResponse getStructuredOutput(String text, String OcrText) {
-        //프롬프트 구성
+        //프롬프트 구성 (시스템 프롬프트는 날짜별 1회 렌더링, OCR 텍스트는 잡음 제거 + 토큰 예산 적용)
+        ReceiptPromptBuilder.ReceiptPrompt prompt = receiptPromptBuilder.build(text, OcrText);
         List<UpstageLLMRequest.Message> prompts = new ArrayList<>();
-        String OCR_ANALYSIS_INSTRUCTION = String.format(ClovaStudioConfig.OCR_ANALYSIS_INSTRUCTION, LocalDate.now().toString());
-//        Hcx007RequestDto.Message systemPrompt = Hcx007RequestDto.Message.builder()
-//                .role("system")
-//                .content(OCR_ANALYSIS_INSTRUCTION)
-//                .build();
-
 
         // 시스템 프롬프트
         prompts.add(
                 UpstageLLMRequest.Message.builder()
                         .role("system")
-                        .content(OCR_ANALYSIS_INSTRUCTION)
+                        .content(prompt.system())
                         .build()
         );
-        StringBuilder userContent = new StringBuilder();
-        if (text != null && !text.isBlank()) {
-            userContent
-                    .append(text)
-                    .append("\n\n");
-        }
-        if (OcrText != null && !OcrText.isBlank()) {
-            userContent
-                    .append("거래 내역\n")
-                    .append(OcrText)
-                    .append("\n\n");
-        }
         // 유저 입력
         prompts.add(
                 UpstageLLMRequest.Message.builder()
                         .role("user")
-                        .content(userContent.toString())
+                        .content(prompt.user())
                         .build()
         );
-        for (UpstageLLMRequest.Message message : prompts) {
-            log.info("[{}] content:\n{}", message.getRole(), message.getContent());
-        }
+        log.info("[user] content (예상 입력 토큰 {}):\n{}", prompt.estimatedTokens(), prompt.user());
 
         UpstageLLMRequest.ResponseFormat responseFormat = UpstageLLMRequest.ResponseFormat.createUpstageResponseFormat();
         // 요청 생성
@@ -255,7 +268,9 @@ public class ChatService {
                         .build())
                 .build();
 
-        UpstageLLMResponse response = upstageStudioService.sendReceiptMessage(upstageLLMRequest);
+        // 스키마에 맞지 않는 필드만 로컬/부분 보정 (OCR + 구조화 요청 전체 재시도 없음)
+        UpstageLLMResponse response = receiptOutputRepairer.resolve(
+                upstageStudioService.sendMessage(upstageLLMRequest), prompt.user());
 
         List<UpstageLLMResponse.Item> items = response.items();
         List<TransactionDetailRequest> detailRequests = items.stream().map(item -> {
@@ -348,125 +363,6 @@ public class ChatService {
         return value.isEmpty() || "null".equals(value) ? null : value;  // 빈 문자열/null 은 null 반환
     }
 
-    /**
-     * 사용자 메시지 생성 (텍스트만 또는 텍스트+이미지)
-     */
-    private ClovaStudioRequest.Message buildUserMessage(String text, MultipartFile image) {
-        if (image == null) {
-            // 텍스트만 전송 (기존 방식 - 역호환성 유지)
-            return ClovaStudioRequest.Message.builder()
-                    .role("user")
-                    .content(text)
-                    .build();
-
-        } else {
-            // 텍스트 + 이미지 (멀티모달)
-            List<ClovaStudioRequest.MessageContentPart> contentParts = new ArrayList<>();
-            if (text != null) {
-                // 텍스트 파트 추가
-                contentParts.add(ClovaStudioRequest.MessageContentPart.builder()
-                        .type("text")
-                        .text(text)
-                        .build());
-            }
-
-            // 이미지 파트 추가 (Base64 변환)
-            String base64Image = convertImageToBase64(image);
-            contentParts.add(ClovaStudioRequest.MessageContentPart.builder()
-                    .type("image_url")
-                    .dataUri(ClovaStudioRequest.ImageData.builder()
-                            .data(base64Image)
-                            .build())
-                    .build());
-
-            log.info("멀티모달 메시지 생성 완료 - 텍스트: {}, 이미지 크기: {} bytes",
-                    text, image.getSize());
-
-            return ClovaStudioRequest.Message.builder()
-                    .role("user")
-                    .content(contentParts)
-                    .build();
-        }
-    }
-
-    /**
-     * 이미지를 Base64로 변환
-     */
-    private String convertImageToBase64(MultipartFile image) {
-        try {
-            byte[] imageBytes = image.getBytes();
-            String base64 = Base64.getEncoder().encodeToString(imageBytes);
-            String mimeType = image.getContentType();
-
-            String dataUri = String.format("data:%s;base64,%s", mimeType, base64);
-
-            log.debug("이미지 Base64 변환 완료 - 원본: {} bytes, Base64: {} chars",
-                    imageBytes.length, base64.length());
-
-            return dataUri;
-        } catch (IOException e) {
-            log.error("이미지 Base64 변환 실패: {}", e.getMessage(), e);
-            throw new InvalidImageException("이미지 처리 중 오류가 발생했습니다.");
-        }
-    }
-
-    /*
-     * 지출내역을 자연스러운 문장으로 변환
-     * */
-    public String toNaturalText(TransactionGroupInfo group) {
-        List<TransactionInfo> transactions = group.transactionInfoList();
-        StringBuilder sb = new StringBuilder();
-
-        // 날짜
-        LocalDate date = group.transactionDate();
-        sb.append(String.format("%d년 %d월 %d일", date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
-
-        // 장소
-        if (group.place() != null && !group.place().isBlank()) {
-            sb.append(" ").append(group.place()).append("에서 ");
-        } else {
-            sb.append("에서 ");
-        }
-
-        // 아이템들 나열
-        List<String> items = new ArrayList<>();
-        for (TransactionInfo t : transactions) {
-            String itemStr = String.format("%s(%d원%s)",
-                    t.name(),
-                    t.amount(),
-                    t.categoryName() != null ? ", " + t.categoryName() : ""
-            );
-            items.add(itemStr);
-        }
-
-        sb.append(String.join(", ", items));
-
-        // 결제수단
-        if (group.payment() != null) {
-            sb.append("을 ").append(mapPayment(group.payment())).append("으로 결제함.");
-        } else {
-            sb.append("을 결제함.");
-        }
-
-        // 감정 표현
-        if (group.emotion() != null) {
-            sb.append(" ");
-            sb.append(TransactionEmotion.parseEmotion(group.emotion()).getNaturalString());
-        }
-
-        return sb.toString().trim();
-    }
-
-    private String mapPayment(String payment) {
-        return switch (payment) {
-            case "CARD" -> "카드";
-            case "CASH" -> "현금";
-            case "TRANSFER" -> "계좌이체";
-            default -> payment;
-        };
-    }
-
-
     public List<ChatHistoryResponse> getChatHistory(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<AiChattingLog> logs = chattingLogRepository
@@ -519,20 +415,4 @@ public class ChatService {
                 .emotion(emotionType.getEmoji())
                 .build();
     }
-
-    private String convertEmbeddingToString(List<Double> embedding) {
-        if (embedding == null || embedding.isEmpty()) {
-            return null;
-        }
-
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < embedding.size(); i++) {
-            sb.append(embedding.get(i));
-            if (i < embedding.size() - 1) {
-                sb.append(",");
-            }
-        }
-        sb.append("]");
-        return sb.toString();
-    }
 }
@@ -0,0 +1,64 @@
+package com.moa.service.chat;
+
+import com.moa.dto.chat.clova.ClovaStudioRequest;
+import com.moa.entity.AiChattingLog;
+import com.moa.entity.User;
+import com.moa.exception.UserNotFoundException;
+import com.moa.repository.UserRepository;
+import com.moa.service.chat.clova.ClovaStudioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * 대화 모드 스트리밍 서비스
+ * Flux 를 반환하는 메서드에 @Transactional 이 걸리면 리액티브 트랜잭션으로 처리되므로
+ * 트랜잭션 경계가 있는 ChatService 와 분리한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatStreamService {
+
+    private final ChatTurnService chatTurnService;
+    private final ClovaStudioService clovaStudioService;
+    private final UserRepository userRepository;
+
+    /**
+     * 대화 모드 스트리밍 메시지 전송
+     * 프롬프트 준비까지는 ChatService.sendMessage 와 동일하게 요청 스레드에서 처리하고,
+     * 이후 생성되는 응답 조각을 그대로 방출한다. 스트림이 정상 종료되면 전체 응답을 저장한다.
+     * (클라이언트가 중간에 연결을 끊으면 Clova 호출도 취소되며 응답은 저장하지 않는다.)
+     */
+    public Flux<String> streamMessage(Long userId, String userMessage, MultipartFile image) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("사용자를 찾을 수 없습니다."));
+
+        log.info("채팅 스트리밍 메시지 전송 - userId: {}, message: {}", userId, userMessage);
+
+        List<ClovaStudioRequest.Message> messages = chatTurnService.prepareChatTurn(user, userMessage, image);
+        StringBuilder aiResponse = new StringBuilder();
+
+        Mono<String> saveOnComplete = Mono.<String>fromRunnable(() -> {
+                    AiChattingLog assistantLog = chatTurnService.saveAssistantLog(user, aiResponse.toString());
+                    log.info("채팅 스트리밍 응답 완료 - chattingId: {}, 길이: {} 자",
+                            assistantLog.getChattingId(), aiResponse.length());
+                })
+                // JPA 저장은 블로킹이므로 Netty 이벤트 루프가 아닌 별도 스레드에서 실행
+                .subscribeOn(Schedulers.boundedElastic());
+
+        return clovaStudioService.streamMessage(messages)
+                .doOnNext(aiResponse::append)
+                .concatWith(Mono.defer(() -> aiResponse.isEmpty()
+                        ? Mono.error(new RuntimeException("Clova Studio API 응답이 비어있습니다."))
+                        : saveOnComplete))
+                .doOnCancel(() -> log.info("채팅 스트리밍 취소 - userId: {}, 수신 {} 자", userId, aiResponse.length()))
+                .doOnError(e -> log.error("채팅 스트리밍 실패 - userId: {}: {}", userId, e.getMessage()));
+    }
+}
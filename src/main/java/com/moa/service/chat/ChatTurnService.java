@@ -0,0 +1,200 @@
+package com.moa.service.chat;
+
+import com.moa.config.chat.ClovaStudioConfig;
+import com.moa.dto.chat.clova.ClovaStudioRequest;
+import com.moa.entity.AiChattingLog;
+import com.moa.entity.EmbeddingStatus;
+import com.moa.entity.User;
+import com.moa.exception.InvalidImageException;
+import com.moa.repository.AiChattingLogRepository;
+import com.moa.service.image.ImagePreprocessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 대화 모드 한 턴의 준비(사용자 메시지 저장 + 프롬프트 구성)와 AI 응답 저장
+ * ChatService.sendMessage 와 ChatStreamService.streamMessage 가 함께 사용한다.
+ * 채팅 로그는 저장 즉시 커밋되어야 비동기 임베딩 반영이 가능하고, 외부 AI 호출 대기 중 DB 커넥션을
+ * 점유하지 않도록 트랜잭션 없이 실행한다. (호출 측 트랜잭션 설정과 무관하게 적용되도록 별도 빈으로 분리)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ChatTurnService {
+
+    private final AiChattingLogRepository chattingLogRepository;
+    private final ClovaStudioConfig clovaConfig;
+    private final ChatEmbeddingService chatEmbeddingService;
+    private final VectorSearchService vectorSearchService;
+    private final Executor chatTaskExecutor;
+    private final ImagePreprocessor imagePreprocessor;
+
+    /**
+     * 사용자 메시지 저장 및 Clova Studio 요청 메시지 구성
+     * 사용자 메시지 임베딩 + RAG 검색은 사용자 메시지(이미지 포함) 구성과 병렬로 실행한다.
+     */
+    public List<ClovaStudioRequest.Message> prepareChatTurn(User user, String userMessage, MultipartFile image) {
+        Long userId = user.getUserId();
+
+        // 2. 사용자 메시지 임베딩 + RAG 검색 (프롬프트 준비와 병렬 실행)
+        CompletableFuture<RagContext> ragFuture = userMessage != null
+                ? CompletableFuture.supplyAsync(() -> searchRagContext(userId, userMessage), chatTaskExecutor)
+                : CompletableFuture.completedFuture(RagContext.EMPTY);
+
+        // 3. 현재 사용자 메시지 구성 (이미지 포함 여부에 따라 처리)
+        ClovaStudioRequest.Message currentMessage = buildUserMessage(userMessage, image);
+
+        RagContext rag = ragFuture.join();
+
+        // 4. 사용자 메시지 저장 (임베딩 벡터 포함)
+        if (userMessage != null) {
+            chattingLogRepository.save(AiChattingLog.builder()
+                    .user(user)
+                    .chatContent(userMessage)
+                    .chatType("USER")
+                    .embeddingVector(rag.embeddingVector())
+                    .embeddingStatus(rag.embeddingVector() != null
+                            ? EmbeddingStatus.COMPLETED : EmbeddingStatus.PENDING)
+                    .build());
+        }
+
+        // 5: 유사한 과거 대화가 있으면 컨텍스트에 추가
+        StringBuilder ragContext = null;
+        if (!rag.similarChats().isEmpty()) {
+            ragContext = new StringBuilder("### 참고: 과거 유사한 대화 내역\n");
+            for (AiChattingLog chat : rag.similarChats()) {
+                ragContext.append("- ").append(chat.getChatContent()).append("\n");
+            }
+            log.info("유사 대화 내역 : {}", ragContext.toString());
+        }
+
+        // 6. 메시지 리스트 구성
+        List<ClovaStudioRequest.Message> messages = new ArrayList<>();
+
+        String systemPrompt = clovaConfig.getSystemPrompt();
+        log.info("RAG CONTEXT: {}", ragContext);
+        // 시스템 프롬프트 추가
+        messages.add(ClovaStudioRequest.Message.builder()
+                .role("system")
+                .content(ragContext != null ? ragContext.toString() + systemPrompt : systemPrompt)
+                .build());
+
+        // 현재 사용자 메시지 추가
+        messages.add(currentMessage);
+
+        log.info("Clova Studio API 호출 - 메시지 개수: {}, RAG 활성화: {}",
+                messages.size(), !rag.similarChats().isEmpty());
+        return messages;
+    }
+
+    /**
+     * AI 응답은 PENDING 상태로 저장 후 임베딩 벡터를 비동기로 생성
+     */
+    public AiChattingLog saveAssistantLog(User user, String aiResponse) {
+        AiChattingLog assistantLog = AiChattingLog.builder()
+                .user(user)
+                .chatContent(aiResponse)
+                .chatType("ASSISTANT")
+//                .emotion(transactionInfo != null ? transactionInfo.getEmotion().name() : null)
+                .embeddingStatus(EmbeddingStatus.PENDING)
+                .build();
+        assistantLog = chattingLogRepository.save(assistantLog);
+        chatEmbeddingService.embedAndStore(assistantLog.getChattingId(), aiResponse);
+        return assistantLog;
+    }
+
+    /**
+     * 사용자 메시지 임베딩 생성 후 과거 유사 대화 검색 (RAG)
+     */
+    private RagContext searchRagContext(Long userId, String userMessage) {
+        float[] embeddingVector = chatEmbeddingService.embed(userMessage);
+        if (embeddingVector == null) {
+            return RagContext.EMPTY;
+        }
+
+        log.info("RAG 벡터 검색 시작 - userId: {}", userId);
+        List<AiChattingLog> similarChats = vectorSearchService.findSimilarChats(userId, embeddingVector, 5);
+        log.info("유사한 과거 대화 {}개 발견", similarChats.size());
+        return new RagContext(embeddingVector, similarChats);
+    }
+
+    private record RagContext(float[] embeddingVector, List<AiChattingLog> similarChats) {
+        private static final RagContext EMPTY = new RagContext(null, List.of());
+    }
+
+    /**
+     * 사용자 메시지 생성 (텍스트만 또는 텍스트+이미지)
+     */
+    private ClovaStudioRequest.Message buildUserMessage(String text, MultipartFile image) {
+        if (image == null) {
+            // 텍스트만 전송 (기존 방식 - 역호환성 유지)
+            return ClovaStudioRequest.Message.builder()
+                    .role("user")
+                    .content(text)
+                    .build();
+
+        } else {
+            // 텍스트 + 이미지 (멀티모달)
+            List<ClovaStudioRequest.MessageContentPart> contentParts = new ArrayList<>();
+            if (text != null) {
+                // 텍스트 파트 추가
+                contentParts.add(ClovaStudioRequest.MessageContentPart.builder()
+                        .type("text")
+                        .text(text)
+                        .build());
+            }
+
+            // 이미지 파트 추가 (Base64 변환)
+            String base64Image = convertImageToBase64(image);
+            contentParts.add(ClovaStudioRequest.MessageContentPart.builder()
+                    .type("image_url")
+                    .dataUri(ClovaStudioRequest.ImageData.builder()
+                            .data(base64Image)
+                            .build())
+                    .build());
+
+            log.info("멀티모달 메시지 생성 완료 - 텍스트: {}, 이미지 크기: {} bytes",
+                    text, image.getSize());
+
+            return ClovaStudioRequest.Message.builder()
+                    .role("user")
+                    .content(contentParts)
+                    .build();
+        }
+    }
+
+    /**
+     * 이미지를 Base64로 변환
+     */
+    private String convertImageToBase64(MultipartFile upload) {
+        try {
+            // 축소/재압축 후 인코딩 (원본 그대로 Base64 로 만들지 않음)
+            MultipartFile image = imagePreprocessor.prepare(upload, ImagePreprocessor.Purpose.CHAT);
+            byte[] imageBytes = image.getBytes();
+            String base64 = Base64.getEncoder().encodeToString(imageBytes);
+            String mimeType = image.getContentType();
+
+            String dataUri = String.format("data:%s;base64,%s", mimeType, base64);
+
+            log.debug("이미지 Base64 변환 완료 - 원본: {} bytes, Base64: {} chars",
+                    imageBytes.length, base64.length());
+
+            return dataUri;
+        } catch (IOException e) {
+            log.error("이미지 Base64 변환 실패: {}", e.getMessage(), e);
+            throw new InvalidImageException("이미지 처리 중 오류가 발생했습니다.");
+        }
+    }
+}
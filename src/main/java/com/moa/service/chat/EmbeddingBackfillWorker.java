@@ -0,0 +1,135 @@
+package com.moa.service.chat;
+
+import com.moa.config.chat.PgVector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 채팅 로그 임베딩 백필 워커
+ * PENDING 상태의 로그를 배치로 선점(embedding_claimed_at 기록)하여 제한된 동시성으로 임베딩을 생성하고, 결과를 일괄 반영한다.
+ * 선점은 FOR UPDATE SKIP LOCKED + 조건부 UPDATE 로 처리하여 여러 인스턴스가 같은 로그를 처리하지 않는다.
+ * 실패한 로그는 시도 횟수를 늘려 다음 주기에 재시도하며, 최대 횟수 초과 시 FAILED 처리한다.
+ * 선점 후 claim-timeout 이 지나도 끝나지 않은 로그(인스턴스 중단 등)는 다시 선점 대상이 된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "embedding.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class EmbeddingBackfillWorker {
+
+    // 상태 컬럼 도입 이전에 벡터 없이 저장된 로그(상태 NULL)도 포함
+    private static final String CLAIM_SQL = """
+            UPDATE ai_chatting_log
+            SET embedding_claimed_at = ?
+            WHERE chatting_id IN (
+                SELECT chatting_id
+                FROM ai_chatting_log
+                WHERE embedding_vector IS NULL
+                  AND (embedding_status IS NULL OR embedding_status = 'PENDING')
+                  AND (embedding_claimed_at IS NULL OR embedding_claimed_at < ?)
+                  AND created_at < ?
+                ORDER BY chatting_id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING chatting_id, chat_content
+            """;
+
+    private static final String UPDATE_COMPLETED_SQL = """
+            UPDATE ai_chatting_log
+            SET embedding_vector = ?,
+                embedding_status = 'COMPLETED'
+            WHERE chatting_id = ?
+            """;
+
+    private static final String UPDATE_FAILED_SQL = """
+            UPDATE ai_chatting_log
+            SET embedding_attempts = embedding_attempts + 1,
+                embedding_status = CASE WHEN embedding_attempts + 1 >= ? THEN 'FAILED' ELSE 'PENDING' END,
+                embedding_claimed_at = NULL
+            WHERE chatting_id = ?
+            """;
+
+    private final ChatEmbeddingService chatEmbeddingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor embeddingBackfillExecutor;
+
+    @Value("${embedding.backfill.batch-size:100}")
+    private int batchSize;
+
+    @Value("${embedding.backfill.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${embedding.backfill.grace-seconds:30}")
+    private long graceSeconds;
+
+    @Value("${embedding.backfill.claim-timeout-seconds:600}")
+    private long claimTimeoutSeconds;
+
+    @Scheduled(fixedDelayString = "${embedding.backfill.interval-ms:10000}",
+               initialDelayString = "${embedding.backfill.initial-delay-ms:30000}")
+    public void backfill() {
+        // 요청 경로에서 비동기로 생성 중인 로그와 겹치지 않도록 유예 시간 이전 로그만 처리
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingChat> pending = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new PendingChat(rs.getLong("chatting_id"), rs.getString("chat_content")),
+                now, now.minusSeconds(claimTimeoutSeconds), now.minusSeconds(graceSeconds), batchSize);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        log.info("임베딩 백필 시작 - 대상 {}건", pending.size());
+
+        List<CompletableFuture<EmbeddingResult>> futures = pending.stream()
+                .map(chat -> CompletableFuture.supplyAsync(
+                        () -> new EmbeddingResult(chat.chattingId(), embedQuietly(chat)),
+                        embeddingBackfillExecutor))
+                .toList();
+
+        List<Object[]> completed = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+        for (CompletableFuture<EmbeddingResult> future : futures) {
+            EmbeddingResult result = future.join();
+            if (result.embeddingVector() != null) {
+                completed.add(new Object[]{new PgVector(result.embeddingVector()), result.chattingId()});
+            } else {
+                failed.add(new Object[]{maxAttempts, result.chattingId()});
+            }
+        }
+
+        if (!completed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_COMPLETED_SQL, completed);
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_FAILED_SQL, failed);
+        }
+
+        log.info("임베딩 백필 완료 - 성공 {}건, 실패 {}건", completed.size(), failed.size());
+    }
+
+    private float[] embedQuietly(PendingChat chat) {
+        try {
+            return chatEmbeddingService.embed(chat.chatContent());
+        } catch (Exception e) {
+            log.warn("채팅 로그 {} 임베딩 백필 실패: {}", chat.chattingId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private record PendingChat(Long chattingId, String chatContent) {
+    }
+
+    private record EmbeddingResult(Long chattingId, float[] embeddingVector) {
+    }
+}
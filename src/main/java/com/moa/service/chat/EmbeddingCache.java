@@ -0,0 +1,179 @@
+package com.moa.service.chat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moa.config.chat.ClovaStudioConfig;
+import com.moa.config.chat.EmbeddingCacheConfig;
+import com.moa.config.chat.PgVector;
+import com.moa.config.chat.VectorType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 임베딩 결과 캐시
+ * 인사, 짧은 맞장구, 반복되는 영수증 요약처럼 자주 반복되는 텍스트의 임베딩 API 호출을 줄인다.
+ * - 키: SHA-256(모델 + 정규화된 텍스트) (NFKC, 공백 정리)
+ * - 1차: 인스턴스 메모리 (크기/TTL 제한)
+ * - 2차: embedding_cache 테이블 (embedding.cache.shared.enabled=true 일 때만, 인스턴스 간 공유)
+ * 메트릭: cache.gets{cache=embeddings} (Caffeine), embedding.cache.shared{result=hit|miss}
+ */
+@Component
+@Slf4j
+public class EmbeddingCache {
+
+    private static final String CACHE_NAME = "embeddings";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String SELECT_SHARED_SQL = """
+            SELECT embedding_vector
+            FROM embedding_cache
+            WHERE cache_key = ?
+              AND created_at > ?
+            """;
+
+    private static final String INSERT_SHARED_SQL = """
+            INSERT INTO embedding_cache (cache_key, embedding_vector, created_at)
+            VALUES (?, ?, now())
+            ON CONFLICT (cache_key) DO UPDATE
+            SET embedding_vector = EXCLUDED.embedding_vector,
+                created_at = EXCLUDED.created_at
+            """;
+
+    private final EmbeddingCacheConfig cacheConfig;
+    private final ClovaStudioConfig clovaConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, float[]> localCache;
+    private final Counter sharedHitCounter;
+    private final Counter sharedMissCounter;
+
+    public EmbeddingCache(EmbeddingCacheConfig cacheConfig,
+                          ClovaStudioConfig clovaConfig,
+                          JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry) {
+        this.cacheConfig = cacheConfig;
+        this.clovaConfig = clovaConfig;
+        this.jdbcTemplate = jdbcTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getLocalMaximumSize())
+                .expireAfterWrite(cacheConfig.getLocalTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, CACHE_NAME);
+        this.sharedHitCounter = Counter.builder("embedding.cache.shared")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.sharedMissCounter = Counter.builder("embedding.cache.shared")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에서 임베딩을 조회하고, 없으면 loader 로 생성하여 저장
+     * loader 가 null 을 반환하면 (임베딩 실패) 캐시하지 않는다.
+     */
+    public float[] get(String text, Function<String, float[]> loader) {
+        if (!cacheConfig.isEnabled()) {
+            return loader.apply(text);
+        }
+
+        String key = cacheKey(text);
+        float[] cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        cached = getShared(key);
+        if (cached != null) {
+            localCache.put(key, cached);
+            return cached;
+        }
+
+        float[] embedding = loader.apply(text);
+        if (embedding != null) {
+            localCache.put(key, embedding);
+            putShared(key, embedding);
+        }
+        return embedding;
+    }
+
+    /**
+     * 만료된 공유 캐시 정리
+     */
+    @Scheduled(cron = "${embedding.cache.shared.cleanup-cron:0 30 4 * * *}")
+    public void evictExpiredShared() {
+        if (!cacheConfig.isEnabled() || !cacheConfig.isSharedEnabled()) {
+            return;
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM embedding_cache WHERE created_at <= ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(cacheConfig.getSharedTtl())));
+        log.info("만료된 임베딩 공유 캐시 {}건 삭제", deleted);
+    }
+
+    String cacheKey(String text) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFKC))
+                .replaceAll(" ")
+                .trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(clovaConfig.getEmbeddingUrl().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private float[] getShared(String key) {
+        if (!cacheConfig.isSharedEnabled()) {
+            return null;
+        }
+        try {
+            // 바이너리 전송(DB_VECTOR_BINARY_OIDS) 시 vector 타입이 등록되지 않은 연결은 값이 비어 오므로 먼저 등록
+            List<float[]> result = jdbcTemplate.query(SELECT_SHARED_SQL,
+                    (rs, rowNum) -> {
+                        VectorType.registerVectorType(rs.getStatement().getConnection());
+                        return VectorType.toArray(rs.getObject(1));
+                    },
+                    key, Timestamp.valueOf(LocalDateTime.now().minus(cacheConfig.getSharedTtl())));
+            float[] embedding = result.isEmpty() ? null : result.get(0);
+            if (embedding == null) {
+                sharedMissCounter.increment();
+                return null;
+            }
+            sharedHitCounter.increment();
+            return embedding;
+        } catch (Exception e) {
+            // 공유 캐시 장애는 임베딩 API 호출로 대체
+            log.warn("임베딩 공유 캐시 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putShared(String key, float[] embedding) {
+        if (!cacheConfig.isSharedEnabled()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SHARED_SQL, key, new PgVector(embedding));
+        } catch (Exception e) {
+            log.warn("임베딩 공유 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.moa.service.chat;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moa.config.chat.OcrCacheConfig;
+import com.moa.reponse.AiReceiptResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 영수증 이미지 내용 기반 결과 캐시 (사용자별)
+ * - OCR 텍스트: 사용자 + SHA-256(원본 이미지)
+ * - 구조화 결과(AiReceiptResponse): 사용자 + 이미지 해시 + 사용자 메시지 해시 + 오늘 날짜
+ *   (프롬프트에 오늘 날짜가 포함되므로 날짜가 바뀌면 다시 생성)
+ * 같은 키를 동시에 요청하면 (업로드 재시도) 먼저 온 요청만 OCR/LLM 을 호출하고 나머지는 그 결과를 기다린다.
+ * 메트릭: cache.gets{cache=ocrText|receiptOutput}
+ */
+@Component
+@Slf4j
+public class OcrResultCache {
+
+    private static final int DIGEST_BUFFER_SIZE = 16 * 1024;
+
+    private final OcrCacheConfig cacheConfig;
+    private final AsyncCache<String, String> ocrTextCache;
+    private final AsyncCache<String, AiReceiptResponse> receiptCache;
+
+    public OcrResultCache(OcrCacheConfig cacheConfig, MeterRegistry meterRegistry) {
+        this.cacheConfig = cacheConfig;
+        this.ocrTextCache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaximumSize())
+                .expireAfterWrite(cacheConfig.getTtl())
+                .recordStats()
+                .buildAsync();
+        this.receiptCache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaximumSize())
+                .expireAfterWrite(cacheConfig.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, ocrTextCache.synchronous(), "ocrText");
+        CaffeineCacheMetrics.monitor(meterRegistry, receiptCache.synchronous(), "receiptOutput");
+    }
+
+    /**
+     * 업로드 이미지의 SHA-256 (파일을 조각 단위로 읽어 계산)
+     *
+     * @return 캐시 비활성화 또는 계산 실패 시 null (캐시 미사용)
+     */
+    public String hash(MultipartFile image) {
+        if (!cacheConfig.isEnabled() || image == null || image.isEmpty()) {
+            return null;
+        }
+        MessageDigest digest = sha256();
+        try (InputStream input = image.getInputStream()) {
+            byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            log.warn("이미지 해시 계산 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * OCR 텍스트 조회, 없으면 loader 로 생성 후 저장 (빈 결과는 저장하지 않음)
+     */
+    public String getOcrText(Long userId, String imageHash, Supplier<String> loader) {
+        if (imageHash == null) {
+            return loader.get();
+        }
+
+        String key = userId + ":" + imageHash;
+        return getOrLoad(ocrTextCache, key, loader, ocrText -> ocrText != null && !ocrText.isBlank(),
+                () -> log.info("OCR 캐시 적중 - userId: {}", userId));
+    }
+
+    /**
+     * 영수증 구조화 결과 조회, 없으면 loader 로 생성 후 저장
+     */
+    public AiReceiptResponse getReceipt(Long userId, String imageHash, String userMessage,
+                                        Supplier<AiReceiptResponse> loader) {
+        if (imageHash == null) {
+            return loader.get();
+        }
+
+        String key = userId + ":" + imageHash + ":" + messageHash(userMessage) + ":" + LocalDate.now();
+        return getOrLoad(receiptCache, key, loader, response -> response != null,
+                () -> log.info("영수증 구조화 결과 캐시 적중 - userId: {}", userId));
+    }
+
+    /**
+     * 캐시에 없으면 호출 스레드에서 loader 실행 (같은 키의 동시 요청은 같은 결과를 공유)
+     * 실패하거나 저장 대상이 아닌 결과는 캐시에서 제거하여 다음 요청이 다시 시도한다.
+     */
+    private <T> T getOrLoad(AsyncCache<String, T> cache, String key, Supplier<T> loader,
+                            Predicate<T> cacheable, Runnable onHit) {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> future = cache.get(key, (k, executor) -> created);
+        if (future != created) {
+            onHit.run();
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        T value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        }
+        created.complete(value);
+        if (!cacheable.test(value)) {
+            cache.asMap().remove(key, created);
+        }
+        return value;
+    }
+
+    private String messageHash(String userMessage) {
+        if (userMessage == null || userMessage.isBlank()) {
+            return "-";
+        }
+        return HexFormat.of().formatHex(sha256().digest(userMessage.trim().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.moa.service.chat;
+
+import com.moa.dto.chat.ReceiptJobResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * 영수증 분석 작업 상태 변경 알림 (인스턴스 내)
+ * 구독자가 없을 때 발생한 알림은 버려지므로 구독 측은 구독 직후 저장된 상태를 한 번 더 확인해야 한다.
+ * 다른 인스턴스에서 처리된 작업은 알림이 오지 않으므로 클라이언트는 조회 API 로 확인한다.
+ */
+@Component
+public class ReceiptJobNotifier {
+
+    // 여러 워커 스레드가 동시에 발행하므로 직렬화 충돌 시 짧게 재시도
+    private static final Sinks.EmitFailureHandler RETRY_ON_CONTENTION =
+            Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100));
+
+    private final Sinks.Many<ReceiptJobResponse> sink = Sinks.many().multicast().directBestEffort();
+
+    public void publish(ReceiptJobResponse update) {
+        sink.emitNext(update, RETRY_ON_CONTENTION);
+    }
+
+    public Flux<ReceiptJobResponse> updates(String jobId) {
+        return sink.asFlux().filter(update -> jobId.equals(update.getJobId()));
+    }
+}
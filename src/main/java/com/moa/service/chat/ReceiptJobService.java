@@ -0,0 +1,118 @@
+package com.moa.service.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.config.chat.ReceiptJobConfig;
+import com.moa.dto.chat.ReceiptJobResponse;
+import com.moa.dto.chat.ReceiptJobSummary;
+import com.moa.entity.ReceiptJob;
+import com.moa.entity.ReceiptJobStatus;
+import com.moa.entity.User;
+import com.moa.exception.ReceiptJobNotFoundException;
+import com.moa.exception.UserNotFoundException;
+import com.moa.reponse.AiReceiptResponse;
+import com.moa.repository.ReceiptJobRepository;
+import com.moa.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 영수증 분석 비동기 작업 서비스
+ * 요청 스레드에서는 작업(이미지 포함)을 저장하고 바로 작업 ID 를 반환하며,
+ * 분석(OCR -> 구조화 -> 채팅 로그 저장)은 ReceiptJobWorker 가 제한된 동시성으로 처리한다.
+ * 결과는 조회 API(폴링) 또는 완료 이벤트(SSE)로 전달한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptJobService {
+
+    private final ReceiptJobRepository receiptJobRepository;
+    private final UserRepository userRepository;
+    private final ReceiptJobWorker receiptJobWorker;
+    private final ReceiptJobNotifier receiptJobNotifier;
+    private final ReceiptJobConfig receiptJobConfig;
+    private final ObjectMapper objectMapper;
+
+    public ReceiptJobResponse submit(Long userId, String userMessage, MultipartFile image) throws IOException {
+        User user = userRepository.findById(userId).orElseThrow(
+                () -> new UserNotFoundException("사용자를 찾을 수 없습니다.")
+        );
+
+        ReceiptJob job = receiptJobRepository.save(ReceiptJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .user(user)
+                .status(ReceiptJobStatus.QUEUED)
+                .userMessage(userMessage)
+                .imageData(image.getBytes())
+                .imageContentType(image.getContentType())
+                .imageFileName(image.getOriginalFilename())
+                .availableAt(LocalDateTime.now())
+                .build());
+
+        log.info("영수증 분석 작업 등록 - userId: {}, jobId: {}", userId, job.getJobId());
+        // 워커가 모두 사용 중이면 대기 상태로 남고, 앞선 작업이 끝나거나 주기 점검 시 처리된다.
+        receiptJobWorker.dispatch(job.getJobId());
+        return toResponse(ReceiptJobSummary.from(job));
+    }
+
+    public ReceiptJobResponse getJob(Long userId, String jobId) {
+        return receiptJobRepository.findSummaryByJobIdAndUserId(jobId, userId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ReceiptJobNotFoundException("작업을 찾을 수 없습니다."));
+    }
+
+    /**
+     * 현재 상태를 먼저 보내고, 완료/실패 시 최종 상태를 보낸 뒤 종료
+     * event-timeout 내에 끝나지 않으면 그 시점의 상태를 보내고 종료한다.
+     */
+    public Flux<ReceiptJobResponse> watchJob(Long userId, String jobId) {
+        ReceiptJobResponse current = getJob(userId, jobId);
+        if (current.getStatus().isTerminal()) {
+            return Flux.just(current);
+        }
+
+        Mono<ReceiptJobResponse> reload = Mono.fromCallable(() -> getJob(userId, jobId))
+                .subscribeOn(Schedulers.boundedElastic());
+
+        // 알림 구독 후 저장된 상태를 다시 확인하여, 구독 전에 끝난 작업의 알림을 놓치지 않는다.
+        Mono<ReceiptJobResponse> finished = Flux.merge(receiptJobNotifier.updates(jobId), reload)
+                .filter(update -> update.getStatus().isTerminal())
+                .next()
+                .timeout(receiptJobConfig.getEventTimeout(), reload);
+
+        return Flux.concat(Mono.just(current), finished);
+    }
+
+    private ReceiptJobResponse toResponse(ReceiptJobSummary job) {
+        return ReceiptJobResponse.builder()
+                .jobId(job.jobId())
+                .status(job.status())
+                .result(readResult(job))
+                .errorMessage(job.errorMessage())
+                .createdAt(job.createdAt())
+                .completedAt(job.completedAt())
+                .build();
+    }
+
+    private AiReceiptResponse readResult(ReceiptJobSummary job) {
+        if (job.result() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(job.result(), AiReceiptResponse.class);
+        } catch (JsonProcessingException e) {
+            log.error("영수증 분석 결과 파싱 실패 - jobId: {}", job.jobId(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.moa.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moa.config.chat.ReceiptJobConfig;
+import com.moa.dto.chat.ReceiptJobResponse;
+import com.moa.entity.ReceiptJob;
+import com.moa.entity.ReceiptJobStatus;
+import com.moa.exception.AiProviderUnavailableException;
+import com.moa.reponse.AiReceiptResponse;
+import com.moa.repository.ReceiptJobRepository;
+import com.moa.service.image.PreprocessedImage;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 영수증 분석 작업 워커
+ * - 동시 처리 수(receipt.job.concurrency)만큼만 실행하고, 나머지는 DB 대기열(QUEUED)에 남긴다.
+ * - 작업을 마친 스레드는 대기 작업을 이어서 처리하며, 주기 점검으로 재시도 대기 작업과 누락된 작업을 처리한다.
+ * - 상태 전이는 조건부 UPDATE 로 선점하여 같은 작업이 두 번 처리되지 않는다.
+ *   완료/재시도/실패 반영도 선점한 시도 번호(attempts)가 그대로일 때만 적용한다.
+ * - 처리 중 중단된 작업(재기동, 장애)은 다시 대기열로 돌린다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptJobWorker {
+
+    private static final String CLAIM_SQL = """
+            UPDATE receipt_job
+            SET status = 'PROCESSING',
+                attempts = attempts + 1,
+                started_at = ?
+            WHERE job_id = ?
+              AND status = 'QUEUED'
+            RETURNING attempts
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE receipt_job
+            SET status = 'COMPLETED',
+                result = ?,
+                error_message = NULL,
+                image_data = NULL,
+                completed_at = ?
+            WHERE job_id = ?
+              AND status = 'PROCESSING'
+              AND attempts = ?
+            """;
+
+    private static final String RETRY_SQL = """
+            UPDATE receipt_job
+            SET status = 'QUEUED',
+                error_message = ?,
+                available_at = ?
+            WHERE job_id = ?
+              AND status = 'PROCESSING'
+              AND attempts = ?
+            """;
+
+    private static final String FAIL_SQL = """
+            UPDATE receipt_job
+            SET status = 'FAILED',
+                error_message = ?,
+                image_data = NULL,
+                completed_at = ?
+            WHERE job_id = ?
+              AND status = 'PROCESSING'
+              AND attempts = ?
+            """;
+
+    private static final String RECOVER_SQL = """
+            UPDATE receipt_job
+            SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'QUEUED' END,
+                error_message = '처리 중 중단되었습니다.',
+                image_data = CASE WHEN attempts >= ? THEN NULL ELSE image_data END,
+                completed_at = CASE WHEN attempts >= ? THEN ? ELSE NULL END,
+                available_at = ?
+            WHERE status = 'PROCESSING'
+              AND started_at < ?
+            """;
+
+    private static final String PURGE_SQL = """
+            DELETE FROM receipt_job
+            WHERE status IN ('COMPLETED', 'FAILED')
+              AND completed_at < ?
+            """;
+
+    private static final String FAILED_MESSAGE = "영수증 분석 중 오류가 발생했습니다.";
+
+    private final ReceiptJobRepository receiptJobRepository;
+    private final ChatService chatService;
+    private final ReceiptJobNotifier receiptJobNotifier;
+    private final ReceiptJobConfig receiptJobConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Executor receiptJobExecutor;
+
+    // true 면 기동 시 처리 중 상태인 작업을 모두 이전 프로세스에서 중단된 작업으로 보고 즉시 복구 (단일 인스턴스 배포 전용)
+    // 기본값 false: 다른 인스턴스가 처리 중인 작업을 다시 대기열로 돌리지 않도록 processing-timeout 경과 작업만 복구한다.
+    @Value("${receipt.job.recover-on-startup:false}")
+    private boolean recoverOnStartup;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void initPermits() {
+        permits = new Semaphore(receiptJobConfig.getConcurrency());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (recoverOnStartup) {
+            int recovered = recoverInterrupted(LocalDateTime.now());
+            if (recovered > 0) {
+                log.info("중단된 영수증 분석 작업 {}건 복구", recovered);
+            }
+        }
+        dispatchQueued();
+    }
+
+    /**
+     * 여유가 있으면 바로 처리 시작, 없으면 대기열에 남김
+     */
+    public void dispatch(String jobId) {
+        if (!permits.tryAcquire()) {
+            log.debug("영수증 분석 워커 사용 중 - 대기열 등록 jobId: {}", jobId);
+            return;
+        }
+        try {
+            receiptJobExecutor.execute(() -> runFrom(jobId));
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            log.warn("영수증 분석 작업 실행 거부 - 대기열 등록 jobId: {}", jobId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${receipt.job.poll-interval-ms:5000}",
+               initialDelayString = "${receipt.job.poll-interval-ms:5000}")
+    public void poll() {
+        int recovered = recoverInterrupted(LocalDateTime.now().minus(receiptJobConfig.getProcessingTimeout()));
+        if (recovered > 0) {
+            log.warn("처리 시간 초과 영수증 분석 작업 {}건 대기열로 복구", recovered);
+        }
+        dispatchQueued();
+    }
+
+    @Scheduled(cron = "${receipt.job.purge-cron:0 30 * * * *}")
+    public void purge() {
+        int deleted = jdbcTemplate.update(PURGE_SQL, LocalDateTime.now().minus(receiptJobConfig.getRetention()));
+        if (deleted > 0) {
+            log.info("보관 기간이 지난 영수증 분석 작업 {}건 삭제", deleted);
+        }
+    }
+
+    private void dispatchQueued() {
+        int available = permits.availablePermits();
+        if (available == 0) {
+            return;
+        }
+        receiptJobRepository.findDispatchableJobIds(LocalDateTime.now(), available)
+                .forEach(this::dispatch);
+    }
+
+    /**
+     * 작업을 처리한 뒤, 같은 스레드에서 대기 작업을 이어서 처리
+     */
+    private void runFrom(String jobId) {
+        try {
+            String next = jobId;
+            while (next != null) {
+                process(next);
+                List<String> queued = receiptJobRepository.findDispatchableJobIds(LocalDateTime.now(), 1);
+                next = queued.isEmpty() ? null : queued.get(0);
+            }
+        } catch (Exception e) {
+            log.error("영수증 분석 워커 오류: {}", e.getMessage(), e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void process(String jobId) {
+        List<Integer> claimed = jdbcTemplate.queryForList(CLAIM_SQL, Integer.class, LocalDateTime.now(), jobId);
+        if (claimed.isEmpty()) {
+            // 다른 스레드/인스턴스가 먼저 선점
+            return;
+        }
+        // 선점한 시도 번호: 처리 시간 초과로 복구되어 다른 워커가 다시 선점했으면 이 실행의 결과는 반영하지 않는다.
+        int attempt = claimed.get(0);
+        ReceiptJob job = receiptJobRepository.findWithUserByJobId(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            // 저장된 이미지를 기존 분석 경로에서 그대로 사용할 수 있도록 MultipartFile 로 감쌈
+            PreprocessedImage image = new PreprocessedImage("image",
+                    job.getImageFileName(), job.getImageContentType(), job.getImageData());
+            AiReceiptResponse result = chatService.sendReceiptMessage(
+                    job.getUser().getUserId(), job.getUserMessage(), image);
+
+            LocalDateTime completedAt = LocalDateTime.now();
+            if (jdbcTemplate.update(COMPLETE_SQL, objectMapper.writeValueAsString(result), completedAt,
+                    jobId, attempt) == 0) {
+                log.warn("영수증 분석 작업 결과 무시 (다른 시도가 처리 중) - jobId: {}, 시도: {}", jobId, attempt);
+                return;
+            }
+            log.info("영수증 분석 작업 완료 - jobId: {}, {}ms", jobId, System.currentTimeMillis() - start);
+            publish(job, ReceiptJobStatus.COMPLETED, result, null, completedAt);
+        } catch (AiProviderUnavailableException e) {
+            if (attempt < receiptJobConfig.getMaxAttempts()) {
+                // 공급자 차단은 일시적이므로 지연 후 재시도
+                if (jdbcTemplate.update(RETRY_SQL, e.getMessage(),
+                        LocalDateTime.now().plus(receiptJobConfig.getRetryDelay()), jobId, attempt) == 0) {
+                    return;
+                }
+                log.warn("영수증 분석 작업 재시도 대기 - jobId: {}, 시도: {}, {}", jobId, attempt, e.getMessage());
+                publish(job, ReceiptJobStatus.QUEUED, null, e.getMessage(), null);
+            } else {
+                fail(job, attempt, e.getMessage());
+            }
+        } catch (Exception e) {
+            log.error("영수증 분석 작업 실패 - jobId: {}", jobId, e);
+            fail(job, attempt, FAILED_MESSAGE);
+        }
+    }
+
+    private void fail(ReceiptJob job, int attempt, String errorMessage) {
+        LocalDateTime completedAt = LocalDateTime.now();
+        if (jdbcTemplate.update(FAIL_SQL, errorMessage, completedAt, job.getJobId(), attempt) == 0) {
+            return;
+        }
+        publish(job, ReceiptJobStatus.FAILED, null, errorMessage, completedAt);
+    }
+
+    private int recoverInterrupted(LocalDateTime startedBefore) {
+        int maxAttempts = receiptJobConfig.getMaxAttempts();
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update(RECOVER_SQL, maxAttempts, maxAttempts, maxAttempts, now, now, startedBefore);
+    }
+
+    private void publish(ReceiptJob job, ReceiptJobStatus status, AiReceiptResponse result,
+                         String errorMessage, LocalDateTime completedAt) {
+        receiptJobNotifier.publish(ReceiptJobResponse.builder()
+                .jobId(job.getJobId())
+                .status(status)
+                .result(result)
+                .errorMessage(errorMessage)
+                .createdAt(job.getCreatedAt())
+                .completedAt(completedAt)
+                .build());
+    }
+}
@@ -0,0 +1,177 @@
+package com.moa.service.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.moa.config.chat.ReceiptRepairConfig;
+import com.moa.dto.UpstageLLMRequest;
+import com.moa.exception.AiProviderUnavailableException;
+import com.moa.service.UpstageLLMResponse;
+import com.moa.service.UpstageStudioService;
+import com.moa.util.JsonFieldReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 영수증 구조화 응답 검증 + 부분 보정
+ * 스키마 검증에 실패해도 OCR + 구조화 요청 전체를 다시 보내지 않고,
+ * 로컬 보정 -> 깨진 필드만 묻는 작은 보정 요청 -> 기본값 순서로 채운다.
+ *
+ * 메트릭
+ * - receipt.output{provider, result=valid|local_repair|llm_repair|failed}: 응답 건수 (보정률 = *_repair / 전체)
+ * - receipt.output.fields{provider, field, stage=local|llm|fallback}: 보정된 필드 수
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptOutputRepairer {
+
+    static final String UPSTAGE = "upstage";
+    static final String CLOVA = "clova";
+
+    private static final String REPAIR_INSTRUCTION = """
+            너는 영수증 분석 결과 JSON 의 일부 필드를 고치는 도우미야.
+            원문과 "수정할 필드" 목록을 보고, 목록에 있는 필드의 올바른 값만 담은 JSON 객체를 반환해.
+            - 키는 목록의 필드 경로를 그대로 사용한다. (예: "items[0].amount")
+            - 금액은 특수문자 없이 숫자만 쓴다.
+            - 원문에서 값을 찾을 수 없으면 가장 가능성 높은 값을 쓴다.
+            """;
+
+    private final ReceiptOutputValidator validator;
+    private final UpstageStudioService upstageStudioService;
+    private final JsonFieldReader jsonFieldReader;
+    private final ReceiptRepairConfig repairConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Upstage 구조화 응답 검증/보정
+     *
+     * @param source 구조화 요청에 보낸 원문 (사용자 메시지 + OCR 텍스트)
+     */
+    public UpstageLLMResponse resolve(String content, String source) {
+        ReceiptOutputValidator.Result result = validator.validate(content);
+        countFields(UPSTAGE, "local", result.localFixes());
+        if (result.valid()) {
+            return complete(UPSTAGE, result, result.localFixes().isEmpty() ? "valid" : "local_repair");
+        }
+
+        boolean repairedByLlm = false;
+        RuntimeException repairFailure = null;
+        if (repairConfig.isEnabled()) {
+            List<ReceiptOutputValidator.BrokenField> brokenFields = result.brokenFields();
+            try {
+                result = validator.merge(result, requestRepair(brokenFields, source));
+                countFields(UPSTAGE, "llm", brokenFields.stream()
+                        .map(ReceiptOutputValidator.BrokenField::schemaKey)
+                        .toList());
+                repairedByLlm = true;
+            } catch (RuntimeException e) {
+                log.warn("영수증 응답 보정 요청 실패: {}", e.getMessage());
+                repairFailure = e;
+            }
+        }
+        return finish(UPSTAGE, result, repairedByLlm ? "llm_repair" : "local_repair", repairFailure);
+    }
+
+    /**
+     * 보정 요청 없이 로컬 보정/기본값만 적용 (원문이 없는 Clova 응답)
+     */
+    public UpstageLLMResponse resolveLocally(String content) {
+        ReceiptOutputValidator.Result result = validator.validate(content);
+        countFields(CLOVA, "local", result.localFixes());
+        if (result.valid()) {
+            return complete(CLOVA, result, result.localFixes().isEmpty() ? "valid" : "local_repair");
+        }
+        return finish(CLOVA, result, "local_repair", null);
+    }
+
+    private UpstageLLMResponse finish(String provider, ReceiptOutputValidator.Result result, String outcome,
+                                      RuntimeException repairFailure) {
+        ReceiptOutputValidator.Result filled = validator.applyFallbacks(result);
+        countFields(provider, "fallback", filled.localFixes().subList(result.localFixes().size(), filled.localFixes().size()));
+        if (filled.valid()) {
+            return complete(provider, filled, outcome);
+        }
+
+        meterRegistry.counter("receipt.output", "provider", provider, "result", "failed").increment();
+        // 공급자 장애로 보정하지 못한 경우 작업 재시도 대상이 되도록 그대로 전달
+        if (repairFailure instanceof AiProviderUnavailableException unavailable) {
+            throw unavailable;
+        }
+        List<String> paths = filled.brokenFields().stream()
+                .map(ReceiptOutputValidator.BrokenField::path)
+                .toList();
+        throw new IllegalArgumentException("AI 응답 보정 실패: " + paths);
+    }
+
+    private UpstageLLMResponse complete(String provider, ReceiptOutputValidator.Result result, String outcome) {
+        meterRegistry.counter("receipt.output", "provider", provider, "result", outcome).increment();
+        if (!"valid".equals(outcome)) {
+            log.info("영수증 응답 보정 완료 - provider: {}, result: {}", provider, outcome);
+        }
+        return validator.toResponse(result.receipt());
+    }
+
+    /**
+     * 깨진 필드만 스키마로 묶어 보정 요청 ({경로: 값} 형태의 응답)
+     */
+    private JsonNode requestRepair(List<ReceiptOutputValidator.BrokenField> brokenFields, String source) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+        StringBuilder fieldList = new StringBuilder();
+        for (ReceiptOutputValidator.BrokenField broken : brokenFields) {
+            properties.put(broken.path(), ReceiptOutputValidator.schemaOf(broken.schemaKey()));
+            required.add(broken.path());
+            fieldList.append("- ").append(broken.path())
+                    .append(": 현재 값 ").append(broken.currentValue())
+                    .append(" (").append(broken.reason()).append(")\n");
+        }
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        schema.put("required", required);
+
+        String sourceText = source == null ? "" : source;
+        if (sourceText.length() > repairConfig.getMaxSourceChars()) {
+            sourceText = sourceText.substring(0, repairConfig.getMaxSourceChars());
+        }
+
+        UpstageLLMRequest request = UpstageLLMRequest.builder()
+                .model(repairConfig.getModel())
+                .messages(List.of(
+                        UpstageLLMRequest.Message.builder()
+                                .role("system")
+                                .content(REPAIR_INSTRUCTION)
+                                .build(),
+                        UpstageLLMRequest.Message.builder()
+                                .role("user")
+                                .content("원문\n" + sourceText + "\n\n수정할 필드\n" + fieldList)
+                                .build()
+                ))
+                .response_format(UpstageLLMRequest.ResponseFormat.builder()
+                        .type("json_schema")
+                        .json_schema(UpstageLLMRequest.ResponseFormat.JsonSchema.builder()
+                                .name("ReceiptRepair")
+                                .strict(true)
+                                .schema(schema)
+                                .build())
+                        .build())
+                .build();
+
+        log.info("영수증 응답 보정 요청 - 필드: {}", required);
+        return jsonFieldReader.readJsonObject(upstageStudioService.sendMessage(request), JsonNode.class);
+    }
+
+    private void countFields(String provider, String stage, List<String> schemaKeys) {
+        for (String schemaKey : schemaKeys) {
+            meterRegistry.counter("receipt.output.fields", "provider", provider, "field", schemaKey, "stage", stage)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.moa.service.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.moa.dto.UpstageLLMRequest;
+import com.moa.entity.PaymentMethod;
+import com.moa.entity.TransactionEmotion;
+import com.moa.service.UpstageLLMResponse;
+import com.moa.util.JsonFieldReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 영수증 구조화 응답(Receipt 스키마) 필드 단위 검증
+ * - 응답 전체를 버리지 않고 필드별로 검사하여, 로컬에서 고칠 수 있는 값(금액 "9,000원", 대소문자, 감정 키워드 등)은 바로 보정한다.
+ * - 로컬에서 고칠 수 없는 필드만 경로(items[1].amount 등)로 모아 LLM 보정 대상으로 돌려준다.
+ * - 보정 요청 후에도 남은 필드는 기본값이 있으면 기본값으로 채운다. (금액/상품 목록은 기본값 없음)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReceiptOutputValidator {
+
+    static final String ITEMS = "items";
+    static final String ITEM_CATEGORY = "items[].category";
+    static final String ITEM_NAME = "items[].name";
+    static final String ITEM_AMOUNT = "items[].amount";
+    static final String EMOTION = "emotion";
+    static final String PAYMENT = "payment";
+    static final String COMMENT = "comment";
+    static final String PLACE = "place";
+    static final String TRANSACTION_DATE = "transactionDate";
+
+    private static final String DEFAULT_CATEGORY = "기타";
+    private static final String DEFAULT_PAYMENT = "card";
+    private static final String DEFAULT_COMMENT = "영수증 내용을 정리했어요. 오늘 소비도 잘 기록해 두었어요!";
+
+    // "12,000원", "₩ 3 500", "4500.0" 등 (원 단위 소수부는 버림)
+    private static final Pattern DECIMAL_SUFFIX = Pattern.compile("\\.\\d{1,2}$");
+    private static final Pattern NON_DIGIT = Pattern.compile("[^0-9]");
+    // 첫 숫자 앞의 부호/괄호: "-1,000", "₩ -500", "(1,000)" (할인/환불 줄, 정수 음수와 같이 보정 대상)
+    private static final Pattern NEGATIVE = Pattern.compile("^[^0-9]*[-−(]");
+
+    // ChatService.getStructuredOutput 이 보내는 스키마와 같은 정의를 기준으로 검사
+    private static final Map<String, Object> SCHEMA =
+            UpstageLLMRequest.ResponseFormat.createUpstageResponseFormat().getJson_schema().getSchema();
+    private static final Set<String> CATEGORIES = Set.copyOf(enumOf(schemaOf(ITEM_CATEGORY)));
+
+    private final ObjectMapper objectMapper;
+    private final JsonFieldReader jsonFieldReader;
+
+    /**
+     * 스키마를 통과하지 못한 필드
+     *
+     * @param path      응답 내 위치 (보정 프롬프트/응답의 키)
+     * @param schemaKey 스키마 정의 위치 (메트릭 태그, 보정 스키마 조회)
+     * @param fallback  보정 요청 후에도 남았을 때 채울 값 (null 이면 보정 실패)
+     */
+    public record BrokenField(String path, String schemaKey, ObjectNode parent, String field,
+                              String reason, JsonNode fallback) {
+
+        public JsonNode currentValue() {
+            return parent.get(field);
+        }
+    }
+
+    /**
+     * @param localFixes 로컬에서 보정한 필드의 schemaKey 목록
+     */
+    public record Result(ObjectNode receipt, List<BrokenField> brokenFields, List<String> localFixes) {
+
+        public boolean valid() {
+            return brokenFields.isEmpty();
+        }
+    }
+
+    /**
+     * LLM 응답 본문(코드 펜스/설명 문장 포함 가능)을 검사
+     * JSON 객체를 찾지 못하면 빈 객체 기준으로 검사하여 필수 필드 전체가 보정 대상이 된다.
+     */
+    public Result validate(String content) {
+        ObjectNode receipt;
+        try {
+            JsonNode node = jsonFieldReader.readJsonObject(content, JsonNode.class);
+            receipt = node instanceof ObjectNode objectNode ? objectNode : objectMapper.createObjectNode();
+        } catch (IllegalArgumentException e) {
+            receipt = objectMapper.createObjectNode();
+        }
+        return check(receipt);
+    }
+
+    /**
+     * 보정 응답({경로: 값})을 해당 필드에 반영한 뒤 다시 검사
+     */
+    public Result merge(Result result, JsonNode patch) {
+        for (BrokenField broken : result.brokenFields()) {
+            JsonNode value = patch.get(broken.path());
+            if (value != null && !value.isNull()) {
+                broken.parent().set(broken.field(), value);
+            }
+        }
+        return check(result.receipt());
+    }
+
+    /**
+     * 남은 필드를 기본값으로 채움 (기본값이 없는 필드가 있으면 그 필드 목록을 유지)
+     */
+    public Result applyFallbacks(Result result) {
+        List<BrokenField> remaining = new ArrayList<>();
+        List<String> localFixes = new ArrayList<>(result.localFixes());
+        for (BrokenField broken : result.brokenFields()) {
+            if (broken.fallback() == null) {
+                remaining.add(broken);
+            } else {
+                broken.parent().set(broken.field(), broken.fallback());
+                localFixes.add(broken.schemaKey());
+            }
+        }
+        return new Result(result.receipt(), remaining, localFixes);
+    }
+
+    public UpstageLLMResponse toResponse(ObjectNode receipt) {
+        try {
+            return objectMapper.treeToValue(receipt, UpstageLLMResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 파싱 실패: 스키마 불일치 또는 형식 오류", e);
+        }
+    }
+
+    /**
+     * 필드의 스키마 정의 (보정 요청의 json_schema 구성용)
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> schemaOf(String schemaKey) {
+        Map<String, Object> properties = (Map<String, Object>) SCHEMA.get("properties");
+        if (!schemaKey.startsWith(ITEMS + "[].")) {
+            return (Map<String, Object>) properties.get(schemaKey);
+        }
+        Map<String, Object> itemsProperty = (Map<String, Object>) properties.get(ITEMS);
+        Map<String, Object> itemSchema = (Map<String, Object>) itemsProperty.get("items");
+        Map<String, Object> itemProperties = (Map<String, Object>) itemSchema.get("properties");
+        return (Map<String, Object>) itemProperties.get(schemaKey.substring((ITEMS + "[].").length()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> enumOf(Map<String, Object> property) {
+        return (List<String>) property.get("enum");
+    }
+
+    private Result check(ObjectNode receipt) {
+        List<BrokenField> broken = new ArrayList<>();
+        List<String> localFixes = new ArrayList<>();
+
+        checkItems(receipt, broken, localFixes);
+        checkEmotion(receipt, localFixes);
+        checkPayment(receipt, localFixes);
+
+        if (isBlank(receipt.get(COMMENT))) {
+            broken.add(new BrokenField(COMMENT, COMMENT, receipt, COMMENT,
+                    "코칭 한마디가 비어 있습니다.", TextNode.valueOf(DEFAULT_COMMENT)));
+        }
+        normalizeOptionalText(receipt, PLACE, localFixes);
+        normalizeOptionalText(receipt, TRANSACTION_DATE, localFixes);
+
+        return new Result(receipt, broken, localFixes);
+    }
+
+    private void checkItems(ObjectNode receipt, List<BrokenField> broken, List<String> localFixes) {
+        JsonNode itemsNode = receipt.get(ITEMS);
+        if (itemsNode instanceof ArrayNode items) {
+            // 객체가 아닌 항목("아메리카노 4500" 같은 문자열)은 버린다.
+            for (int i = items.size() - 1; i >= 0; i--) {
+                if (!items.get(i).isObject()) {
+                    items.remove(i);
+                    localFixes.add(ITEMS);
+                }
+            }
+            if (!items.isEmpty()) {
+                for (int i = 0; i < items.size(); i++) {
+                    checkItem((ObjectNode) items.get(i), ITEMS + "[" + i + "]", broken, localFixes);
+                }
+                return;
+            }
+        }
+        broken.add(new BrokenField(ITEMS, ITEMS, receipt, ITEMS, "상품 목록이 없습니다.", null));
+    }
+
+    private void checkItem(ObjectNode item, String path, List<BrokenField> broken, List<String> localFixes) {
+        // Clova 프롬프트는 금액을 raw_amount 로 받는다.
+        if (!item.has("amount") && item.has("raw_amount")) {
+            item.set("amount", item.remove("raw_amount"));
+        }
+
+        JsonNode amount = item.get("amount");
+        Long parsedAmount = parseAmount(amount);
+        if (parsedAmount == null) {
+            broken.add(new BrokenField(path + ".amount", ITEM_AMOUNT, item, "amount",
+                    "금액을 숫자로 읽을 수 없습니다.", null));
+        } else if (!amount.isIntegralNumber()) {
+            // 스키마상 금액은 숫자 문자열이므로 "4500" 은 정상, 그 외 형식만 보정으로 집계
+            if (!amount.asText().equals(parsedAmount.toString())) {
+                localFixes.add(ITEM_AMOUNT);
+            }
+            item.put("amount", parsedAmount);
+        }
+
+        String category = text(item.get("category"));
+        if (category != null && CATEGORIES.contains(category.trim())) {
+            if (!category.equals(category.trim())) {
+                item.put("category", category.trim());
+                localFixes.add(ITEM_CATEGORY);
+            }
+        } else {
+            broken.add(new BrokenField(path + ".category", ITEM_CATEGORY, item, "category",
+                    "허용되지 않은 카테고리입니다.", TextNode.valueOf(DEFAULT_CATEGORY)));
+            category = DEFAULT_CATEGORY;
+        }
+
+        if (isBlank(item.get("name"))) {
+            broken.add(new BrokenField(path + ".name", ITEM_NAME, item, "name",
+                    "상품명이 비어 있습니다.", TextNode.valueOf(category.trim())));
+        }
+    }
+
+    private void checkEmotion(ObjectNode receipt, List<String> localFixes) {
+        String emotion = text(receipt.get(EMOTION));
+        // 영문 값은 대소문자 무시, 한글 설명("충동적으로 샀어요")은 키워드로 분류, 없으면 NEUTRAL
+        String parsed = TransactionEmotion.parseEmotion(emotion).name();
+        if (!parsed.equals(emotion)) {
+            receipt.put(EMOTION, parsed);
+            localFixes.add(EMOTION);
+        }
+    }
+
+    private void checkPayment(ObjectNode receipt, List<String> localFixes) {
+        String payment = text(receipt.get(PAYMENT));
+        String normalized = normalizePayment(payment);
+        if (!normalized.equals(payment)) {
+            receipt.put(PAYMENT, normalized);
+            localFixes.add(PAYMENT);
+        }
+    }
+
+    private String normalizePayment(String payment) {
+        if (payment == null || payment.isBlank()) {
+            return DEFAULT_PAYMENT;
+        }
+        String trimmed = payment.trim();
+        for (PaymentMethod method : PaymentMethod.values()) {
+            if (method.name().equalsIgnoreCase(trimmed)) {
+                return method.name().toLowerCase();
+            }
+        }
+        // 영수증에 현금 표기가 없으면 대부분 카드 결제
+        return trimmed.contains("현금") ? "cash" : DEFAULT_PAYMENT;
+    }
+
+    private void normalizeOptionalText(ObjectNode receipt, String field, List<String> localFixes) {
+        JsonNode value = receipt.get(field);
+        if (value == null || value.isNull() || value.isTextual() && !value.asText().isBlank()) {
+            return;
+        }
+        if (isBlank(value)) {
+            receipt.remove(field);
+        } else {
+            receipt.put(field, value.asText());
+        }
+        localFixes.add(field);
+    }
+
+    private Long parseAmount(JsonNode amount) {
+        if (amount == null || amount.isNull()) {
+            return null;
+        }
+        if (amount.isIntegralNumber()) {
+            return amount.asLong() >= 0 ? amount.asLong() : null;
+        }
+        String text = amount.asText().trim();
+        if (NEGATIVE.matcher(text).find()) {
+            return null;
+        }
+        String digits = NON_DIGIT.matcher(DECIMAL_SUFFIX.matcher(text).replaceFirst(""))
+                .replaceAll("");
+        if (digits.isEmpty() || digits.length() > 15) {
+            return null;
+        }
+        return Long.parseLong(digits);
+    }
+
+    private static String text(JsonNode node) {
+        return node != null && node.isValueNode() && !node.isNull() ? node.asText() : null;
+    }
+
+    private static boolean isBlank(JsonNode node) {
+        String text = text(node);
+        return text == null || text.isBlank();
+    }
+}
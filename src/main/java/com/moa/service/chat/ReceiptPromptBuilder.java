@@ -0,0 +1,235 @@
+package com.moa.service.chat;
+
+import com.moa.config.chat.ClovaStudioConfig;
+import com.moa.config.chat.ReceiptPromptConfig;
+import com.moa.util.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * 영수증 구조화 요청 프롬프트 생성
+ * - 시스템 프롬프트(OCR_ANALYSIS_INSTRUCTION)는 날짜가 바뀔 때만 렌더링하고 토큰 수도 함께 보관한다.
+ * - OCR 텍스트에서 상태 표시줄/시각/잔액/버튼 문구 같은 잡음 줄을 로컬에서 제거한다.
+ * - 예상 입력 토큰이 예산을 넘으면 OCR 텍스트 뒷부분을 줄 단위로 생략한다.
+ *   사용자 메시지도 예산에 포함하며, OCR 줄에 최소 비중(min-ocr-share)을 남기고 남는 만큼만 사용자 메시지에 준다.
+ *
+ * 메트릭
+ * - receipt.prompt.tokens{part=system|user|total}: 요청당 예상 입력 토큰
+ * - receipt.prompt.ocr.lines{result=dropped|truncated}: 제거/생략된 OCR 줄 수
+ * - receipt.prompt.text.truncated: 예산 초과로 잘린 사용자 메시지 수
+ */
+@Component
+@Slf4j
+public class ReceiptPromptBuilder {
+
+    private static final String OCR_HEADER = "거래 내역\n";
+    private static final String TEXT_SEPARATOR = "\n\n";
+    private static final String TRUNCATED_SUFFIX = "...(생략)";
+
+    private static final Pattern SEPARATOR_LINE = Pattern.compile("(?m)^[ \\t]*─+[ \\t]*\\R");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n{3,}");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    // 상태 표시줄: "13:07", "오후 1:07", "5G", "LTE 84%" 등의 조합으로만 이루어진 줄
+    private static final Pattern STATUS_BAR = Pattern.compile(
+            "^(?:(?:오전|오후)?\\s?\\d{1,2}:\\d{2}(?::\\d{2})?|[345]G\\+?|LTE\\+?|Wi-?Fi|\\d{1,3}\\s?%|\\s)+$",
+            Pattern.CASE_INSENSITIVE);
+    // 상태 표시줄로 보려면 시각이나 통신 표시가 있어야 함 ("10%" 만 있는 줄은 할인율일 수 있음)
+    private static final Pattern STATUS_BAR_ANCHOR = Pattern.compile(
+            "\\d{1,2}:\\d{2}|[345]G|LTE|Wi-?Fi", Pattern.CASE_INSENSITIVE);
+    // 글자/숫자가 하나도 없는 줄 (구분선, 아이콘 인식 결과 등)
+    private static final Pattern SYMBOL_ONLY = Pattern.compile("^[^\\p{L}\\p{N}]+$");
+    // 부호 있는 금액이 있는 줄 (은행/페이 앱 거래 내역) 바로 다음의 부호 없는 금액만 있는 줄은 잔액
+    private static final Pattern SIGNED_AMOUNT = Pattern.compile("[+-]\\s?\\d[\\d,]*\\s?원");
+    private static final Pattern AMOUNT_ONLY = Pattern.compile("^(?:잔액\\s?)?\\d[\\d,]*\\s?원$");
+    private static final Pattern DIGIT = Pattern.compile("\\d");
+    // 앱 버튼/탭 문구 (거래명이나 할인/혜택 줄로 쓰일 수 있는 단어는 제외)
+    private static final Set<String> UI_WORDS = Set.of(
+            "채우기", "보내기", "더보기", "닫기", "검색", "메뉴", "뒤로", "편집", "필터"
+    );
+
+    private record RenderedInstruction(LocalDate date, String prompt, int tokens) {
+    }
+
+    public record ReceiptPrompt(String system, String user, int estimatedTokens) {
+    }
+
+    private final ReceiptPromptConfig promptConfig;
+    private final AtomicReference<RenderedInstruction> instruction = new AtomicReference<>();
+    private final DistributionSummary systemTokens;
+    private final DistributionSummary userTokens;
+    private final DistributionSummary totalTokens;
+    private final Counter droppedLines;
+    private final Counter truncatedLines;
+    private final Counter truncatedTexts;
+
+    public ReceiptPromptBuilder(ReceiptPromptConfig promptConfig, MeterRegistry meterRegistry) {
+        this.promptConfig = promptConfig;
+        this.systemTokens = tokenSummary(meterRegistry, "system");
+        this.userTokens = tokenSummary(meterRegistry, "user");
+        this.totalTokens = tokenSummary(meterRegistry, "total");
+        this.droppedLines = Counter.builder("receipt.prompt.ocr.lines").tag("result", "dropped").register(meterRegistry);
+        this.truncatedLines = Counter.builder("receipt.prompt.ocr.lines").tag("result", "truncated").register(meterRegistry);
+        this.truncatedTexts = Counter.builder("receipt.prompt.text.truncated").register(meterRegistry);
+    }
+
+    public ReceiptPrompt build(String text, String ocrText) {
+        RenderedInstruction system = instruction(LocalDate.now());
+
+        List<String> lines = ocrText == null || ocrText.isBlank() ? List.of()
+                : promptConfig.isOcrNoiseFilter() ? compactOcr(ocrText) : ocrText.lines().toList();
+        int available = promptConfig.getMaxInputTokens() - system.tokens();
+        if (!lines.isEmpty()) {
+            available -= TokenEstimator.estimate(OCR_HEADER);
+        }
+
+        StringBuilder userContent = new StringBuilder();
+        if (text != null && !text.isBlank()) {
+            // OCR 줄 몫(필요한 만큼, 최대 min-ocr-share)을 먼저 떼어 두고 남는 예산 안에서 사용자 메시지를 자름
+            int reserved = Math.min(lineTokens(lines), (int) (available * promptConfig.getMinOcrShare()));
+            userContent
+                    .append(truncate(text, available - reserved - TokenEstimator.estimate(TEXT_SEPARATOR)))
+                    .append(TEXT_SEPARATOR);
+        }
+        if (!lines.isEmpty()) {
+            int budget = available - TokenEstimator.estimate(userContent);
+            userContent.append(OCR_HEADER);
+            appendWithinBudget(userContent, lines, budget);
+            userContent.append('\n');
+        }
+
+        String user = userContent.toString();
+        int userTokenCount = TokenEstimator.estimate(user);
+        systemTokens.record(system.tokens());
+        userTokens.record(userTokenCount);
+        totalTokens.record(system.tokens() + userTokenCount);
+        return new ReceiptPrompt(system.prompt(), user, system.tokens() + userTokenCount);
+    }
+
+    /**
+     * 오늘 날짜가 들어간 시스템 프롬프트 (날짜가 바뀐 첫 요청에서만 렌더링)
+     */
+    private RenderedInstruction instruction(LocalDate today) {
+        RenderedInstruction current = instruction.get();
+        if (current != null && current.date().equals(today)) {
+            return current;
+        }
+        String template = ClovaStudioConfig.OCR_ANALYSIS_INSTRUCTION;
+        if (promptConfig.isCompactInstruction()) {
+            template = BLANK_LINES.matcher(SEPARATOR_LINE.matcher(template).replaceAll("")).replaceAll("\n\n");
+        }
+        String prompt = String.format(template, today);
+        RenderedInstruction rendered = new RenderedInstruction(today, prompt, TokenEstimator.estimate(prompt));
+        instruction.set(rendered);
+        log.info("영수증 시스템 프롬프트 렌더링 - 날짜: {}, 예상 토큰: {}", today, rendered.tokens());
+        return rendered;
+    }
+
+    /**
+     * OCR 텍스트에서 거래와 무관한 줄 제거 (공백 정리, 숫자 없는 연속 중복 줄 제거 포함)
+     */
+    List<String> compactOcr(String ocrText) {
+        List<String> kept = new ArrayList<>();
+        String previous = null;
+        int dropped = 0;
+        for (String raw : ocrText.lines().toList()) {
+            String line = SPACES.matcher(raw).replaceAll(" ").trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            boolean noise = STATUS_BAR.matcher(line).matches() && STATUS_BAR_ANCHOR.matcher(line).find()
+                    || SYMBOL_ONLY.matcher(line).matches()
+                    || isUiText(line)
+                    // 금액이 있는 줄은 같은 상품을 연달아 산 경우일 수 있으므로 중복이어도 유지
+                    || line.equals(previous) && !DIGIT.matcher(line).find()
+                    || previous != null && AMOUNT_ONLY.matcher(line).matches() && SIGNED_AMOUNT.matcher(previous).find();
+            if (noise) {
+                dropped++;
+            } else {
+                kept.add(line);
+            }
+            previous = line;
+        }
+        droppedLines.increment(dropped);
+        return kept;
+    }
+
+    // 버튼 문구로만 이루어진 줄 ("채우기 보내기" 등)
+    private static boolean isUiText(String line) {
+        for (String word : line.split(" ")) {
+            if (!UI_WORDS.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String truncate(String text, int budget) {
+        if (TokenEstimator.estimate(text) <= budget) {
+            return text;
+        }
+        budget -= TokenEstimator.estimate(TRUNCATED_SUFFIX);
+        // 앞부분 길이에 따라 추정 토큰 수가 줄지 않으므로 이분 탐색으로 예산 안의 가장 긴 앞부분을 찾음
+        int low = 0;
+        int high = text.length();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (TokenEstimator.estimate(text.subSequence(0, mid)) <= budget) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (low > 0 && Character.isHighSurrogate(text.charAt(low - 1))) {
+            low--;
+        }
+        truncatedTexts.increment();
+        log.warn("영수증 프롬프트 입력 토큰 예산 초과 - 사용자 메시지 {}자 중 {}자만 사용", text.length(), low);
+        return text.substring(0, low) + TRUNCATED_SUFFIX;
+    }
+
+    private static int lineTokens(List<String> lines) {
+        int tokens = 0;
+        for (String line : lines) {
+            tokens += TokenEstimator.estimate(line) + 1;
+        }
+        return tokens;
+    }
+
+    private void appendWithinBudget(StringBuilder userContent, List<String> lines, int budget) {
+        int used = 0;
+        int appended = 0;
+        for (String line : lines) {
+            int lineTokens = TokenEstimator.estimate(line) + 1;
+            if (used + lineTokens > budget) {
+                break;
+            }
+            userContent.append(line).append('\n');
+            used += lineTokens;
+            appended++;
+        }
+        int omitted = lines.size() - appended;
+        if (omitted > 0) {
+            userContent.append("(이하 ").append(omitted).append("줄 생략)\n");
+            truncatedLines.increment(omitted);
+            log.warn("영수증 프롬프트 입력 토큰 예산 초과 - OCR {}줄 중 {}줄 생략", lines.size(), omitted);
+        }
+    }
+
+    private static DistributionSummary tokenSummary(MeterRegistry meterRegistry, String part) {
+        return DistributionSummary.builder("receipt.prompt.tokens")
+                .baseUnit("tokens")
+                .tag("part", part)
+                .register(meterRegistry);
+    }
+}
@@ -6,6 +6,8 @@ import com.moa.repository.CategoryRepository;
 import com.moa.repository.TransactionGroupRepository;
 import com.moa.repository.TransactionRepository;
 import com.moa.repository.UserRepository;
+import com.moa.service.MonthlyRollupService;
+import com.moa.service.UserDataVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -33,6 +35,8 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final TransactionGroupRepository transactionGroupRepository;
     private final CategoryRepository categoryRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final UserDataVersionService userDataVersionService;
 
     @Transactional
     public Long addTransactionInfo(Long userId, TransactionCreateRequest request) {
@@ -93,6 +97,9 @@ public class TransactionService {
 
         transactionGroupRepository.save(transactionGroup);
         transactionRepository.saveAll(transactionList);
+        monthlyRollupService.apply(userId, MonthlyRollupService.Contribution.EMPTY,
+                monthlyRollupService.contributionOf(transactionGroup));
+        userDataVersionService.bump(userId);
 
         log.info("사용자 {}의 거래내역 추가 완료 - 감정: {}",
                 userId, emotion);
@@ -138,9 +145,12 @@ public class TransactionService {
      */
     @Transactional
     public void updateTransaction(Long userId, Long transactionGroupId, TransactionGroupInfo transactionGroupInfo) {
+        // 변경 전 집계 기여분은 사용자 잠금을 잡은 뒤 읽어야 동시 수정 시 같은 이전 값이 두 번 빠지지 않는다.
+        monthlyRollupService.lock(userId);
         TransactionGroup transactionGroup = transactionGroupRepository.findByIdAndUser_UserId(transactionGroupId, userId).orElseThrow(
                 () -> new RuntimeException("거래 내역이 없습니다.")
         );
+        MonthlyRollupService.Contribution before = monthlyRollupService.contributionOf(transactionGroup);
         transactionGroup.update(transactionGroupInfo);
         Set<Long> requestIds = transactionGroupInfo.transactionInfoList().stream()
                 .map(TransactionInfo::transactionId)
@@ -180,6 +190,8 @@ public class TransactionService {
                             .build();
                     transactionGroup.addTransaction(newTransaction);
                 });
+        monthlyRollupService.apply(userId, before, monthlyRollupService.contributionOf(transactionGroup));
+        userDataVersionService.bump(userId);
         log.info("사용자 {}의 거래내역 {} 수정 완료", userId, transactionGroupId);
     }
 
@@ -188,11 +200,15 @@ public class TransactionService {
      */
     @Transactional
     public void deleteTransaction(Long userId, Long transactionId) {
+        monthlyRollupService.lock(userId);
         TransactionGroup transactionGroup = transactionGroupRepository.findByIdAndUser_UserId(transactionId, userId).orElseThrow(
                 () -> new RuntimeException("존재하지 않는 지출 기록입니다.")
         );
 
+        monthlyRollupService.apply(userId, monthlyRollupService.contributionOf(transactionGroup),
+                MonthlyRollupService.Contribution.EMPTY);
         transactionGroupRepository.delete(transactionGroup);
+        userDataVersionService.bump(userId);
 
         log.info("사용자 {}의 거래내역 {} 삭제 완료", userId, transactionId);
     }
@@ -227,11 +243,9 @@ public class TransactionService {
             }
         }
 
-        int year = yearMonth.getYear();
-        int month = yearMonth.getMonthValue();
-
         List<TransactionGroup> results = transactionGroupRepository.searchTransactions(
-                userId, year, month, paymentMemo, paymentMethod, transactionEmotion, categoryId
+                userId, yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1),
+                paymentMemo, paymentMethod, transactionEmotion, categoryId
         );
 
         log.info("거래내역 검색 완료 - userId: {}, yearMonth: {}, 검색 결과: {}건", userId, yearMonth, results.size());
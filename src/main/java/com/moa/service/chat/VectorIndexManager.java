@@ -0,0 +1,92 @@
+package com.moa.service.chat;
+
+import com.moa.config.chat.VectorSearchConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * RAG 벡터 인덱스 관리
+ * JPA @Index 로 표현할 수 없는 pgvector ANN 인덱스(HNSW/IVFFlat)를 애플리케이션 기동 시 생성/교체한다.
+ * - 설정된 타입의 인덱스가 없으면 CONCURRENTLY 로 생성 (쓰기 잠금 없음)
+ * - 이전 빌드 실패로 INVALID 상태인 인덱스는 삭제 후 재생성
+ * - 다른 타입의 인덱스가 남아있으면 삭제
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VectorIndexManager {
+
+    static final String HNSW_INDEX_NAME = "idx_ai_chatting_embedding_hnsw";
+    static final String IVFFLAT_INDEX_NAME = "idx_ai_chatting_embedding_ivfflat";
+
+    private final VectorSearchConfig vectorSearchConfig;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndex() {
+        if (!vectorSearchConfig.isIndexEnabled()) {
+            log.info("벡터 인덱스 관리 비활성화");
+            return;
+        }
+
+        try {
+            String indexName = vectorSearchConfig.isHnsw() ? HNSW_INDEX_NAME : IVFFLAT_INDEX_NAME;
+            String staleIndexName = vectorSearchConfig.isHnsw() ? IVFFLAT_INDEX_NAME : HNSW_INDEX_NAME;
+
+            dropIfExists(staleIndexName);
+
+            Boolean valid = findIndexValidity(indexName);
+            if (Boolean.TRUE.equals(valid)) {
+                log.info("벡터 인덱스 {} 확인 완료", indexName);
+                return;
+            }
+            if (Boolean.FALSE.equals(valid)) {
+                log.warn("벡터 인덱스 {} 가 INVALID 상태입니다. 재생성합니다.", indexName);
+                dropIfExists(indexName);
+            }
+
+            long start = System.currentTimeMillis();
+            jdbcTemplate.execute(createIndexSql(indexName));
+            log.info("벡터 인덱스 {} 생성 완료 - {}ms", indexName, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 인덱스가 없어도 정확 검색으로 동작하므로 기동은 계속한다.
+            log.error("벡터 인덱스 관리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private String createIndexSql(String indexName) {
+        if (vectorSearchConfig.isHnsw()) {
+            return String.format(
+                    "CREATE INDEX CONCURRENTLY IF NOT EXISTS %s ON ai_chatting_log " +
+                    "USING hnsw (embedding_vector vector_cosine_ops) WITH (m = %d, ef_construction = %d)",
+                    indexName, vectorSearchConfig.getHnswM(), vectorSearchConfig.getHnswEfConstruction());
+        }
+        return String.format(
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS %s ON ai_chatting_log " +
+                "USING ivfflat (embedding_vector vector_cosine_ops) WITH (lists = %d)",
+                indexName, vectorSearchConfig.getIvfflatLists());
+    }
+
+    /**
+     * @return 인덱스가 없으면 null, 있으면 유효 여부
+     */
+    private Boolean findIndexValidity(String indexName) {
+        List<Boolean> result = jdbcTemplate.queryForList(
+                "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?",
+                Boolean.class, indexName);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    private void dropIfExists(String indexName) {
+        if (findIndexValidity(indexName) != null) {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+            log.info("벡터 인덱스 {} 삭제", indexName);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.moa.service.chat;
+
+import com.moa.config.chat.VectorSearchConfig;
+import com.moa.dto.chat.VectorSearchReportResponse;
+import com.moa.entity.AiChattingLog;
+import com.moa.repository.AiChattingLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * RAG 벡터 검색 서비스
+ * 사용자의 임베딩된 대화 수에 따라 정확 검색과 근사 검색(ANN)을 선택한다.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class VectorSearchService {
+
+    // 리포트는 샘플마다 정확 검색(전체 스캔) + ANN 검색을 실행하므로 요청 값의 상한을 둔다.
+    static final int MAX_REPORT_SAMPLE_SIZE = 50;
+    static final int MAX_REPORT_LIMIT = 20;
+
+    private final AiChattingLogRepository chattingLogRepository;
+    private final VectorSearchConfig vectorSearchConfig;
+    private final Counter exactFallbacks;
+
+    public VectorSearchService(AiChattingLogRepository chattingLogRepository, VectorSearchConfig vectorSearchConfig,
+                               MeterRegistry meterRegistry) {
+        this.chattingLogRepository = chattingLogRepository;
+        this.vectorSearchConfig = vectorSearchConfig;
+        this.exactFallbacks = Counter.builder("rag.search.exact.fallback")
+                .description("ANN 결과 부족으로 정확 검색을 다시 실행한 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 과거 유사 대화 검색
+     * 대화 수가 적은 사용자는 정확 검색이 더 빠르고 정확하므로 ANN 을 사용하지 않는다.
+     * ANN 결과가 부족하면 (사용자 필터로 후보가 걸러진 경우) 정확 검색으로 보완한다.
+     */
+    public List<AiChattingLog> findSimilarChats(Long userId, float[] embeddingVector, int limit) {
+        long embeddedCount = chattingLogRepository.countEmbeddedUserChats(userId);
+        if (embeddedCount <= vectorSearchConfig.getExactThreshold()) {
+            return chattingLogRepository.findSimilarChatsExact(userId, embeddingVector, limit);
+        }
+
+        List<AiChattingLog> result = findSimilarChatsAnn(userId, embeddingVector, limit);
+        if (result.size() < Math.min(limit, embeddedCount)) {
+            exactFallbacks.increment();
+            log.debug("ANN 결과 부족({}/{}) - 정확 검색으로 대체 userId: {}", result.size(), limit, userId);
+            return chattingLogRepository.findSimilarChatsExact(userId, embeddingVector, limit);
+        }
+        return result;
+    }
+
+    /**
+     * 정확 검색 대비 ANN 재현율/지연시간 리포트
+     * 사용자의 최근 대화를 질의로 사용하여 두 검색 결과를 비교한다.
+     * sampleSize 는 1~MAX_REPORT_SAMPLE_SIZE, limit 은 1~MAX_REPORT_LIMIT 범위로 제한한다.
+     */
+    public VectorSearchReportResponse buildRecallReport(Long userId, int sampleSize, int limit) {
+        sampleSize = Math.max(1, Math.min(sampleSize, MAX_REPORT_SAMPLE_SIZE));
+        limit = Math.max(1, Math.min(limit, MAX_REPORT_LIMIT));
+        List<AiChattingLog> samples = chattingLogRepository.findRecentEmbeddedUserChats(userId, sampleSize);
+
+        double recallSum = 0;
+        long[] exactNanos = new long[samples.size()];
+        long[] annNanos = new long[samples.size()];
+
+        for (int i = 0; i < samples.size(); i++) {
+            float[] query = samples.get(i).getEmbeddingVector();
+
+            long start = System.nanoTime();
+            List<AiChattingLog> exact = chattingLogRepository.findSimilarChatsExact(userId, query, limit);
+            exactNanos[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<AiChattingLog> ann = findSimilarChatsAnn(userId, query, limit);
+            annNanos[i] = System.nanoTime() - start;
+
+            recallSum += recall(exact, ann);
+        }
+
+        return VectorSearchReportResponse.builder()
+                .indexType(vectorSearchConfig.getIndexType())
+                .searchParameter(vectorSearchConfig.isHnsw()
+                        ? vectorSearchConfig.getEfSearch() : vectorSearchConfig.getProbes())
+                .embeddedChatCount(chattingLogRepository.countEmbeddedUserChats(userId))
+                .sampleSize(samples.size())
+                .limit(limit)
+                .averageRecall(samples.isEmpty() ? null : recallSum / samples.size())
+                .exactAverageMs(averageMs(exactNanos))
+                .exactP95Ms(p95Ms(exactNanos))
+                .annAverageMs(averageMs(annNanos))
+                .annP95Ms(p95Ms(annNanos))
+                .build();
+    }
+
+    private List<AiChattingLog> findSimilarChatsAnn(Long userId, float[] embeddingVector, int limit) {
+        // 트랜잭션 범위(set_config local)로만 적용되는 검색 파라미터
+        String prefix = vectorSearchConfig.isHnsw() ? "hnsw" : "ivfflat";
+        if (vectorSearchConfig.isHnsw()) {
+            chattingLogRepository.setLocalConfig("hnsw.ef_search",
+                    String.valueOf(Math.max(vectorSearchConfig.getEfSearch(), limit)));
+        } else {
+            chattingLogRepository.setLocalConfig("ivfflat.probes",
+                    String.valueOf(vectorSearchConfig.getProbes()));
+        }
+        // 사용자 필터로 후보가 걸러져도 limit 을 채울 때까지 인덱스를 이어서 스캔
+        if (vectorSearchConfig.isIterativeScanEnabled()) {
+            chattingLogRepository.setLocalConfig(prefix + ".iterative_scan", vectorSearchConfig.getIterativeScan());
+        }
+        return chattingLogRepository.findSimilarChats(userId, embeddingVector, limit);
+    }
+
+    private double recall(List<AiChattingLog> exact, List<AiChattingLog> ann) {
+        if (exact.isEmpty()) {
+            return 1.0;
+        }
+        Set<Long> annIds = ann.stream().map(AiChattingLog::getChattingId).collect(Collectors.toSet());
+        long hit = exact.stream().map(AiChattingLog::getChattingId).filter(annIds::contains).count();
+        return (double) hit / exact.size();
+    }
+
+    private Double averageMs(long[] nanos) {
+        if (nanos.length == 0) {
+            return null;
+        }
+        return Arrays.stream(nanos).average().orElse(0) / 1_000_000.0;
+    }
+
+    private Double p95Ms(long[] nanos) {
+        if (nanos.length == 0) {
+            return null;
+        }
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(sorted.length * 0.95) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -1,9 +1,7 @@
 package com.moa.service.chat.clova;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.moa.config.chat.ClovaStudioConfig;
-import com.moa.dto.AiJson;
 import com.moa.dto.AiTransactionResponse;
 import com.moa.dto.Hcx007RequestDto;
 import com.moa.dto.TransactionDetailRequest;
@@ -11,19 +9,29 @@ import com.moa.dto.chat.clova.ClovaEmbeddingRequest;
 import com.moa.dto.chat.clova.ClovaEmbeddingResponse;
 import com.moa.dto.chat.clova.ClovaStudioRequest;
 import com.moa.dto.chat.clova.ClovaStudioResponse;
-import com.moa.entity.TransactionEmotion;
+import com.moa.entity.PaymentMethod;
+import com.moa.exception.AiProviderUnavailableException;
 import com.moa.reponse.AiReceiptResponse;
 import com.moa.repository.CategoryRepository;
+import com.moa.service.UpstageLLMResponse;
+import com.moa.service.chat.ReceiptOutputRepairer;
 import com.moa.service.chat.TransactionService;
+import com.moa.util.JsonFieldReader;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.UncheckedIOException;
 import java.util.List;
 
-import static com.moa.util.JsonParser.cleanUpJson;
 import static com.moa.util.LocalDateParser.parseLocalDate;
 
 /**
@@ -35,12 +43,25 @@ import static com.moa.util.LocalDateParser.parseLocalDate;
 @Slf4j
 public class ClovaStudioService {
 
+    // 서킷브레이커/벌크헤드 인스턴스 이름 (resilience4j.*.instances.clova)
+    private static final String PROVIDER = "clova";
+
     private final ClovaStudioConfig clovaConfig;
     private final CategoryRepository categoryRepository;
     private final TransactionService transactionService;
-    private final WebClient webClient = WebClient.builder().build();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WebClient clovaWebClient;
+    private final JsonFieldReader jsonFieldReader;
+    private final ReceiptOutputRepairer receiptOutputRepairer;
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SERVER_SENT_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    // 스트리밍 token 이벤트 data 의 답변 조각 경로
+    private static final JsonPointer STREAM_CONTENT = JsonPointer.compile("/message/content");
 
+    @CircuitBreaker(name = PROVIDER, fallbackMethod = "sendMessageFallback")
+    @Bulkhead(name = PROVIDER)
     public String sendMessage(List<ClovaStudioRequest.Message> messages) {
         try {
             // 요청 빌드
@@ -51,7 +72,7 @@ public class ClovaStudioService {
             log.info("Clova Studio API 호출 시작 - 메시지 수: {}", messages.size());
 
             // API 호출
-            ClovaStudioResponse response = webClient.post()
+            ClovaStudioResponse response = clovaWebClient.post()
                     .uri(clovaConfig.getInvokeUrl())
                     .header("Authorization", "Bearer " + clovaConfig.getApiKey())
                     .header("Content-Type", "application/json")
@@ -91,13 +112,79 @@ public class ClovaStudioService {
         }
     }
 
+    /**
+     * 스트리밍 대화 (Server-Sent Events)
+     * Clova Studio 의 token 이벤트를 받아 생성된 텍스트 조각을 순서대로 방출한다.
+     * result 이벤트(전체 응답)를 받으면 종료하고, error 이벤트는 예외로 전달한다.
+     */
+    @CircuitBreaker(name = PROVIDER, fallbackMethod = "streamMessageFallback")
+    @Bulkhead(name = PROVIDER)
+    public Flux<String> streamMessage(List<ClovaStudioRequest.Message> messages) {
+        ClovaStudioRequest request = clovaConfig.getDefaultRequestBuilder()
+                .messages(messages)
+                .build();
+
+        log.info("Clova Studio 스트리밍 호출 시작 - 메시지 수: {}", messages.size());
+
+        return clovaWebClient.post()
+                .uri(clovaConfig.getInvokeUrl())
+                .header("Authorization", "Bearer " + clovaConfig.getApiKey())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(request)
+                .retrieve()
+                .onStatus(status -> !status.is2xxSuccessful(), clientResponse -> clientResponse.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .flatMap(errorBody -> {
+                            log.error("[Clova STREAM ERROR] status={}, body={}", clientResponse.statusCode(), errorBody);
+                            return Mono.error(new RuntimeException(errorBody));
+                        }))
+                .bodyToFlux(SERVER_SENT_EVENT_TYPE)
+                .takeUntil(event -> "result".equals(event.event()))
+                .handle((event, sink) -> {
+                    String type = event.event();
+                    if ("error".equals(type)) {
+                        log.error("[Clova STREAM ERROR] data={}", event.data());
+                        sink.error(new RuntimeException("AI 챗봇 스트리밍 실패: " + event.data()));
+                        return;
+                    }
+                    if (!"token".equals(type) || event.data() == null) {
+                        return;
+                    }
+                    String content = parseStreamContent(event.data());
+                    if (content != null && !content.isEmpty()) {
+                        // 응답에서 쓸모없는 문자 제거
+                        sink.next(content.replace("`", ""));
+                    }
+                });
+    }
+
+    private String sendMessageFallback(List<ClovaStudioRequest.Message> messages, Throwable e) {
+        log.warn("Clova Studio 호출 차단/실패: {}", e.getMessage());
+        throw AiProviderUnavailableException.translate(PROVIDER, e);
+    }
+
+    private Flux<String> streamMessageFallback(List<ClovaStudioRequest.Message> messages, Throwable e) {
+        log.warn("Clova Studio 스트리밍 호출 차단/실패: {}", e.getMessage());
+        return Flux.error(AiProviderUnavailableException.translate(PROVIDER, e));
+    }
+
+    private String parseStreamContent(String data) {
+        try {
+            return jsonFieldReader.readText(data, STREAM_CONTENT);
+        } catch (UncheckedIOException e) {
+            log.warn("스트리밍 토큰 파싱 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
     public String sendReceiptMessage(Hcx007RequestDto requestDto) {
         try {
             // 요청 빌드
             log.info("Clova Studio API 호출 시작 - 메시지 수: {}", requestDto.getMessages().size());
 
             // API 호출
-            ClovaStudioResponse response = webClient.post()
+            ClovaStudioResponse response = clovaWebClient.post()
                     .uri(clovaConfig.getHCX007Url())
                     .header("Authorization", "Bearer " + clovaConfig.getApiKey())
                     .header("Content-Type", "application/json")
@@ -127,7 +214,7 @@ public class ClovaStudioService {
         }
     }
 
-    public List<Double> embedText(String text) {
+    public float[] embedText(String text) {
         try {
             log.debug("텍스트 임베딩 요청: {}", text.substring(0, Math.min(50, text.length())));
 
@@ -137,7 +224,7 @@ public class ClovaStudioService {
                     .build();
 
             // API 호출
-            ClovaEmbeddingResponse response = webClient.post()
+            ClovaEmbeddingResponse response = clovaWebClient.post()
                     .uri(clovaConfig.getEmbeddingUrl())
                     .header("Authorization", "Bearer " + clovaConfig.getApiKey())
                     .header("Content-Type", "application/json")
@@ -149,13 +236,13 @@ public class ClovaStudioService {
             // 응답 검증
             if (response == null || response.getResult() == null ||
                     response.getResult().getEmbedding() == null ||
-                    response.getResult().getEmbedding().isEmpty()) {
+                    response.getResult().getEmbedding().length == 0) {
                 log.error("임베딩 응답이 비어있습니다.");
                 return null;
             }
 
-            List<Double> embedding = response.getResult().getEmbedding();
-            log.debug("임베딩 벡터 생성 완료: {}차원", embedding.size());
+            float[] embedding = response.getResult().getEmbedding();
+            log.debug("임베딩 벡터 생성 완료: {}차원", embedding.length);
 
             return embedding;
 
@@ -168,57 +255,39 @@ public class ClovaStudioService {
     public AiReceiptResponse extractTransaction(String content) {
         log.info("Clova JSON (head 1000): {}",
                 content != null ? content.substring(0, Math.min(1000, content.length())) : "null");
-        String json = cleanUpJson(content);
-
-        AiJson aijson = jsonToDto(json);
-        log.info("Clova receipt parsed items size: {}",
-                aijson.getItems() != null ? aijson.getItems().size() : 0);
-        if (aijson.getItems() == null || aijson.getItems().isEmpty()) {
-            throw new IllegalArgumentException("AI 파싱 결과가 없습니다.");
-        }
+        // 코드 펜스/설명 문장을 제외한 JSON 객체를 필드 단위로 검증, 스키마에 맞지 않는 값은 로컬 보정
+        UpstageLLMResponse receipt = receiptOutputRepairer.resolveLocally(content);
+        log.info("Clova receipt parsed items size: {}", receipt.items().size());
 
-
-        List<TransactionDetailRequest> transactions = aijson.getItems().stream().map(
-                item -> {
-                    String categoryName = item.getCategory();
-                    return TransactionDetailRequest.fromJson(
-                            item, categoryName
-                    );
-                }
+        List<TransactionDetailRequest> transactions = receipt.items().stream().map(
+                item -> new TransactionDetailRequest(
+                        item.amount(),
+                        item.name(),
+                        item.category()
+                )
         ).toList();
         Long totalAmount = transactions.stream().mapToLong(
                 TransactionDetailRequest::amount
         ).sum();
-        String place = aijson.getPlace();
+        String place = receipt.place();
         if (place == null || place.isBlank()) {
             place = null;
         }
-        log.info("emotion : {}",aijson.getEmotion());
+        log.info("emotion : {}", receipt.emotion());
         // 거래 내역 생성 요청 DTO 형태로 반환
         AiTransactionResponse request = new AiTransactionResponse(
                 place,
-                parseLocalDate(aijson.getTransactionDate()),
-                "CARD",
+                parseLocalDate(receipt.transactionDate()),
+                PaymentMethod.from(receipt.payment()).name(),
                 null,
                 totalAmount,
-                TransactionEmotion.from(aijson.getEmotion()).name(),
+                receipt.emotion(),
                 transactions
         );
 
         return new AiReceiptResponse(
-                aijson.getComment(),
+                receipt.comment(),
                 request
         );
     }
-
-    private AiJson jsonToDto(String json) {
-        try {
-            return objectMapper.readValue(json, AiJson.class);
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException(
-                    "JSON 파싱 실패: 스키마 불일치 또는 형식 오류",
-                    e
-            );
-        }
-    }
 }
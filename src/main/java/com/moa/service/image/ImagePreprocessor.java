@@ -0,0 +1,267 @@
+package com.moa.service.image;
+
+import com.moa.config.chat.ImagePreprocessConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * OCR/LLM 전송 전 이미지 전처리
+ * - 긴 변을 max-edge 이하로 축소 (디코딩 단계에서 서브샘플링하여 원본 해상도 전체를 메모리에 올리지 않음)
+ * - EXIF 회전 정보를 픽셀에 반영한 뒤 메타데이터 없이 JPEG 로 재압축
+ * - OCR 용도는 흑백 변환
+ * 결과가 원본보다 크거나 처리에 실패하면 원본을 그대로 사용한다.
+ * 메트릭: image.preprocess{result=processed|skipped|failed}, image.preprocess.bytes.saved
+ */
+@Component
+@Slf4j
+public class ImagePreprocessor {
+
+    public enum Purpose {
+        OCR,    // 영수증/거래내역 텍스트 인식
+        CHAT    // 대화 모드 멀티모달 입력
+    }
+
+    // EXIF(APP1) 세그먼트는 파일 앞부분에 위치 (최대 64KB)
+    private static final int EXIF_HEADER_BYTES = 128 * 1024;
+
+    private final ImagePreprocessConfig config;
+    private final Counter processedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary bytesSaved;
+
+    public ImagePreprocessor(ImagePreprocessConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.processedCounter = Counter.builder("image.preprocess").tag("result", "processed").register(meterRegistry);
+        this.skippedCounter = Counter.builder("image.preprocess").tag("result", "skipped").register(meterRegistry);
+        this.failedCounter = Counter.builder("image.preprocess").tag("result", "failed").register(meterRegistry);
+        this.bytesSaved = DistributionSummary.builder("image.preprocess.bytes.saved")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public MultipartFile prepare(MultipartFile image, Purpose purpose) {
+        if (!config.isEnabled() || image == null || image.isEmpty()) {
+            return image;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            byte[] processed = process(image, purpose);
+            if (processed == null || processed.length >= image.getSize()) {
+                skippedCounter.increment();
+                return image;
+            }
+
+            processedCounter.increment();
+            bytesSaved.record(image.getSize() - processed.length);
+            log.info("이미지 전처리 완료 - {}: {} bytes -> {} bytes ({}ms)",
+                    purpose, image.getSize(), processed.length, System.currentTimeMillis() - start);
+
+            return new PreprocessedImage(image.getName(), toJpegFilename(image.getOriginalFilename()),
+                    "image/jpeg", processed);
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("이미지 전처리 실패 - 원본 사용: {}", e.getMessage());
+            return image;
+        }
+    }
+
+    /**
+     * @return 전처리가 필요 없으면 null
+     */
+    private byte[] process(MultipartFile image, Purpose purpose) throws IOException {
+        int orientation;
+        try (InputStream header = image.getInputStream()) {
+            orientation = readExifOrientation(header.readNBytes(EXIF_HEADER_BYTES));
+        }
+
+        try (InputStream input = image.getInputStream();
+             ImageInputStream imageInput = ImageIO.createImageInputStream(input)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int longestEdge = Math.max(width, height);
+
+                boolean grayscale = purpose == Purpose.OCR ? config.isGrayscaleOcr() : config.isGrayscaleChat();
+                if (longestEdge <= config.getMaxEdge() && image.getSize() <= config.getSkipBelowBytes()
+                        && orientation == 1) {
+                    return null;
+                }
+
+                // 정수 배 서브샘플링으로 디코딩 메모리를 줄이고, 남은 배율은 그리기 단계에서 축소
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, longestEdge / config.getMaxEdge());
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                return encodeJpeg(render(decoded, orientation, grayscale));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage render(BufferedImage source, int orientation, boolean grayscale) {
+        double scale = Math.min(1.0, (double) config.getMaxEdge() / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        boolean swap = orientation >= 5;
+
+        BufferedImage target = new BufferedImage(swap ? height : width, swap ? width : height,
+                grayscale ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB);
+
+        AffineTransform transform = orientationTransform(orientation, width, height);
+        transform.concatenate(AffineTransform.getScaleInstance(scale, scale));
+
+        Graphics2D g = target.createGraphics();
+        try {
+            // 투명 배경(PNG)은 흰색으로
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, target.getWidth(), target.getHeight());
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * EXIF Orientation(1~8) 을 픽셀 좌표 변환으로 (width, height 는 회전 전 크기)
+     */
+    private AffineTransform orientationTransform(int orientation, int width, int height) {
+        return switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);
+            default -> new AffineTransform();
+        };
+    }
+
+    /**
+     * 메타데이터 없이 JPEG 인코딩
+     */
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(config.getJpegQuality());
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private String toJpegFilename(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return "image.jpg";
+        }
+        int dot = filename.lastIndexOf('.');
+        return (dot < 0 ? filename : filename.substring(0, dot)) + ".jpg";
+    }
+
+    /**
+     * JPEG EXIF(APP1) 의 Orientation 태그 조회
+     *
+     * @return 1 ~ 8 (정보가 없으면 1)
+     */
+    static int readExifOrientation(byte[] data) {
+        if (data.length < 4 || (data[0] & 0xFF) != 0xFF || (data[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+
+        int pos = 2;
+        while (pos + 4 <= data.length) {
+            if ((data[pos] & 0xFF) != 0xFF) {
+                return 1;
+            }
+            int marker = data[pos + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) {
+                // 이미지 데이터 시작 (SOS) / 끝 (EOI)
+                return 1;
+            }
+            int length = ((data[pos + 2] & 0xFF) << 8) | (data[pos + 3] & 0xFF);
+            if (marker == 0xE1 && pos + 10 <= data.length
+                    && data[pos + 4] == 'E' && data[pos + 5] == 'x' && data[pos + 6] == 'i' && data[pos + 7] == 'f') {
+                return readTiffOrientation(data, pos + 10, Math.min(data.length, pos + 2 + length));
+            }
+            pos += 2 + length;
+        }
+        return 1;
+    }
+
+    private static int readTiffOrientation(byte[] data, int tiffStart, int end) {
+        if (tiffStart + 8 > end) {
+            return 1;
+        }
+        boolean littleEndian = data[tiffStart] == 'I' && data[tiffStart + 1] == 'I';
+        int ifd = tiffStart + readInt(data, tiffStart + 4, littleEndian);
+        if (ifd < tiffStart || ifd + 2 > end) {
+            return 1;
+        }
+
+        int entries = readShort(data, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                break;
+            }
+            if (readShort(data, entry, littleEndian) == 0x0112) {
+                int orientation = readShort(data, entry + 8, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean littleEndian) {
+        return littleEndian
+                ? (readShort(data, offset + 2, true) << 16) | readShort(data, offset, true)
+                : (readShort(data, offset, false) << 16) | readShort(data, offset + 2, false);
+    }
+}
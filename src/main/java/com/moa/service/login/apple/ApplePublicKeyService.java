@@ -1,7 +1,9 @@
 package com.moa.service.login.apple;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.moa.config.login.apple.AppleOAuthConfig;
 import com.moa.dto.login.apple.ApplePublicKeys;
+import com.moa.util.JsonFieldReader;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,12 +12,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
 import java.security.PublicKey;
 import java.security.spec.RSAPublicKeySpec;
 import java.util.Base64;
-import java.util.Map;
 
 /**
  * Apple Public Key 서비스
@@ -26,8 +26,11 @@ import java.util.Map;
 @Slf4j
 public class ApplePublicKeyService {
 
-    private final WebClient webClient = WebClient.builder().build();
-    private static final String APPLE_JWKS_URL = "https://appleid.apple.com/auth/keys";
+    private final WebClient appleWebClient;
+    private final AppleOAuthConfig appleConfig;
+    private final JsonFieldReader jsonFieldReader;
+
+    private static final JsonPointer KID = JsonPointer.compile("/kid");
 
     /**
      * Apple Public Keys 조회 (캐싱)
@@ -38,8 +41,8 @@ public class ApplePublicKeyService {
         try {
             log.info("Apple Public Keys 조회 시작");
 
-            ApplePublicKeys publicKeys = webClient.get()
-                .uri(APPLE_JWKS_URL)
+            ApplePublicKeys publicKeys = appleWebClient.get()
+                .uri(appleConfig.getPublicKeyUrl())
                 .retrieve()
                 .bodyToMono(ApplePublicKeys.class)
                 .block();
@@ -70,13 +73,8 @@ public class ApplePublicKeyService {
                 throw new RuntimeException("잘못된 ID Token 형식입니다.");
             }
 
-            String header = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
-
-            ObjectMapper mapper = new ObjectMapper();
-            @SuppressWarnings("unchecked")
-            Map<String, String> headerMap = mapper.readValue(header, Map.class);
-
-            String kid = headerMap.get("kid");
+            byte[] header = Base64.getUrlDecoder().decode(parts[0]);
+            String kid = jsonFieldReader.readText(header, KID);
             if (kid == null || kid.isEmpty()) {
                 throw new RuntimeException("ID Token 헤더에 kid가 없습니다.");
             }
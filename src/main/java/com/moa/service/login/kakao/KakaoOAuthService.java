@@ -13,9 +13,7 @@ import com.moa.dto.login.kakao.KakaoUserInfo;
 @Slf4j
 public class KakaoOAuthService {
 
-    private static final String KAKAO_USER_INFO_URL = "https://kapi.kakao.com/v2/user/me";
-
-    private final WebClient webClient = WebClient.builder().build();
+    private final WebClient kakaoWebClient;
     private final KakaoOAuthConfig kakaoConfig;
 
     /**
@@ -23,8 +21,8 @@ public class KakaoOAuthService {
      */
     public KakaoUserInfo getUserInfo(String accessToken) {
         try {
-            KakaoUserInfo userInfo = webClient.get()
-                    .uri(KAKAO_USER_INFO_URL)
+            KakaoUserInfo userInfo = kakaoWebClient.get()
+                    .uri(kakaoConfig.getUserInfoUrl())
                     .header("Authorization", "Bearer " + accessToken)
                     .retrieve()
                     .bodyToMono(KakaoUserInfo.class)
@@ -68,8 +66,8 @@ public class KakaoOAuthService {
             // Form Data 생성
             String formData = "target_id_type=user_id&target_id=" + kakaoUserId;
 
-            webClient.post()
-                .uri("https://kapi.kakao.com/v1/user/unlink")
+            kakaoWebClient.post()
+                .uri(kakaoConfig.getUnlinkUrl())
                 .header("Authorization", "KakaoAK " + kakaoConfig.getAdminKey())
                 .header("Content-Type", "application/x-www-form-urlencoded")
                 .bodyValue(formData)
@@ -90,8 +88,8 @@ public class KakaoOAuthService {
      */
     public void unlinkKakao(String accessToken) {
         try {
-            webClient.post()
-                    .uri("https://kapi.kakao.com/v1/user/unlink")
+            kakaoWebClient.post()
+                    .uri(kakaoConfig.getUnlinkUrl())
                     .header("Authorization", "Bearer " + accessToken)
                     .retrieve()
                     .bodyToMono(Void.class)
@@ -1,7 +1,9 @@
 package com.moa.service.login.kakao;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.moa.config.login.kakao.KakaoOAuthConfig;
 import com.moa.dto.login.kakao.KakaoPublicKeys;
+import com.moa.util.JsonFieldReader;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
@@ -13,7 +15,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
 import java.security.PublicKey;
 import java.security.interfaces.RSAPublicKey;
@@ -31,8 +32,11 @@ import java.util.Map;
 @Slf4j
 public class KakaoOIDCService {
 
-    private final WebClient webClient = WebClient.builder().build();
-    private static final String KAKAO_JWKS_URL = "https://kauth.kakao.com/.well-known/jwks.json";
+    private final WebClient kakaoWebClient;
+    private final KakaoOAuthConfig kakaoConfig;
+    private final JsonFieldReader jsonFieldReader;
+
+    private static final JsonPointer KID = JsonPointer.compile("/kid");
 
     /**
      * 카카오 Public Keys 조회 (캐싱)
@@ -43,8 +47,8 @@ public class KakaoOIDCService {
         try {
             log.info("카카오 Public Keys 조회 시작");
 
-            KakaoPublicKeys publicKeys = webClient.get()
-                .uri(KAKAO_JWKS_URL)
+            KakaoPublicKeys publicKeys = kakaoWebClient.get()
+                .uri(kakaoConfig.getJwksUrl())
                 .retrieve()
                 .bodyToMono(KakaoPublicKeys.class)
                 .block();
@@ -130,12 +134,8 @@ public class KakaoOIDCService {
                 throw new RuntimeException("잘못된 ID Token 형식입니다.");
             }
 
-            String header = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
-
-            ObjectMapper mapper = new ObjectMapper();
-            Map<String, String> headerMap = mapper.readValue(header, Map.class);
-
-            String kid = headerMap.get("kid");
+            byte[] header = Base64.getUrlDecoder().decode(parts[0]);
+            String kid = jsonFieldReader.readText(header, KID);
             if (kid == null || kid.isEmpty()) {
                 throw new RuntimeException("ID Token 헤더에 kid가 없습니다.");
             }
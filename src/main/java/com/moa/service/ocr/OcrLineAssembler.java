@@ -0,0 +1,224 @@
+package com.moa.service.ocr;
+
+import com.moa.dto.ClovaOcrResponse;
+import com.moa.dto.UpstageOcrResponse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * OCR 단어 목록을 줄 단위 텍스트로 재구성
+ * - 단어마다 바운딩 박스(최소 X, 중심 X/Y, 높이)를 한 번만 계산하여 기본형 배열에 저장
+ * - (좌표, 인덱스)를 long 하나로 묶어 기본형 정렬 (박싱 Comparator 없음, 동일 좌표는 입력 순서 유지)
+ * - 정렬된 인덱스를 한 번 순회하며 줄을 나누고, 줄 내부는 X 순으로 정렬하여 하나의 버퍼에 출력
+ * - 기울어진 영수증은 단어 윗변 기울기의 중앙값으로 Y 좌표를 보정하여 한 줄이 여러 줄로 갈라지지 않게 한다.
+ *
+ * 인스턴스는 스레드 안전하지 않다. 요청마다 생성하거나 같은 스레드에서만 재사용한다.
+ */
+public final class OcrLineAssembler {
+
+    private static final double MIN_CONFIDENCE = 0.6;
+    private static final float LINE_THRESHOLD_RATIO = 0.6f;
+
+    // 기울기 보정 범위: 약 0.6도 미만은 보정하지 않고, 약 20도 초과는 기울어진 촬영이 아닌 회전 문서로 보고 보정하지 않음
+    private static final float MIN_SKEW = 0.01f;
+    private static final float MAX_SKEW = 0.36f;
+    private static final int MIN_SKEW_SAMPLES = 3;
+    // 폭이 높이의 2배 이상인 단어만 기울기 표본으로 사용 (짧은 단어는 윗변 기울기 오차가 큼)
+    private static final float SKEW_SAMPLE_ASPECT = 2f;
+
+    private static final ToDoubleFunction<UpstageOcrResponse.Vertex> UPSTAGE_X = v -> v.x() == null ? 0 : v.x();
+    private static final ToDoubleFunction<UpstageOcrResponse.Vertex> UPSTAGE_Y = v -> v.y() == null ? 0 : v.y();
+    private static final ToDoubleFunction<ClovaOcrResponse.Vertex> CLOVA_X = ClovaOcrResponse.Vertex::x;
+    private static final ToDoubleFunction<ClovaOcrResponse.Vertex> CLOVA_Y = ClovaOcrResponse.Vertex::y;
+
+    /**
+     * 같은 줄 판정 기준점
+     */
+    private enum LineAnchor {
+        // 직전 단어와 비교 (Upstage)
+        PREVIOUS_WORD,
+        // 줄의 첫 단어와 비교 (Clova)
+        LINE_START
+    }
+
+    private String[] texts = new String[0];
+    private float[] minX = new float[0];
+    private float[] centerX = new float[0];
+    private float[] centerY = new float[0];
+    private float[] width = new float[0];
+    private float[] height = new float[0];
+    private float[] slopes = new float[0];
+    private long[] order = new long[0];
+    private int size;
+    private int slopeCount;
+    private final StringBuilder buffer = new StringBuilder();
+
+    public String assembleUpstage(List<UpstageOcrResponse.Word> words) {
+        if (words == null || words.isEmpty()) return "";
+
+        reset(words.size());
+        for (UpstageOcrResponse.Word word : words) {
+            if (word.confidence() == null || word.confidence() <= MIN_CONFIDENCE) continue;
+            addWord(word.text(), word.boundingBox() == null ? null : word.boundingBox().vertices(), UPSTAGE_X, UPSTAGE_Y);
+        }
+        return assemble(LineAnchor.PREVIOUS_WORD);
+    }
+
+    public String assembleClova(List<ClovaOcrResponse.Field> fields) {
+        if (fields == null || fields.isEmpty()) return "";
+
+        reset(fields.size());
+        for (ClovaOcrResponse.Field field : fields) {
+            if (field.inferConfidence() <= MIN_CONFIDENCE) continue;
+            addWord(field.inferText(), field.boundingPoly() == null ? null : field.boundingPoly().vertices(), CLOVA_X, CLOVA_Y);
+        }
+        return assemble(LineAnchor.LINE_START);
+    }
+
+    private void reset(int capacity) {
+        if (texts.length < capacity) {
+            texts = new String[capacity];
+            minX = new float[capacity];
+            centerX = new float[capacity];
+            centerY = new float[capacity];
+            width = new float[capacity];
+            height = new float[capacity];
+            slopes = new float[capacity];
+            order = new long[capacity];
+        } else {
+            Arrays.fill(texts, null);
+        }
+        size = 0;
+        slopeCount = 0;
+        buffer.setLength(0);
+    }
+
+    /**
+     * 꼭짓점을 한 번 순회하여 박스 정보를 계산
+     * 꼭짓점이 4개(좌상, 우상, 우하, 좌하 순)이면 윗변 기울기를 기울기 표본으로 수집한다.
+     */
+    private <V> void addWord(String text, List<V> vertices,
+                             ToDoubleFunction<V> xOf, ToDoubleFunction<V> yOf) {
+        float left = 0, right = 0, top = 0, bottom = 0;
+        int count = vertices == null ? 0 : vertices.size();
+        for (int i = 0; i < count; i++) {
+            V vertex = vertices.get(i);
+            float x = (float) xOf.applyAsDouble(vertex);
+            float y = (float) yOf.applyAsDouble(vertex);
+            if (i == 0) {
+                left = right = x;
+                top = bottom = y;
+            } else {
+                left = Math.min(left, x);
+                right = Math.max(right, x);
+                top = Math.min(top, y);
+                bottom = Math.max(bottom, y);
+            }
+        }
+
+        int index = size++;
+        texts[index] = text;
+        minX[index] = left;
+        centerX[index] = (left + right) / 2f;
+        centerY[index] = (top + bottom) / 2f;
+        width[index] = right - left;
+        height[index] = bottom - top;
+
+        if (count == 4 && width[index] >= height[index] * SKEW_SAMPLE_ASPECT) {
+            V topLeft = vertices.get(0);
+            V topRight = vertices.get(1);
+            double dx = xOf.applyAsDouble(topRight) - xOf.applyAsDouble(topLeft);
+            if (dx > 0) {
+                slopes[slopeCount++] = (float) ((yOf.applyAsDouble(topRight) - yOf.applyAsDouble(topLeft)) / dx);
+            }
+        }
+    }
+
+    private String assemble(LineAnchor anchor) {
+        if (size == 0) return "";
+
+        deskew();
+
+        for (int i = 0; i < size; i++) {
+            order[i] = pack(centerY[i], i);
+        }
+        Arrays.sort(order, 0, size);
+
+        int lineStart = 0;
+        float anchorY = 0, anchorHeight = 0;
+        for (int i = 0; i < size; i++) {
+            int index = unpack(order[i]);
+            float y = centerY[index];
+            float h = height[index];
+
+            if (i == 0) {
+                anchorY = y;
+                anchorHeight = h;
+            } else if (Math.abs(y - anchorY) < anchorHeight * LINE_THRESHOLD_RATIO) {
+                // 같은 줄
+                if (anchor == LineAnchor.PREVIOUS_WORD) {
+                    anchorY = y;
+                    anchorHeight = h;
+                }
+            } else {
+                // 새로운 줄 시작
+                appendLine(lineStart, i);
+                lineStart = i;
+                anchorY = y;
+                anchorHeight = h;
+            }
+        }
+        appendLine(lineStart, size);
+
+        return buffer.toString().trim();
+    }
+
+    /**
+     * 기울기 중앙값만큼 중심 Y 를 보정하고, 기울어짐으로 커진 박스 높이를 줄인다.
+     */
+    private void deskew() {
+        if (slopeCount < MIN_SKEW_SAMPLES) return;
+
+        Arrays.sort(slopes, 0, slopeCount);
+        float skew = slopes[slopeCount / 2];
+        float magnitude = Math.abs(skew);
+        if (magnitude < MIN_SKEW || magnitude > MAX_SKEW) return;
+
+        for (int i = 0; i < size; i++) {
+            centerY[i] -= skew * centerX[i];
+            height[i] = Math.max(height[i] - magnitude * width[i], height[i] * 0.5f);
+        }
+    }
+
+    /**
+     * order[from, to) 구간을 X 순으로 정렬하여 한 줄로 출력
+     */
+    private void appendLine(int from, int to) {
+        for (int i = from; i < to; i++) {
+            int index = unpack(order[i]);
+            order[i] = pack(minX[index], index);
+        }
+        Arrays.sort(order, from, to);
+
+        for (int i = from; i < to; i++) {
+            if (i > from) buffer.append(' ');
+            buffer.append(texts[unpack(order[i])]);
+        }
+        buffer.append('\n');
+    }
+
+    /**
+     * 상위 32비트: 부호 있는 정수 순서와 일치하도록 변환한 float 비트, 하위 32비트: 인덱스
+     */
+    private static long pack(float key, int index) {
+        int bits = Float.floatToIntBits(key);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | index;
+    }
+
+    private static int unpack(long packed) {
+        return (int) packed;
+    }
+}
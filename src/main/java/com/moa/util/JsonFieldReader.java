@@ -0,0 +1,163 @@
+package com.moa.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON 문서에서 필요한 필드 하나만 스트리밍으로 읽는 도구
+ * - JsonNode 트리를 만들지 않고 토큰을 따라가며 경로 밖의 값은 건너뛴다.
+ * - LLM 응답처럼 문자열 필드 안에 다시 JSON 이 들어 있는 경우, 문자열을 따로 만들지 않고
+ *   파서 버퍼의 문자 구간을 그대로 읽어 DTO 로 변환한다. (```json 코드 펜스 등 앞뒤 텍스트는 무시)
+ *
+ * 애플리케이션 공용 ObjectMapper(Spring 자동 설정, JavaTimeModule 등 등록 완료)를 사용하고,
+ * 타입별 ObjectReader 를 재사용하여 요청마다 매퍼 생성/모듈 검색 비용이 없다.
+ */
+@Component
+public class JsonFieldReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public JsonFieldReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * 경로의 문자열 값 (경로가 없거나 null 이면 null)
+     */
+    public String readText(byte[] json, JsonPointer pointer) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return seek(parser, pointer) ? textOrNull(parser) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("JSON 필드 읽기 실패: " + pointer, e);
+        }
+    }
+
+    public String readText(String json, JsonPointer pointer) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return seek(parser, pointer) ? textOrNull(parser) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("JSON 필드 읽기 실패: " + pointer, e);
+        }
+    }
+
+    /**
+     * 경로의 값(객체 등)을 DTO 로 변환 (경로가 없거나 null 이면 null)
+     * 예) Chat Completions 응답의 /usage
+     */
+    public <T> T readValue(byte[] json, JsonPointer pointer, Class<T> type) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (!seek(parser, pointer) || parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return reader(type).readValue(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("JSON 필드 읽기 실패: " + pointer, e);
+        }
+    }
+
+    /**
+     * 경로의 문자열 값에 담긴 JSON 객체를 DTO 로 변환
+     * 예) Chat Completions 응답의 /choices/0/message/content
+     */
+    public <T> T readEmbeddedJson(byte[] json, JsonPointer pointer, Class<T> type) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (!seek(parser, pointer) || parser.currentToken() != JsonToken.VALUE_STRING) {
+                throw new IllegalArgumentException("AI content is empty");
+            }
+            // 다음 토큰으로 넘어가기 전까지 유효한 파서 내부 버퍼
+            return readJsonObject(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength(), type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON 파싱 실패: 스키마 불일치 또는 형식 오류", e);
+        }
+    }
+
+    /**
+     * LLM 이 생성한 텍스트에서 JSON 객체 부분만 DTO 로 변환 (JsonParser.cleanUpJson 과 같은 규칙)
+     */
+    public <T> T readJsonObject(String content, Class<T> type) {
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("AI content is empty");
+        }
+        char[] chars = content.toCharArray();
+        try {
+            return readJsonObject(chars, 0, chars.length, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON 파싱 실패: 스키마 불일치 또는 형식 오류", e);
+        }
+    }
+
+    private <T> T readJsonObject(char[] chars, int offset, int length, Class<T> type) throws IOException {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && chars[start] != '{') start++;
+        while (end > start && chars[end - 1] != '}') end--;
+        if (start >= end) {
+            throw new IllegalArgumentException("JSON object not found in AI content");
+        }
+
+        try (JsonParser inner = jsonFactory.createParser(chars, start, end - start)) {
+            return reader(type).readValue(inner);
+        }
+    }
+
+    private ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    /**
+     * 파서를 경로의 값 토큰 위치로 이동
+     */
+    private boolean seek(JsonParser parser, JsonPointer pointer) throws IOException {
+        if (parser.nextToken() == null) {
+            return false;
+        }
+        for (JsonPointer current = pointer; !current.matches(); current = current.tail()) {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                if (!seekProperty(parser, current.getMatchingProperty())) return false;
+            } else if (token == JsonToken.START_ARRAY) {
+                if (!seekElement(parser, current.getMatchingIndex())) return false;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean seekProperty(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean matched = name.equals(parser.currentName());
+            parser.nextToken();
+            if (matched) return true;
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private boolean seekElement(JsonParser parser, int index) throws IOException {
+        if (index < 0) return false;
+        for (int i = 0; ; i++) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) return false;
+            if (i == index) return true;
+            parser.skipChildren();
+        }
+    }
+
+    private String textOrNull(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+}
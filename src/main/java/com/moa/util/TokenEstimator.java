@@ -0,0 +1,36 @@
+package com.moa.util;
+
+/**
+ * 프롬프트 입력 토큰 수 추정 (토크나이저 없이 문자 종류별 근사)
+ * - 한글/한자/기호/이모지: 글자당 1 토큰
+ * - 영문/숫자 연속 구간: 4글자당 1 토큰
+ * - 공백: 0
+ * 한국어 비중이 높은 프롬프트에서 실제 값(응답 usage.prompt_tokens)보다 약간 크게 나오는 보수적인 추정이다.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int asciiRun = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80 && Character.isLetterOrDigit(c)) {
+                asciiRun++;
+                continue;
+            }
+            tokens += (asciiRun + 3) / 4;
+            asciiRun = 0;
+            if (Character.isWhitespace(c) || Character.isLowSurrogate(c)) {
+                continue;
+            }
+            tokens++;
+        }
+        return tokens + (asciiRun + 3) / 4;
+    }
+}
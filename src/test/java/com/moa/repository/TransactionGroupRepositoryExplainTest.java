@@ -0,0 +1,224 @@
+package com.moa.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 월 단위 조회의 실행 계획 검증 (EXPLAIN)
+ * - transaction_groups 는 (USER_ID, TRANSACTION_DATE) 인덱스 범위 스캔
+ * - transactions 는 (TRANSACTION_GROUP_ID, CATEGORY_ID) 인덱스로 조인
+ * Hibernate 가 실제로 실행한 SQL 과 바인딩 값을 기록해 같은 값으로 EXPLAIN 한다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class TransactionGroupRepositoryExplainTest {
+
+    private static final String USER_DATE_INDEX = "IDX_TRANSACTION_GROUP_USER_DATE";
+    private static final String GROUP_CATEGORY_INDEX = "IDX_TRANSACTION_GROUP_CATEGORY";
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("pgvector/pgvector:pg16").asCompatibleSubstituteFor("postgres"))
+            .withInitScript("db/explain-init.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TransactionGroupRepository transactionGroupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    /**
+     * 사용자 200명 x 거래그룹 60건(1년에 분산) x 거래 2건
+     * 한 사용자의 한 달 데이터가 전체의 일부일 때의 계획을 보기 위해 통계를 갱신해 둔다.
+     */
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (user_name, user_grant, user_status, created_at, updated_at)
+                SELECT 'user' || i, 'FREE', 'ACTIVE', now(), now()
+                FROM generate_series(1, 200) i
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO category (category_name, category_type, created_at)
+                VALUES ('식비', 'EXPENSE', now()), ('교통', 'EXPENSE', now()), ('월급', 'INCOME', now())
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO transaction_groups (transaction_date, place, payment_method, payment_memo, emotion,
+                                                is_deleted, user_id, created_at, updated_at)
+                SELECT DATE '2025-01-01' + (g * 6), '가게', 'CARD', '메모',
+                       (ARRAY['NEUTRAL', 'REWARD', 'IMPULSE'])[g % 3 + 1], false, u.user_id, now(), now()
+                FROM users u
+                CROSS JOIN generate_series(1, 60) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (name, amount, is_deleted, category_id, transaction_group_id,
+                                          created_at, updated_at)
+                SELECT '상품', 1000 * i, false, c.category_id, tg.transaction_group_id, now(), now()
+                FROM transaction_groups tg
+                CROSS JOIN generate_series(1, 2) i
+                JOIN category c ON c.category_name = CASE WHEN i = 1 THEN '식비' ELSE '교통' END
+                """);
+        jdbcTemplate.execute("ANALYZE users, category, transaction_groups, transactions");
+        userId = jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM users", Long.class);
+    }
+
+    @Test
+    void sumMonthlyExpenseByCategoryUsesUserDateAndGroupCategoryIndexes() {
+        String plan = explain(() -> transactionGroupRepository.sumMonthlyExpenseByCategory(
+                userId, MONTH.atDay(1), MONTH.plusMonths(1).atDay(1)));
+
+        assertThat(plan).containsIgnoringCase(USER_DATE_INDEX).containsIgnoringCase(GROUP_CATEGORY_INDEX);
+    }
+
+    @Test
+    void sumMonthlyByEmotionUsesUserDateAndGroupCategoryIndexes() {
+        String plan = explain(() -> transactionGroupRepository.sumMonthlyByEmotion(
+                userId, MONTH.atDay(1), MONTH.plusMonths(1).atDay(1)));
+
+        assertThat(plan).containsIgnoringCase(USER_DATE_INDEX).containsIgnoringCase(GROUP_CATEGORY_INDEX);
+    }
+
+    @Test
+    void searchTransactionsUsesUserDateAndGroupCategoryIndexes() {
+        String plan = explain(() -> transactionGroupRepository.searchTransactions(
+                userId, MONTH.atDay(1), MONTH.plusMonths(1).atDay(1), null, null, null, null));
+
+        assertThat(plan).containsIgnoringCase(USER_DATE_INDEX).containsIgnoringCase(GROUP_CATEGORY_INDEX);
+    }
+
+    /**
+     * 조회를 실행해 Hibernate 가 보낸 마지막 SELECT 를 같은 바인딩 값으로 EXPLAIN
+     */
+    private String explain(Runnable query) {
+        RecordingDataSourceConfig.EXECUTED.clear();
+        query.run();
+        List<ExecutedQuery> executed = new ArrayList<>(RecordingDataSourceConfig.EXECUTED);
+        assertThat(executed).isNotEmpty();
+
+        ExecutedQuery last = executed.get(executed.size() - 1);
+        return String.join("\n", jdbcTemplate.query("EXPLAIN " + last.sql(),
+                ps -> {
+                    for (Binding binding : last.bindings()) {
+                        binding.applyTo(ps);
+                    }
+                },
+                (rs, rowNum) -> rs.getString(1)));
+    }
+
+    private record Binding(Method setter, Object[] args) {
+
+        void applyTo(PreparedStatement ps) {
+            try {
+                setter.invoke(ps, args);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private record ExecutedQuery(String sql, List<Binding> bindings) {
+    }
+
+    /**
+     * 조회(executeQuery)된 PreparedStatement 의 SQL 과 set* 바인딩을 기록하는 DataSource 래퍼
+     */
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        static final List<ExecutedQuery> EXECUTED = new ArrayList<>();
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                            ? proxy(DataSource.class, dataSource, (target, method, args) -> wrapConnection(method.invoke(target, args)))
+                            : bean;
+                }
+            };
+        }
+
+        private static Object wrapConnection(Object result) {
+            if (!(result instanceof Connection connection)) {
+                return result;
+            }
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object invoked = method.invoke(target, args);
+                if (invoked instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return recordingStatement(statement, (String) args[0]);
+                }
+                return invoked;
+            });
+        }
+
+        private static PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args));
+                } else if (method.getName().equals("executeQuery") && args == null) {
+                    EXECUTED.add(new ExecutedQuery(sql, List.copyOf(bindings)));
+                }
+                return method.invoke(target, args);
+            });
+        }
+
+        private interface Invocation {
+            Object invoke(Object target, Method method, Object[] args) throws Exception;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                try {
+                    return invocation.invoke(target, method, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+    }
+}